@@ -0,0 +1,75 @@
+package engine;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import engine.DrawManager.SpriteType;
+import entity.EnemyShip;
+import entity.Entity;
+
+/**
+ * Measures drawing entities on an offscreen back buffer the size of the
+ * game window.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class DrawManagerBenchmark {
+
+	/** Width of the back buffer. */
+	private static final int WIDTH = 448;
+	/** Height of the back buffer, bottom HUD included. */
+	private static final int HEIGHT = 560;
+	/** Sprites the entities cycle through. */
+	private static final SpriteType[] SPRITES = { SpriteType.EnemyShipA1,
+			SpriteType.EnemyShipB1, SpriteType.EnemyShipC1 };
+
+	/** Entities drawn per operation. */
+	@Param({ "10", "100", "1000" })
+	public int entities;
+
+	/** Draw manager drawing on the back buffer. */
+	private DrawManager drawManager;
+	/** Entities to draw. */
+	private Entity[] ships;
+
+	/**
+	 * Points the draw manager at an offscreen buffer and spreads the
+	 * entities over it.
+	 */
+	@Setup
+	public void setUp() {
+		this.drawManager = DrawManager.getInstance();
+		this.drawManager.setBackBuffer(new BufferedImage(WIDTH, HEIGHT,
+				BufferedImage.TYPE_INT_RGB));
+
+		GameState gameState = new GameState(1, 0, 3, 0, 0);
+		this.ships = new Entity[this.entities];
+		for (int i = 0; i < this.entities; i++)
+			this.ships[i] = new EnemyShip((i * 37) % WIDTH,
+					(i * 53) % HEIGHT, SPRITES[i % SPRITES.length], gameState);
+	}
+
+	/**
+	 * Draws every entity once.
+	 */
+	@Benchmark
+	public void drawEntity() {
+		for (Entity ship : this.ships)
+			this.drawManager.drawEntity(ship, ship.getPositionX(),
+					ship.getPositionY());
+	}
+}
@@ -0,0 +1,130 @@
+package engine;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading the high score list and looking players up, on files
+ * much larger than a cabinet usually builds up.
+ *
+ * Both are written to a temporary directory, so the real high scores and
+ * accounts in res are never touched.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class FileManagerBenchmark {
+
+	/** High scores and accounts in the files. */
+	@Param({ "1000", "100000" })
+	public int entries;
+
+	/** File manager loading the high scores. */
+	private FileManager fileManager;
+	/** Account store looked up. */
+	private AccountStore accountStore;
+	/** Temporary directory holding the high scores and account store. */
+	private Path directory;
+	/** Names looked up, in turn. */
+	private String[] names;
+	/** Next name to look up. */
+	private int next;
+
+	/**
+	 * Writes the high score file and fills the account store.
+	 *
+	 * @throws IOException
+	 *             In case the files can't be written.
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		Core.getLogger().setLevel(Level.WARNING);
+		this.fileManager = FileManager.getInstance();
+
+		this.directory = Files.createTempDirectory("benchmark");
+		try (BufferedWriter writer = Files.newBufferedWriter(
+				this.directory.resolve("scores_1p"), StandardCharsets.UTF_8)) {
+			for (int i = 0; i < this.entries; i++) {
+				writer.write(String.format("P%02d", i % 100));
+				writer.newLine();
+				writer.write(Integer.toString(i * 7 % 10000));
+				writer.newLine();
+			}
+		}
+
+		this.accountStore = new AccountStore(this.directory);
+		this.names = new String[this.entries];
+		List<Boolean> items = new ArrayList<Boolean>(List.of(false, false,
+				false));
+		for (int i = 0; i < this.entries; i++) {
+			this.names[i] = String.format("P%07d", i);
+			this.accountStore.put(new Player(this.names[i], i,
+					"2023-01-01 00:00:00", items));
+		}
+	}
+
+	/**
+	 * Deletes the high score file and the account store.
+	 *
+	 * @throws IOException
+	 *             In case the files can't be deleted.
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		this.accountStore.close();
+		try (Stream<Path> files = Files.walk(this.directory)) {
+			for (Path file : (Iterable<Path>) files
+					.sorted(Comparator.reverseOrder())::iterator)
+				Files.delete(file);
+		}
+	}
+
+	/**
+	 * Reads and sorts the whole high score file.
+	 *
+	 * @return Loaded high scores.
+	 * @throws IOException
+	 *             In case the file can't be read.
+	 */
+	@Benchmark
+	public List<Score> loadHighScores() throws IOException {
+		return this.fileManager.loadHighScores(1, this.directory.toFile());
+	}
+
+	/**
+	 * Looks up one player by name, the way loadPlayer does at login.
+	 *
+	 * @return Player found.
+	 * @throws IOException
+	 *             In case the store can't be read.
+	 */
+	@Benchmark
+	public Player findPlayer() throws IOException {
+		String name = this.names[this.next];
+		this.next = (this.next + 1) % this.names.length;
+		return this.accountStore.find(name);
+	}
+}
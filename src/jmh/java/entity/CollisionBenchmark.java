@@ -0,0 +1,135 @@
+package entity;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import engine.Core;
+import engine.DrawManager;
+import engine.GameSettings;
+import engine.GameState;
+import engine.PackedSprite;
+import screen.Screen;
+
+/**
+ * Measures the broad and narrow phase the game screen runs every tick to
+ * find player bullets hitting enemy ships: the formation is put in a
+ * spatial grid, then every bullet checks the ships sharing its cells,
+ * pixel by pixel once their boxes overlap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class CollisionBenchmark {
+
+	/** Width of the game screen. */
+	private static final int WIDTH = 448;
+	/** Height of the game screen. */
+	private static final int HEIGHT = 520;
+	/** Side of the grid cells, as in the game screen. */
+	private static final int CELL_SIZE = 40;
+	/** Pixels of the player bullets. */
+	private static final PackedSprite BULLET_SPRITE = Core.getDrawManager()
+			.getSprite(DrawManager.SpriteType.Bullet);
+
+	/** Player bullets on screen. */
+	@Param({ "100", "1000", "10000" })
+	public int bullets;
+	/** Ships in each row of the formation. */
+	@Param({ "5", "10", "20" })
+	public int columns;
+	/** Rows of the formation. */
+	@Param({ "4", "8", "16" })
+	public int rows;
+
+	/** Formation shot at. */
+	private EnemyShipFormation formation;
+	/** Grid the formation is put in. */
+	private SpatialGrid grid;
+	/** Bullets flying. */
+	private BulletStore bulletStore;
+
+	/**
+	 * Builds the formation and scatters the bullets over the screen.
+	 */
+	@Setup
+	public void setUp() {
+		Core.getLogger().setLevel(java.util.logging.Level.WARNING);
+		this.formation = new EnemyShipFormation(new GameSettings(this.columns,
+				this.rows, 10, 100, 5, "benchmark"),
+				new GameState(1, 0, 3, 0, 0));
+		this.formation.attach(new Screen(WIDTH, HEIGHT, 60));
+		this.grid = new SpatialGrid(WIDTH, HEIGHT, CELL_SIZE);
+
+		SplittableRandom random = new SplittableRandom(1);
+		this.bulletStore = new BulletStore();
+		for (int i = 0; i < this.bullets; i++)
+			this.bulletStore.add(random.nextInt(WIDTH),
+					random.nextInt(HEIGHT), -6, 1);
+	}
+
+	/**
+	 * Finds every bullet hitting a ship.
+	 *
+	 * @return Hits found.
+	 */
+	@Benchmark
+	public int manageCollisions() {
+		this.grid.clear();
+		this.formation.addTo(this.grid);
+		this.grid.build();
+
+		int hits = 0;
+		for (int bullet = 0; bullet < this.bulletStore.size(); bullet++) {
+			int positionX = this.bulletStore.getPositionX(bullet);
+			int positionY = this.bulletStore.getPositionY(bullet);
+			int candidates = this.grid.query(positionX, positionY,
+					BulletStore.WIDTH, BulletStore.HEIGHT);
+			for (int i = 0; i < candidates; i++)
+				if (checkCollision(positionX, positionY,
+						this.grid.getResult(i)))
+					hits++;
+		}
+		return hits;
+	}
+
+	/**
+	 * Checks if a bullet and an entity overlap, the way the game screen
+	 * does: bounding boxes first, then the lit pixels of both sprites.
+	 *
+	 * @param positionX
+	 *            Position of the bullet in the X axis.
+	 * @param positionY
+	 *            Position of the bullet in the Y axis.
+	 * @param b
+	 *            Entity to check.
+	 * @return Result of the collision test.
+	 */
+	private static boolean checkCollision(final int positionX,
+			final int positionY, final Entity b) {
+		int centerAX = positionX + BulletStore.WIDTH / 2;
+		int centerAY = positionY + BulletStore.HEIGHT / 2;
+		int centerBX = b.getPositionX() + b.getWidth() / 2;
+		int centerBY = b.getPositionY() + b.getHeight() / 2;
+		int maxDistanceX = BulletStore.WIDTH / 2 + b.getWidth() / 2;
+		int maxDistanceY = BulletStore.HEIGHT / 2 + b.getHeight() / 2;
+
+		return Math.abs(centerAX - centerBX) < maxDistanceX
+				&& Math.abs(centerAY - centerBY) < maxDistanceY
+				&& PackedSprite.overlaps(BULLET_SPRITE, positionX, positionY,
+						Core.getDrawManager().getSprite(b.getSpriteType()),
+						b.getPositionX(), b.getPositionY());
+	}
+}
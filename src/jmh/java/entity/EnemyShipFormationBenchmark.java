@@ -0,0 +1,158 @@
+package entity;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import engine.Core;
+import engine.GameClock;
+import engine.GameSettings;
+import engine.GameState;
+import engine.SoundManager;
+import screen.Screen;
+
+/**
+ * Measures moving, shooting from and bombing enemy formations of several
+ * sizes. The game clock is advanced one tick per operation, so cooldowns
+ * run out as they would in a game.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class EnemyShipFormationBenchmark {
+
+	/** Width of the game screen. */
+	private static final int WIDTH = 448;
+	/** Height of the game screen. */
+	private static final int HEIGHT = 520;
+	/** Logic updates per second. */
+	private static final int FPS = 60;
+	/** Length of a tick. */
+	private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1) / FPS;
+
+	/** Ships in each row of the formation. */
+	@Param({ "5", "10", "20" })
+	public int columns;
+	/** Rows of the formation. */
+	@Param({ "4", "8", "16" })
+	public int rows;
+
+	/** Clock the formation's cooldowns run on. */
+	private GameClock clock;
+	/** Screen the formation moves in. */
+	private Screen screen;
+	/** Settings building the formation. */
+	private GameSettings gameSettings;
+	/** Formation measured. */
+	private EnemyShipFormation formation;
+	/** Bullets shot by the formation. */
+	private BulletStore bullets;
+
+	/**
+	 * Full formation about to be bombed, rebuilt before each bomb.
+	 */
+	@State(Scope.Thread)
+	public static class Bombing {
+		/** Formation bombed. */
+		private EnemyShipFormation formation;
+		/** Ship in the middle of the formation. */
+		private EnemyShip target;
+
+		/**
+		 * Builds the formation and picks the ship in its middle.
+		 *
+		 * @param benchmark
+		 *            Benchmark holding the formation settings.
+		 */
+		@Setup(Level.Invocation)
+		public void setUp(final EnemyShipFormationBenchmark benchmark) {
+			this.formation = benchmark.newFormation();
+			int middle = this.formation.getShipCount() / 2;
+			for (EnemyShip enemyShip : this.formation)
+				if (middle-- == 0)
+					this.target = enemyShip;
+		}
+	}
+
+	/**
+	 * Puts the formation on a clock of its own.
+	 */
+	@Setup
+	public void setUp() {
+		Core.getLogger().setLevel(java.util.logging.Level.WARNING);
+		SoundManager.setEnabled(false);
+		this.clock = new GameClock();
+		GameClock.setCurrent(this.clock);
+		this.screen = new Screen(WIDTH, HEIGHT, FPS);
+		this.gameSettings = new GameSettings(this.columns, this.rows, 10, 100,
+				5, "benchmark");
+		this.bullets = new BulletStore();
+	}
+
+	/**
+	 * Starts each iteration with a full formation at its starting place.
+	 */
+	@Setup(Level.Iteration)
+	public void setUpIteration() {
+		this.formation = newFormation();
+	}
+
+	/**
+	 * Builds a full formation.
+	 *
+	 * @return New formation.
+	 */
+	private EnemyShipFormation newFormation() {
+		EnemyShipFormation newFormation = new EnemyShipFormation(
+				this.gameSettings, new GameState(8, 0, 3, 0, 0));
+		newFormation.attach(this.screen);
+		return newFormation;
+	}
+
+	/**
+	 * Moves the formation one tick.
+	 */
+	@Benchmark
+	public void update() {
+		this.clock.advance(TICK_NANOS);
+		this.formation.update();
+	}
+
+	/**
+	 * Lets the formation shoot for one tick.
+	 *
+	 * @return Bullets shot.
+	 */
+	@Benchmark
+	public int shoot() {
+		this.clock.advance(TICK_NANOS);
+		this.bullets.clear();
+		this.formation.shoot(this.bullets);
+		return this.bullets.size();
+	}
+
+	/**
+	 * Bombs the ship in the middle of a full formation.
+	 *
+	 * @param bombing
+	 *            Formation to bomb.
+	 * @return Ships destroyed by the bomb.
+	 */
+	@Benchmark
+	public List<EnemyShip> destroyByBomb(final Bombing bombing) {
+		return bombing.formation.destroyByBomb(bombing.target);
+	}
+}
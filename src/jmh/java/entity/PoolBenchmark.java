@@ -0,0 +1,66 @@
+package entity;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures taking bullets and items from their stores and handing them
+ * back, as happens every time a wave of shots is fired and cleaned up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class PoolBenchmark {
+
+	/** Bullets or items taken and handed back per operation. */
+	@Param({ "10", "100", "1000" })
+	public int count;
+
+	/** Bullets, kept between operations like in a level. */
+	private final BulletStore bullets = new BulletStore();
+	/** Items taken in an operation. */
+	private final Set<Item> items = new LinkedHashSet<Item>();
+
+	/**
+	 * Fires a wave of bullets and removes them all.
+	 *
+	 * @return Room left in the store.
+	 */
+	@Benchmark
+	public int bulletAddAndSweep() {
+		for (int i = 0; i < this.count; i++)
+			this.bullets.add(i, i, -6, 1);
+		for (int i = 0; i < this.count; i++)
+			this.bullets.markRemoved(i);
+		this.bullets.sweep();
+		return this.bullets.capacity();
+	}
+
+	/**
+	 * Takes items from the pool and recycles them.
+	 *
+	 * @return Items taken.
+	 */
+	@Benchmark
+	public int itemGetAndRecycle() {
+		for (int i = 0; i < this.count; i++)
+			this.items.add(ItemPool.getItem(i, i, i, 1));
+		int taken = this.items.size();
+		ItemPool.recycle(this.items);
+		this.items.clear();
+		return taken;
+	}
+}
@@ -0,0 +1,505 @@
+package engine;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Keeps player accounts in fixed size records, found through an on-disk
+ * hash index keyed by name, so looking up or updating one player reads and
+ * writes a few bytes instead of the whole file.
+ *
+ * Records are kept in accounts.dat in the order players were created. The
+ * index, accounts.idx, is an open addressing table of record numbers. It is
+ * rebuilt from the records whenever it is missing, out of date or too full.
+ */
+public final class AccountStore implements Closeable {
+
+	/** Name of the records file. */
+	public static final String RECORDS_FILE = "accounts.dat";
+	/** Name of the index file. */
+	public static final String INDEX_FILE = "accounts.idx";
+	/** Name of the old text accounts file. */
+	public static final String TEXT_FILE = "accounts";
+	/** Name the old text accounts file is kept under once migrated. */
+	public static final String BACKUP_FILE = "accounts.bak";
+
+	/** Marks a records file. */
+	private static final int RECORDS_MAGIC = 0x41434354;
+	/** Marks an index file. */
+	private static final int INDEX_MAGIC = 0x41434958;
+	/** Version of the file layout. */
+	private static final int VERSION = 1;
+	/** Bytes before the first record: magic, version and record count. */
+	private static final int RECORDS_HEADER = 12;
+	/** Bytes before the first slot: magic, record count and capacity. */
+	private static final int INDEX_HEADER = 12;
+	/** Longest name kept, in UTF-8 bytes. */
+	private static final int MAX_NAME_BYTES = 15;
+	/** Most items kept, one bit each. */
+	private static final int MAX_ITEMS = Integer.SIZE;
+	/**
+	 * Bytes of a record: name length and name, currency, login time, number
+	 * of items and item flags.
+	 */
+	private static final int RECORD_SIZE = 1 + MAX_NAME_BYTES + 4 + 8 + 4 + 4;
+	/** Slots of a new index. */
+	private static final int MIN_CAPACITY = 1024;
+	/** Format of login times in Player. */
+	private static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+	/** Application logger. */
+	private static final Logger LOGGER = Core.getLogger();
+
+	/** Records file. */
+	private final RandomAccessFile records;
+	/** Index file. */
+	private final RandomAccessFile index;
+	/** Number of records. */
+	private int recordCount;
+	/** Number of slots in the index, a power of two. */
+	private int capacity;
+	/** Buffer a record is read into and written from. */
+	private final byte[] recordBuffer = new byte[RECORD_SIZE];
+
+	/**
+	 * Constructor, opens the account files in a directory, creating them if
+	 * there are none. A text accounts file still there is migrated, even
+	 * into existing records: it is only renamed once a migration succeeds,
+	 * so one that failed partway is finished on the next start.
+	 *
+	 * @param directory
+	 *            Directory the accounts are kept in.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
+	public AccountStore(final Path directory) throws IOException {
+		Path recordsPath = directory.resolve(RECORDS_FILE);
+		Path textPath = directory.resolve(TEXT_FILE);
+		boolean migrate = Files.exists(textPath);
+
+		this.records = new RandomAccessFile(recordsPath.toFile(), "rw");
+		this.index = new RandomAccessFile(directory.resolve(INDEX_FILE)
+				.toFile(), "rw");
+		if (this.records.length() < RECORDS_HEADER) {
+			writeRecordsHeader();
+		} else {
+			this.records.seek(0);
+			if (this.records.readInt() != RECORDS_MAGIC
+					|| this.records.readInt() != VERSION)
+				throw new IOException("Unknown accounts file format.");
+			this.recordCount = this.records.readInt();
+			// A record written without its count is dropped.
+			this.recordCount = (int) Math.min(this.recordCount,
+					(this.records.length() - RECORDS_HEADER) / RECORD_SIZE);
+		}
+		if (!indexMatches())
+			rebuildIndex(Math.max(MIN_CAPACITY,
+					Integer.highestOneBit(this.recordCount * 2) * 2));
+
+		if (migrate) {
+			try {
+				migrate(textPath, directory.resolve(BACKUP_FILE));
+			} catch (IOException e) {
+				close();
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Copies every player of the old text accounts file, four lines each,
+	 * into the store, then renames it as a backup. Players already in the
+	 * store are overwritten, so running it again is harmless.
+	 *
+	 * @param textPath
+	 *            Text accounts file.
+	 * @param backupPath
+	 *            Name to keep the text file under.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
+	private void migrate(final Path textPath, final Path backupPath)
+			throws IOException {
+		int migrated = 0;
+		try (BufferedReader reader = Files.newBufferedReader(textPath,
+				StandardCharsets.UTF_8)) {
+			String name = reader.readLine();
+			String currency = reader.readLine();
+			String loginTime = reader.readLine();
+			String itemList = reader.readLine();
+			while (name != null && currency != null && loginTime != null
+					&& itemList != null) {
+				try {
+					put(new Player(name, Integer.parseInt(currency.trim()),
+							loginTime, FileManager
+									.convertStringToBooleanList(itemList)));
+					migrated++;
+				} catch (NumberFormatException e) {
+					LOGGER.warning("Skipping account with invalid currency: "
+							+ name);
+				}
+				name = reader.readLine();
+				currency = reader.readLine();
+				loginTime = reader.readLine();
+				itemList = reader.readLine();
+			}
+		}
+		Files.move(textPath, backupPath, StandardCopyOption.REPLACE_EXISTING);
+		LOGGER.info("Migrated " + migrated + " accounts, old file kept as "
+				+ backupPath.getFileName() + ".");
+	}
+
+	/**
+	 * Finds a player by name.
+	 *
+	 * @param name
+	 *            Name of the player.
+	 * @return Player, null if there is none with that name.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
+	public synchronized Player find(final String name) throws IOException {
+		int record = findRecord(encodeName(name));
+		if (record < 0)
+			return null;
+		readRecord(record);
+		return decodeRecord();
+	}
+
+	/**
+	 * Adds a player, or updates it if one with the same name exists.
+	 *
+	 * @param player
+	 *            Player to save.
+	 * @throws IOException
+	 *             In case of saving problems.
+	 */
+	public synchronized void put(final Player player) throws IOException {
+		byte[] name = encodeName(player.getName());
+		int record = findRecord(name);
+		if (record >= 0) {
+			writeRecord(record, player);
+			return;
+		}
+
+		if ((this.recordCount + 1) * 2 > this.capacity)
+			rebuildIndex(this.capacity * 2);
+		record = this.recordCount;
+		writeRecord(record, player);
+		this.recordCount++;
+		this.records.seek(8);
+		this.records.writeInt(this.recordCount);
+		insertSlot(name, record);
+		this.index.seek(4);
+		this.index.writeInt(this.recordCount);
+	}
+
+	/**
+	 * Getter for the number of players.
+	 *
+	 * @return Number of players.
+	 */
+	public synchronized int size() {
+		return this.recordCount;
+	}
+
+	/**
+	 * Closes the account files.
+	 *
+	 * @throws IOException
+	 *             In case of closing problems.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		this.records.close();
+		this.index.close();
+	}
+
+	/**
+	 * Writes the header of an empty records file.
+	 *
+	 * @throws IOException
+	 *             In case of saving problems.
+	 */
+	private void writeRecordsHeader() throws IOException {
+		this.records.setLength(0);
+		this.records.writeInt(RECORDS_MAGIC);
+		this.records.writeInt(VERSION);
+		this.records.writeInt(0);
+		this.recordCount = 0;
+	}
+
+	/**
+	 * Checks if the index covers every record.
+	 *
+	 * @return True if the index can be used as is.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
+	private boolean indexMatches() throws IOException {
+		if (this.index.length() < INDEX_HEADER)
+			return false;
+		this.index.seek(0);
+		int magic = this.index.readInt();
+		int count = this.index.readInt();
+		int slots = this.index.readInt();
+		if (magic != INDEX_MAGIC || count != this.recordCount
+				|| Integer.bitCount(slots) != 1
+				|| this.index.length() < INDEX_HEADER + (long) slots * 4)
+			return false;
+		this.capacity = slots;
+		return true;
+	}
+
+	/**
+	 * Rewrites the index from the records.
+	 *
+	 * @param slots
+	 *            Number of slots of the new index, a power of two.
+	 * @throws IOException
+	 *             In case of saving problems.
+	 */
+	private void rebuildIndex(final int slots) throws IOException {
+		int[] table = new int[slots];
+		for (int record = 0; record < this.recordCount; record++) {
+			readRecord(record);
+			int slot = hash(this.recordBuffer) & (slots - 1);
+			while (table[slot] != 0)
+				slot = (slot + 1) & (slots - 1);
+			table[slot] = record + 1;
+		}
+
+		byte[] bytes = new byte[INDEX_HEADER + slots * 4];
+		writeInt(bytes, 0, INDEX_MAGIC);
+		writeInt(bytes, 4, this.recordCount);
+		writeInt(bytes, 8, slots);
+		for (int i = 0; i < slots; i++)
+			writeInt(bytes, INDEX_HEADER + i * 4, table[i]);
+		this.index.setLength(0);
+		this.index.write(bytes);
+		this.capacity = slots;
+		LOGGER.fine("Rebuilt account index with " + slots + " slots.");
+	}
+
+	/**
+	 * Finds the record of a name through the index.
+	 *
+	 * @param name
+	 *            Encoded name, as stored at the start of a record.
+	 * @return Record number, -1 if there is none.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
+	private int findRecord(final byte[] name) throws IOException {
+		int slot = hash(name) & (this.capacity - 1);
+		while (true) {
+			this.index.seek(INDEX_HEADER + (long) slot * 4);
+			int entry = this.index.readInt();
+			if (entry == 0)
+				return -1;
+			readRecord(entry - 1);
+			if (nameEquals(name))
+				return entry - 1;
+			slot = (slot + 1) & (this.capacity - 1);
+		}
+	}
+
+	/**
+	 * Points the first free slot for a name to a record.
+	 *
+	 * @param name
+	 *            Encoded name.
+	 * @param record
+	 *            Record number.
+	 * @throws IOException
+	 *             In case of saving problems.
+	 */
+	private void insertSlot(final byte[] name, final int record)
+			throws IOException {
+		int slot = hash(name) & (this.capacity - 1);
+		while (true) {
+			this.index.seek(INDEX_HEADER + (long) slot * 4);
+			if (this.index.readInt() == 0) {
+				this.index.seek(INDEX_HEADER + (long) slot * 4);
+				this.index.writeInt(record + 1);
+				return;
+			}
+			slot = (slot + 1) & (this.capacity - 1);
+		}
+	}
+
+	/**
+	 * Reads a record into the record buffer.
+	 *
+	 * @param record
+	 *            Record number.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
+	private void readRecord(final int record) throws IOException {
+		this.records.seek(RECORDS_HEADER + (long) record * RECORD_SIZE);
+		this.records.readFully(this.recordBuffer);
+	}
+
+	/**
+	 * Writes a player over a record.
+	 *
+	 * @param record
+	 *            Record number.
+	 * @param player
+	 *            Player to write.
+	 * @throws IOException
+	 *             In case of saving problems.
+	 */
+	private void writeRecord(final int record, final Player player)
+			throws IOException {
+		byte[] buffer = this.recordBuffer;
+		byte[] name = encodeName(player.getName());
+		System.arraycopy(name, 0, buffer, 0, name.length);
+		Arrays.fill(buffer, name.length, 1 + MAX_NAME_BYTES,
+				(byte) 0);
+		int offset = 1 + MAX_NAME_BYTES;
+		writeInt(buffer, offset, player.getCurrency());
+		long loginTime = parseDate(player.getLoginTime());
+		writeInt(buffer, offset + 4, (int) (loginTime >>> 32));
+		writeInt(buffer, offset + 8, (int) loginTime);
+
+		List<Boolean> items = player.getItem();
+		int itemCount = items == null ? 0 : Math.min(MAX_ITEMS, items.size());
+		int flags = 0;
+		for (int i = 0; i < itemCount; i++)
+			if (items.get(i))
+				flags |= 1 << i;
+		writeInt(buffer, offset + 12, itemCount);
+		writeInt(buffer, offset + 16, flags);
+
+		this.records.seek(RECORDS_HEADER + (long) record * RECORD_SIZE);
+		this.records.write(buffer);
+	}
+
+	/**
+	 * Creates a player from the record buffer.
+	 *
+	 * @return Player read.
+	 */
+	private Player decodeRecord() {
+		byte[] buffer = this.recordBuffer;
+		String name = new String(buffer, 1, buffer[0], StandardCharsets.UTF_8);
+		int offset = 1 + MAX_NAME_BYTES;
+		int currency = readInt(buffer, offset);
+		long loginTime = ((long) readInt(buffer, offset + 4) << 32)
+				| (readInt(buffer, offset + 8) & 0xFFFFFFFFL);
+		int itemCount = readInt(buffer, offset + 12);
+		int flags = readInt(buffer, offset + 16);
+
+		List<Boolean> items = new ArrayList<>(itemCount);
+		for (int i = 0; i < itemCount; i++)
+			items.add((flags & (1 << i)) != 0);
+		return new Player(name, currency,
+				new SimpleDateFormat(DATE_FORMAT).format(loginTime), items);
+	}
+
+	/**
+	 * Encodes a name as stored at the start of a record, its length then its
+	 * UTF-8 bytes, cut to fit.
+	 *
+	 * @param name
+	 *            Name of a player.
+	 * @return Encoded name.
+	 */
+	private static byte[] encodeName(final String name) {
+		byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+		int length = Math.min(bytes.length, MAX_NAME_BYTES);
+		byte[] encoded = new byte[1 + length];
+		encoded[0] = (byte) length;
+		System.arraycopy(bytes, 0, encoded, 1, length);
+		return encoded;
+	}
+
+	/**
+	 * Checks if the record buffer holds a name.
+	 *
+	 * @param name
+	 *            Encoded name.
+	 * @return True if the record has that name.
+	 */
+	private boolean nameEquals(final byte[] name) {
+		for (int i = 0; i < name.length; i++)
+			if (this.recordBuffer[i] != name[i])
+				return false;
+		return true;
+	}
+
+	/**
+	 * Hashes an encoded name, from its first bytes.
+	 *
+	 * @param name
+	 *            Encoded name, or a record starting with one.
+	 * @return Hash of the name.
+	 */
+	private static int hash(final byte[] name) {
+		int hash = 0x811C9DC5;
+		for (int i = 0; i <= name[0]; i++)
+			hash = (hash ^ (name[i] & 0xFF)) * 0x01000193;
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Parses a login time.
+	 *
+	 * @param date
+	 *            Login time, as kept by Player.
+	 * @return Milliseconds since the epoch, 0 if it can't be parsed.
+	 */
+	private static long parseDate(final String date) {
+		try {
+			return new SimpleDateFormat(DATE_FORMAT).parse(date).getTime();
+		} catch (ParseException | NullPointerException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Writes an int in big endian order.
+	 *
+	 * @param bytes
+	 *            Buffer to write to.
+	 * @param offset
+	 *            Position in the buffer.
+	 * @param value
+	 *            Value to write.
+	 */
+	private static void writeInt(final byte[] bytes, final int offset,
+			final int value) {
+		bytes[offset] = (byte) (value >>> 24);
+		bytes[offset + 1] = (byte) (value >>> 16);
+		bytes[offset + 2] = (byte) (value >>> 8);
+		bytes[offset + 3] = (byte) value;
+	}
+
+	/**
+	 * Reads an int in big endian order.
+	 *
+	 * @param bytes
+	 *            Buffer to read from.
+	 * @param offset
+	 *            Position in the buffer.
+	 * @return Value read.
+	 */
+	private static int readInt(final byte[] bytes, final int offset) {
+		return (bytes[offset] << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+				| ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+	}
+}
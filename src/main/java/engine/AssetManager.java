@@ -0,0 +1,366 @@
+package engine;
+
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.logging.Logger;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Loads sprites, the font and sounds on a few background threads, so the
+ * first screen can be shown while the rest is still being read.
+ *
+ * Each asset is available as a future, which the game thread joins the
+ * first time it needs it. How long every asset took and the memory it
+ * takes are kept for a startup report.
+ */
+public final class AssetManager {
+
+	/** Most threads loading assets at once. */
+	private static final int MAX_LOADERS = 4;
+	/** Directory holding the sounds, one folder per kind. */
+	private static final File SOUND_DIRECTORY = new File("res/sound");
+	/** Folders of sounds that are preloaded. */
+	private static final String[] SOUND_FOLDERS = { "SFX", "BGM" };
+
+	/** Singleton instance of the class. */
+	private static AssetManager instance;
+	/** Application logger. */
+	private static Logger logger;
+
+	/** Threads loading the assets. */
+	private final ExecutorService loaders;
+	/** Time the loading started, as given by System.nanoTime. */
+	private final long startTime;
+	/** Sprite patterns, with the default skins applied. */
+	private final CompletableFuture<Map<SpriteType, PackedSprite>> sprites;
+	/** Font, at a size of one point. */
+	private final CompletableFuture<Font> font;
+	/** Decoded sounds by path under res/sound without extension. */
+	private final Map<String, CompletableFuture<AudioMixer.Sound>> sounds =
+			new ConcurrentHashMap<String, CompletableFuture<AudioMixer.Sound>>();
+	/** Every load started, for the startup report. */
+	private final List<CompletableFuture<?>> loads =
+			new ArrayList<CompletableFuture<?>>();
+	/** Load times and sizes, in the order the assets finished. */
+	private final List<Entry> entries = new ArrayList<Entry>();
+
+	/**
+	 * Time and memory taken by one asset.
+	 */
+	private static final class Entry {
+		/** Kind of asset. */
+		private final String kind;
+		/** Name of the asset. */
+		private final String name;
+		/** Time taken to load it, in nanoseconds. */
+		private final long nanos;
+		/** Memory taken by it, in bytes. */
+		private final long bytes;
+
+		/**
+		 * Constructor, establishes the figures of the asset.
+		 *
+		 * @param kind
+		 *            Kind of asset.
+		 * @param name
+		 *            Name of the asset.
+		 * @param nanos
+		 *            Time taken to load it.
+		 * @param bytes
+		 *            Memory taken by it.
+		 */
+		private Entry(final String kind, final String name, final long nanos,
+				final long bytes) {
+			this.kind = kind;
+			this.name = name;
+			this.nanos = nanos;
+			this.bytes = bytes;
+		}
+	}
+
+	/**
+	 * Private constructor, starts loading the sprites and the font.
+	 */
+	private AssetManager() {
+		logger = Core.getLogger();
+		AtomicInteger threads = new AtomicInteger();
+		int count = Math.max(2, Math.min(MAX_LOADERS,
+				Runtime.getRuntime().availableProcessors()));
+		this.loaders = Executors.newFixedThreadPool(count, task -> {
+			Thread thread = new Thread(task,
+					"AssetLoader-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.startTime = System.nanoTime();
+		logger.info("Started loading resources on " + count + " threads.");
+
+		this.sprites = load("sprite", "graphics", this::loadSprites,
+				AssetManager::sizeOf);
+		this.font = load("font", "font.ttf", () -> {
+			try {
+				return Core.getFileManager().loadFont();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			} catch (FontFormatException e) {
+				throw new CompletionException(e);
+			}
+		}, loaded -> resourceSize("font.ttf"));
+	}
+
+	/**
+	 * Returns shared instance of AssetManager.
+	 *
+	 * @return Shared instance of AssetManager.
+	 */
+	protected static synchronized AssetManager getInstance() {
+		if (instance == null)
+			instance = new AssetManager();
+		return instance;
+	}
+
+	/**
+	 * Getter for the sprite patterns.
+	 *
+	 * @return Future of the sprite patterns, with the default skins.
+	 */
+	public CompletableFuture<Map<SpriteType, PackedSprite>> getSprites() {
+		return this.sprites;
+	}
+
+	/**
+	 * Getter for the font, read once and derived to each size used.
+	 *
+	 * @return Future of the font at a size of one point.
+	 */
+	public CompletableFuture<Font> getFont() {
+		return this.font;
+	}
+
+	/**
+	 * Getter for a sound, loading it now if it wasn't preloaded.
+	 *
+	 * @param soundFilePathShort
+	 *            Path under res/sound, without extension.
+	 * @return Future of the decoded sound, completed with null if it
+	 *         couldn't be loaded.
+	 */
+	public CompletableFuture<AudioMixer.Sound> getSound(
+			final String soundFilePathShort) {
+		CompletableFuture<AudioMixer.Sound> sound = this.sounds
+				.get(soundFilePathShort);
+		return sound != null ? sound : loadSound(soundFilePathShort);
+	}
+
+	/**
+	 * Starts decoding every sound effect and music track, so none of them
+	 * stalls the frame they are first played in.
+	 */
+	public void preloadSounds() {
+		for (String folder : SOUND_FOLDERS) {
+			File[] files = new File(SOUND_DIRECTORY, folder).listFiles(
+					(dir, name) -> name.endsWith(".wav"));
+			if (files == null) {
+				logger.warning("Couldn't find sounds in " + folder + "!");
+				continue;
+			}
+			for (File file : files)
+				getSound(folder + "/" + file.getName().substring(0,
+						file.getName().length() - 4));
+		}
+	}
+
+	/**
+	 * Writes the startup report once every asset started so far is loaded.
+	 *
+	 * @param path
+	 *            File to write.
+	 * @return Future completed when the report is written.
+	 */
+	public CompletableFuture<Void> reportWhenLoaded(final Path path) {
+		CompletableFuture<?>[] started;
+		synchronized (this.loads) {
+			started = this.loads.toArray(new CompletableFuture<?>[0]);
+		}
+		return CompletableFuture.allOf(started).handle((ignored, error) -> {
+			long elapsed = System.nanoTime() - this.startTime;
+			try {
+				writeReport(path, elapsed);
+			} catch (IOException e) {
+				logger.warning("Couldn't write startup report!");
+			}
+			logger.info("Loaded " + started.length + " assets in "
+					+ TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms.");
+			return null;
+		});
+	}
+
+	/**
+	 * Writes the load time and memory of every asset loaded, slowest first.
+	 *
+	 * @param path
+	 *            File to write.
+	 * @param elapsed
+	 *            Time taken to load everything, in nanoseconds.
+	 * @throws IOException
+	 *             In case of writing problems.
+	 */
+	private void writeReport(final Path path, final long elapsed)
+			throws IOException {
+		List<Entry> sorted;
+		synchronized (this.entries) {
+			sorted = new ArrayList<Entry>(this.entries);
+		}
+		sorted.sort((a, b) -> Long.compare(b.nanos, a.nanos));
+
+		long totalNanos = 0;
+		long totalBytes = 0;
+		try (BufferedWriter writer = Files.newBufferedWriter(path,
+				StandardCharsets.UTF_8)) {
+			writer.write(String.format("%-8s %-24s %10s %12s%n", "kind",
+					"asset", "ms", "bytes"));
+			for (Entry entry : sorted) {
+				writer.write(String.format("%-8s %-24s %10.3f %12d%n",
+						entry.kind, entry.name, entry.nanos / 1e6,
+						entry.bytes));
+				totalNanos += entry.nanos;
+				totalBytes += entry.bytes;
+			}
+			writer.newLine();
+			writer.write(String.format("%-33s %10.3f %12d%n", "sum",
+					totalNanos / 1e6, totalBytes));
+			writer.write(String.format("%-33s %10.3f%n", "wall clock",
+					elapsed / 1e6));
+		}
+	}
+
+	/**
+	 * Starts decoding a sound on the loader threads.
+	 *
+	 * @param soundFilePathShort
+	 *            Path under res/sound, without extension.
+	 * @return Future of the decoded sound, null if it couldn't be loaded.
+	 */
+	private CompletableFuture<AudioMixer.Sound> loadSound(
+			final String soundFilePathShort) {
+		return this.sounds.computeIfAbsent(soundFilePathShort,
+				name -> load("sound", name, () -> {
+					try {
+						return AudioMixer.load(new File(SOUND_DIRECTORY,
+								name + ".wav"));
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}, AudioMixer.Sound::getSize).exceptionally(e -> {
+					logger.warning("Couldn't load sound " + name + "!");
+					return null;
+				}));
+	}
+
+	/**
+	 * Reads the sprite patterns and applies the default skins. The game
+	 * thread joins this before drawing any sprite, so the sprite image
+	 * cache the skins invalidate is not in use yet.
+	 *
+	 * @return Sprite patterns.
+	 */
+	private Map<SpriteType, PackedSprite> loadSprites() {
+		Map<SpriteType, PackedSprite> spriteMap = DrawManager.newSpriteMap();
+		FileManager fileManager = Core.getFileManager();
+		try {
+			fileManager.loadSprite(spriteMap);
+			fileManager.changeSprite(spriteMap, SpriteType.Bullet, 0);
+			fileManager.changeSprite(spriteMap, SpriteType.Ship, 0);
+			fileManager.changeSprite(spriteMap, SpriteType.Ship2, 0);
+		} catch (IOException e) {
+			logger.warning("Loading failed.");
+		}
+		return spriteMap;
+	}
+
+	/**
+	 * Runs a load on the loader threads, keeping how long it took and the
+	 * memory the result takes.
+	 *
+	 * @param kind
+	 *            Kind of asset.
+	 * @param name
+	 *            Name of the asset.
+	 * @param loader
+	 *            Loads the asset.
+	 * @param size
+	 *            Tells the memory taken by the asset.
+	 * @return Future of the asset.
+	 */
+	private <T> CompletableFuture<T> load(final String kind,
+			final String name, final Supplier<T> loader,
+			final ToLongFunction<T> size) {
+		CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+			long start = System.nanoTime();
+			T asset = loader.get();
+			Entry entry = new Entry(kind, name, System.nanoTime() - start,
+					size.applyAsLong(asset));
+			synchronized (this.entries) {
+				this.entries.add(entry);
+			}
+			return asset;
+		}, this.loaders);
+		synchronized (this.loads) {
+			this.loads.add(future);
+		}
+		return future;
+	}
+
+	/**
+	 * Tells the memory taken by sprite patterns.
+	 *
+	 * @param spriteMap
+	 *            Sprite patterns.
+	 * @return Bytes taken by the pixels.
+	 */
+	private static long sizeOf(final Map<SpriteType, PackedSprite> spriteMap) {
+		long bytes = 0;
+		for (PackedSprite sprite : spriteMap.values())
+			bytes += sprite.getSize();
+		return bytes;
+	}
+
+	/**
+	 * Tells the size of a resource file.
+	 *
+	 * @param name
+	 *            Name of the resource.
+	 * @return Size in bytes, zero if unknown.
+	 */
+	private static long resourceSize(final String name) {
+		URL resource = AssetManager.class.getClassLoader().getResource(name);
+		if (resource == null)
+			return 0;
+		try {
+			return Math.max(0, resource.openConnection().getContentLengthLong());
+		} catch (IOException e) {
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package engine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Hands log records to other handlers from a background thread, so the
+ * game thread never waits on the console or the disk.
+ *
+ * Records go into a ring buffer allocated up front. Logging only claims a
+ * slot and stores the record in it; formatting and writing happen on the
+ * writer thread. When the buffer is full the record is dropped rather than
+ * making the game wait, and the number dropped is logged once there is
+ * room again.
+ */
+public final class AsyncLogHandler extends Handler implements Runnable {
+
+	/** Records the buffer holds, a power of two. */
+	private static final int CAPACITY = 4096;
+	/** Mask turning a sequence number into a slot. */
+	private static final int MASK = CAPACITY - 1;
+	/** Time the writer sleeps when there is nothing to write. */
+	private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+	/** Longest time flush and close wait for the writer. */
+	private static final long DRAIN_MILLIS = 1000;
+
+	/** Slots of the ring buffer. */
+	private final AtomicReferenceArray<LogRecord> slots =
+			new AtomicReferenceArray<LogRecord>(CAPACITY);
+	/** Sequence number of the next slot to claim. */
+	private final AtomicLong head = new AtomicLong();
+	/** Sequence number of the next slot to write, only moved by the writer. */
+	private volatile long tail;
+	/** Records dropped since the last report. */
+	private final AtomicLong dropped = new AtomicLong();
+	/** Handlers the records are written to. */
+	private final Handler[] targets;
+	/** Thread writing the records. */
+	private final Thread writer;
+	/** If the handler was closed. */
+	private volatile boolean closed;
+
+	/**
+	 * Constructor, starts the writer thread.
+	 *
+	 * @param targets
+	 *            Handlers to write the records to, each with its own level
+	 *            and formatter.
+	 */
+	public AsyncLogHandler(final Handler... targets) {
+		this.targets = targets.clone();
+		this.writer = new Thread(this, "LogWriter");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	/**
+	 * Queues a record to be written, or drops it if the buffer is full.
+	 *
+	 * @param record
+	 *            Record to write.
+	 */
+	@Override
+	public void publish(final LogRecord record) {
+		if (this.closed || !isLoggable(record))
+			return;
+		long sequence;
+		do {
+			sequence = this.head.get();
+			if (sequence - this.tail >= CAPACITY) {
+				this.dropped.incrementAndGet();
+				return;
+			}
+		} while (!this.head.compareAndSet(sequence, sequence + 1));
+		this.slots.set((int) (sequence & MASK), record);
+	}
+
+	/**
+	 * Waits a short while for queued records to be written, then flushes
+	 * the handlers they went to.
+	 */
+	@Override
+	public void flush() {
+		long deadline = System.currentTimeMillis() + DRAIN_MILLIS;
+		while (this.tail < this.head.get() && this.writer.isAlive()
+				&& System.currentTimeMillis() < deadline) {
+			LockSupport.unpark(this.writer);
+			LockSupport.parkNanos(IDLE_NANOS / 10);
+		}
+		for (Handler target : this.targets)
+			target.flush();
+	}
+
+	/**
+	 * Writes the queued records, stops the writer and closes the handlers.
+	 */
+	@Override
+	public void close() {
+		this.closed = true;
+		LockSupport.unpark(this.writer);
+		try {
+			this.writer.join(DRAIN_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		for (Handler target : this.targets)
+			target.close();
+	}
+
+	/**
+	 * Writes records as they are queued until the handler is closed.
+	 */
+	@Override
+	public void run() {
+		boolean written = false;
+		while (true) {
+			long sequence = this.tail;
+			int slot = (int) (sequence & MASK);
+			LogRecord record = this.slots.get(slot);
+			if (record == null) {
+				// Empty, or claimed but not stored yet.
+				if (this.closed && sequence == this.head.get())
+					break;
+				if (written)
+					for (Handler target : this.targets)
+						target.flush();
+				written = false;
+				LockSupport.parkNanos(IDLE_NANOS);
+				continue;
+			}
+			this.slots.set(slot, null);
+			this.tail = sequence + 1;
+			write(record);
+			written = true;
+
+			long lost = this.dropped.getAndSet(0);
+			if (lost > 0)
+				write(new LogRecord(Level.WARNING, "Dropped " + lost
+						+ " log records, logging faster than they are written."));
+		}
+		for (Handler target : this.targets)
+			target.flush();
+	}
+
+	/**
+	 * Writes a record to every handler.
+	 *
+	 * @param record
+	 *            Record to write.
+	 */
+	private void write(final LogRecord record) {
+		for (Handler target : this.targets)
+			target.publish(record);
+	}
+}
@@ -0,0 +1,442 @@
+package engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Mixes every sound playing into a single audio line, from its own thread.
+ *
+ * A fixed number of voices is mixed in periods of a fixed length, so the
+ * latency of a new sound is always about two periods. When every voice is
+ * busy, a new sound takes the voice of the oldest sound with the lowest
+ * priority, as long as that priority is not higher than its own.
+ *
+ * Sounds are played through handles. A handle stops referring to its voice
+ * once the sound ends, so stale handles are silently ignored.
+ */
+public final class AudioMixer implements Runnable {
+
+	/** Samples per second of the mixed output. */
+	public static final float SAMPLE_RATE = 44100;
+	/** Number of channels of the mixed output. */
+	private static final int CHANNELS = 2;
+	/** Bytes per frame of the mixed output, 16 bit stereo. */
+	private static final int FRAME_SIZE = CHANNELS * 2;
+	/** Frames mixed at a time, about 12 ms. */
+	private static final int PERIOD_FRAMES = 512;
+	/** Number of sounds that can play at the same time. */
+	private static final int MAX_VOICES = 16;
+	/** Bits of a handle holding the voice index. */
+	private static final int VOICE_BITS = 8;
+	/** Format of the mixed output. */
+	private static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE,
+			16, CHANNELS, true, false);
+
+	/** Singleton instance of the class. */
+	private static AudioMixer instance;
+	/** If opening the output line already failed. */
+	private static boolean unavailable;
+	/** Application logger. */
+	private static final Logger LOGGER = Core.getLogger();
+
+	/**
+	 * Decoded samples of a sound, in the format of the mixed output.
+	 */
+	public static final class Sound {
+		/** Interleaved stereo samples. */
+		private final short[] samples;
+		/** Number of frames. */
+		private final int frames;
+
+		/**
+		 * Constructor, wraps decoded samples.
+		 *
+		 * @param samples
+		 *            Interleaved stereo samples.
+		 */
+		private Sound(final short[] samples) {
+			this.samples = samples;
+			this.frames = samples.length / CHANNELS;
+		}
+
+		/**
+		 * Getter for the memory taken by the samples.
+		 *
+		 * @return Size of the samples in bytes.
+		 */
+		public long getSize() {
+			return this.samples.length * 2L;
+		}
+	}
+
+	/**
+	 * One sound being mixed.
+	 */
+	private static final class Voice {
+		/** Sound played, null if the voice is free. */
+		private Sound sound;
+		/** Handle of the sound played. */
+		private int handle;
+		/** Next frame to mix. */
+		private int position;
+		/** If the sound starts over when it ends. */
+		private boolean loop;
+		/** Priority of the sound. */
+		private int priority;
+		/** Order the sound was started in. */
+		private long started;
+		/** Current linear gain. */
+		private float gain;
+		/** Gain being faded to. */
+		private float targetGain;
+		/** Gain change per frame while fading. */
+		private float gainStep;
+		/** If the voice is freed once the fade ends. */
+		private boolean stopAfterFade;
+	}
+
+	/** Output line. */
+	private final SourceDataLine line;
+	/** Voices mixed. */
+	private final Voice[] voices = new Voice[MAX_VOICES];
+	/** Sounds started so far. */
+	private long started;
+	/** Handles given out so far. */
+	private int serial;
+
+	/**
+	 * Constructor, opens the output line and starts the mixing thread.
+	 *
+	 * @throws LineUnavailableException
+	 *             In case there is no audio line to play on.
+	 */
+	private AudioMixer() throws LineUnavailableException {
+		for (int i = 0; i < MAX_VOICES; i++)
+			this.voices[i] = new Voice();
+		this.line = AudioSystem.getSourceDataLine(FORMAT);
+		this.line.open(FORMAT, PERIOD_FRAMES * FRAME_SIZE * 2);
+		this.line.start();
+
+		Thread thread = new Thread(this, "AudioMixer");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MAX_PRIORITY);
+		thread.start();
+	}
+
+	/**
+	 * Returns shared instance of AudioMixer, opening it on the first call.
+	 *
+	 * @return Shared instance of AudioMixer, null if there is no audio line.
+	 */
+	public static synchronized AudioMixer getInstance() {
+		if (instance == null && !unavailable) {
+			try {
+				instance = new AudioMixer();
+				LOGGER.info("Opened audio mixer with " + MAX_VOICES
+						+ " voices.");
+			} catch (LineUnavailableException | IllegalArgumentException e) {
+				LOGGER.warning("Couldn't open audio line!");
+				unavailable = true;
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Decodes a sound file into the format of the mixed output.
+	 *
+	 * @param file
+	 *            Sound file.
+	 * @return Decoded sound.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
+	public static Sound load(final File file) throws IOException {
+		try (AudioInputStream source = AudioSystem.getAudioInputStream(file)) {
+			AudioFormat format = source.getFormat();
+			AudioFormat pcm = new AudioFormat(format.getSampleRate(), 16,
+					format.getChannels(), true, false);
+			try (AudioInputStream decoded = AudioSystem.getAudioInputStream(
+					pcm, source)) {
+				byte[] data = decoded.readAllBytes();
+				int channels = format.getChannels();
+				int frames = data.length / (channels * 2);
+
+				// Keep the first two channels, copying mono to both sides.
+				short[] stereo = new short[frames * CHANNELS];
+				for (int i = 0; i < frames; i++)
+					for (int c = 0; c < CHANNELS; c++) {
+						int offset = (i * channels + Math.min(c, channels - 1)) * 2;
+						stereo[i * CHANNELS + c] = (short) ((data[offset] & 0xFF)
+								| (data[offset + 1] << 8));
+					}
+				return new Sound(resample(stereo, format.getSampleRate()));
+			}
+		} catch (UnsupportedAudioFileException | IllegalArgumentException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Resamples stereo samples to the output rate, interpolating linearly.
+	 *
+	 * @param samples
+	 *            Interleaved stereo samples.
+	 * @param sampleRate
+	 *            Rate the samples were recorded at.
+	 * @return Samples at the output rate.
+	 */
+	private static short[] resample(final short[] samples,
+			final float sampleRate) {
+		if (sampleRate == SAMPLE_RATE || sampleRate <= 0)
+			return samples;
+		int frames = samples.length / CHANNELS;
+		int resampledFrames = (int) ((long) frames * SAMPLE_RATE / sampleRate);
+		short[] resampled = new short[resampledFrames * CHANNELS];
+		double step = sampleRate / SAMPLE_RATE;
+		for (int i = 0; i < resampledFrames; i++) {
+			double source = i * step;
+			int index = (int) source;
+			int nextIndex = Math.min(index + 1, frames - 1);
+			double fraction = source - index;
+			for (int c = 0; c < CHANNELS; c++) {
+				int a = samples[index * CHANNELS + c];
+				int b = samples[nextIndex * CHANNELS + c];
+				resampled[i * CHANNELS + c] = (short) Math.round(a
+						+ (b - a) * fraction);
+			}
+		}
+		return resampled;
+	}
+
+	/**
+	 * Starts playing a sound.
+	 *
+	 * @param sound
+	 *            Sound to play.
+	 * @param gain
+	 *            Linear gain, 0 for silence and 1 for the original volume.
+	 * @param loop
+	 *            If the sound starts over when it ends.
+	 * @param priority
+	 *            Priority of the sound when stealing voices, higher wins.
+	 * @return Handle of the sound, -1 if every voice is busy with sounds of
+	 *         higher priority.
+	 */
+	public synchronized int play(final Sound sound, final float gain,
+			final boolean loop, final int priority) {
+		Voice voice = null;
+		for (Voice candidate : this.voices) {
+			if (candidate.sound == null) {
+				voice = candidate;
+				break;
+			}
+			if (candidate.priority <= priority && (voice == null
+					|| candidate.priority < voice.priority
+					|| (candidate.priority == voice.priority
+							&& candidate.started < voice.started)))
+				voice = candidate;
+		}
+		if (voice == null)
+			return -1;
+
+		int index = voiceIndex(voice);
+		this.serial = (this.serial + 1) & (Integer.MAX_VALUE >>> VOICE_BITS);
+		voice.sound = sound;
+		voice.handle = (this.serial << VOICE_BITS) | index;
+		voice.position = 0;
+		voice.loop = loop;
+		voice.priority = priority;
+		voice.started = this.started++;
+		voice.gain = gain;
+		voice.targetGain = gain;
+		voice.gainStep = 0;
+		voice.stopAfterFade = false;
+		return voice.handle;
+	}
+
+	/**
+	 * Stops a sound.
+	 *
+	 * @param handle
+	 *            Handle of the sound.
+	 */
+	public synchronized void stop(final int handle) {
+		Voice voice = voiceOf(handle);
+		if (voice != null)
+			voice.sound = null;
+	}
+
+	/**
+	 * Changes the gain of a sound right away, unless it is fading out to
+	 * stop.
+	 *
+	 * @param handle
+	 *            Handle of the sound.
+	 * @param gain
+	 *            Linear gain.
+	 */
+	public synchronized void setGain(final int handle, final float gain) {
+		Voice voice = voiceOf(handle);
+		if (voice != null && !voice.stopAfterFade) {
+			voice.gain = gain;
+			voice.targetGain = gain;
+			voice.gainStep = 0;
+			voice.stopAfterFade = false;
+		}
+	}
+
+	/**
+	 * Getter for the gain of a sound.
+	 *
+	 * @param handle
+	 *            Handle of the sound.
+	 * @return Current linear gain, 0 if the sound is not playing.
+	 */
+	public synchronized float getGain(final int handle) {
+		Voice voice = voiceOf(handle);
+		return voice == null ? 0 : voice.gain;
+	}
+
+	/**
+	 * Fades a sound to a gain.
+	 *
+	 * @param handle
+	 *            Handle of the sound.
+	 * @param gain
+	 *            Linear gain to reach.
+	 * @param milliseconds
+	 *            Duration of the fade.
+	 * @param stop
+	 *            If the sound is stopped once the fade ends, right away if
+	 *            it is already at that gain.
+	 */
+	public synchronized void fadeTo(final int handle, final float gain,
+			final int milliseconds, final boolean stop) {
+		Voice voice = voiceOf(handle);
+		if (voice == null)
+			return;
+		float frames = Math.max(1, milliseconds * SAMPLE_RATE / 1000);
+		// Nothing to fade, the mixer would never see the fade end.
+		if (stop && (gain == voice.gain || frames <= 1)) {
+			voice.sound = null;
+			return;
+		}
+		voice.targetGain = gain;
+		voice.gainStep = (gain - voice.gain) / frames;
+		voice.stopAfterFade = stop;
+	}
+
+	/**
+	 * Checks if a sound is still playing.
+	 *
+	 * @param handle
+	 *            Handle of the sound.
+	 * @return True if the sound has not ended or been stopped.
+	 */
+	public synchronized boolean isPlaying(final int handle) {
+		return voiceOf(handle) != null;
+	}
+
+	/**
+	 * Mixes the voices and feeds the output line, until the program ends.
+	 */
+	@Override
+	public void run() {
+		float[] mix = new float[PERIOD_FRAMES * CHANNELS];
+		byte[] out = new byte[PERIOD_FRAMES * FRAME_SIZE];
+		while (true) {
+			Arrays.fill(mix, 0);
+			synchronized (this) {
+				for (Voice voice : this.voices)
+					if (voice.sound != null)
+						mixVoice(voice, mix);
+			}
+			for (int i = 0; i < mix.length; i++) {
+				int sample = (int) Math.max(Short.MIN_VALUE,
+						Math.min(Short.MAX_VALUE, mix[i]));
+				out[i * 2] = (byte) sample;
+				out[i * 2 + 1] = (byte) (sample >> 8);
+			}
+			// Blocks until the line has room, pacing the mixing.
+			this.line.write(out, 0, out.length);
+		}
+	}
+
+	/**
+	 * Adds one period of a voice to the mix.
+	 *
+	 * @param voice
+	 *            Voice to mix.
+	 * @param mix
+	 *            Mixed samples of the period.
+	 */
+	private static void mixVoice(final Voice voice, final float[] mix) {
+		short[] samples = voice.sound.samples;
+		int frames = voice.sound.frames;
+		for (int i = 0; i < PERIOD_FRAMES; i++) {
+			if (voice.position >= frames) {
+				if (!voice.loop || frames == 0) {
+					voice.sound = null;
+					return;
+				}
+				voice.position = 0;
+			}
+			if (voice.gainStep != 0) {
+				voice.gain += voice.gainStep;
+				if ((voice.gainStep > 0 && voice.gain >= voice.targetGain)
+						|| (voice.gainStep < 0 && voice.gain <= voice.targetGain)) {
+					voice.gain = voice.targetGain;
+					voice.gainStep = 0;
+					if (voice.stopAfterFade) {
+						voice.sound = null;
+						return;
+					}
+				}
+			}
+			int offset = voice.position++ * CHANNELS;
+			mix[i * CHANNELS] += samples[offset] * voice.gain;
+			mix[i * CHANNELS + 1] += samples[offset + 1] * voice.gain;
+		}
+	}
+
+	/**
+	 * Finds the voice playing a sound.
+	 *
+	 * @param handle
+	 *            Handle of the sound.
+	 * @return Voice playing the sound, null if it ended.
+	 */
+	private Voice voiceOf(final int handle) {
+		if (handle < 0)
+			return null;
+		int index = handle & ((1 << VOICE_BITS) - 1);
+		if (index >= MAX_VOICES)
+			return null;
+		Voice voice = this.voices[index];
+		return voice.sound != null && voice.handle == handle ? voice : null;
+	}
+
+	/**
+	 * Index of a voice.
+	 *
+	 * @param voice
+	 *            Voice to find.
+	 * @return Index in the voices.
+	 */
+	private int voiceIndex(final Voice voice) {
+		for (int i = 0; i < MAX_VOICES; i++)
+			if (this.voices[i] == voice)
+				return i;
+		return -1;
+	}
+}
@@ -1,5 +1,7 @@
 package engine;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Imposes a cooldown period between two actions.
  * 
@@ -12,10 +14,17 @@ public class Cooldown {
 	private int milliseconds;
 	/** Maximum difference between durations. */
 	private int variance;
-	/** Duration of this run, varies between runs if variance > 0. */
-	private int duration;
-	/** Beginning time. */
+	/**
+	 * Duration of this run in nanoseconds, varies between runs if
+	 * variance > 0.
+	 */
+	private long duration;
+	/** Beginning time, in clock nanoseconds. */
 	private long time;
+	/** Clock the cooldown is measured with. */
+	private final GameClock clock;
+	/** Action pending for the end of this run, null if none. */
+	private EffectScheduler.Timer alarm;
 
 	/**
 	 * Constructor, established the time until the action can be performed
@@ -25,10 +34,7 @@ public class Cooldown {
 	 *            Time until cooldown period is finished.
 	 */
 	protected Cooldown(final int milliseconds) {
-		this.milliseconds = milliseconds;
-		this.variance = 0;
-		this.duration = milliseconds;
-		this.time = 0;
+		this(milliseconds, 0, GameClock.getCurrent());
 	}
 
 	/**
@@ -41,9 +47,27 @@ public class Cooldown {
 	 *            Variance in the cooldown period.
 	 */
 	protected Cooldown(final int milliseconds, final int variance) {
+		this(milliseconds, variance, GameClock.getCurrent());
+	}
+
+	/**
+	 * Constructor, established the time until the action can be performed
+	 * again, measured with the given clock.
+	 * 
+	 * @param milliseconds
+	 *            Time until cooldown period is finished.
+	 * @param variance
+	 *            Variance in the cooldown period.
+	 * @param clock
+	 *            Clock to measure the cooldown with.
+	 */
+	protected Cooldown(final int milliseconds, final int variance,
+			final GameClock clock) {
 		this.milliseconds = milliseconds;
 		this.variance = variance;
+		this.duration = TimeUnit.MILLISECONDS.toNanos(milliseconds);
 		this.time = 0;
+		this.clock = clock;
 	}
 
 	/**
@@ -53,7 +77,7 @@ public class Cooldown {
 	 */
 	public final boolean checkFinished() {
 		if ((this.time == 0)
-				|| this.time + this.duration < System.currentTimeMillis())
+				|| this.time + this.duration < this.clock.nanos())
 			return true;
 		return false;
 	}
@@ -62,11 +86,29 @@ public class Cooldown {
 	 * Restarts the cooldown.
 	 */
 	public final void reset() {
-		this.time = System.currentTimeMillis();
+		this.time = this.clock.nanos();
 		if (this.variance != 0)
-			this.duration = (this.milliseconds - this.variance)
-					+ (int) (Math.random()
-							* (this.milliseconds + this.variance));
+			this.duration = TimeUnit.MILLISECONDS.toNanos(
+					(this.milliseconds - this.variance)
+					+ (int) (GameRandom.get(GameRandom.Stream.COOLDOWN).nextDouble()
+							* (this.milliseconds + this.variance)));
+		if (this.alarm != null) {
+			this.alarm.cancel();
+			this.alarm = null;
+		}
+	}
+
+	/**
+	 * Restarts the cooldown and runs an action once it finishes, so it
+	 * doesn't need to be polled. Restarting it again drops the action.
+	 * 
+	 * @param onFinished
+	 *            Action to run on the game thread when the cooldown ends.
+	 */
+	public final void reset(final Runnable onFinished) {
+		reset();
+		// Polling sees the cooldown finished on the first tick past its end.
+		this.alarm = this.clock.scheduleNanos(this.duration + 1, onFinished);
 	}
 	public final void timedown(final double percent){
 		this.variance=(int)(this.variance*(1-percent));
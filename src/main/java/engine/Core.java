@@ -1,8 +1,11 @@
 package engine;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.FileHandler;
 import java.util.logging.Handler;
@@ -55,9 +58,8 @@ public final class Core {
 	/** Difficulty settings for level 7. */
 	private static final GameSettings SETTINGS_LEVEL_7 =
 			new GameSettings(8, 7, 2, 500,4.8, "7");
-	/** Difficulty settings for level 8.  random level */
-	private static final GameSettings SETTINGS_LEVEL_8 =
-			new GameSettings((int)(Math.random() * 5) + 1, (int)(Math.random() * 5) + 1, (int)(Math.random() * 40) + 5, (int)(Math.random() * 2000) + 500,(int)(Math.random() * 2) + 4, "random");
+	/** Difficulty settings for level 8.  random level, rolled once per session */
+	private static GameSettings settingsLevel8;
 
 	/** Frame to draw the screen on. */
 	private static Frame frame;
@@ -68,10 +70,8 @@ public final class Core {
 	/** Application logger. */
 	private static final Logger LOGGER = Logger.getLogger(Core.class
 			.getSimpleName());
-	/** Logger handler for printing to disk. */
-	private static Handler fileHandler;
-	/** Logger handler for printing to console. */
-	private static ConsoleHandler consoleHandler;
+	/** Logger handler writing to disk and console off the game thread. */
+	private static Handler logHandler;
 
 	private static int[] keySetting = new int[16];
 	/** { 1P.LEFT, 1P.RIGHT, 1P.ATTACK, 1P.BURST 1, 1P.BURST 2, 1P.RELOAD, 1P.BOOSTER, 1P.ITEM,
@@ -84,63 +84,63 @@ public final class Core {
 	public static List<Settings> setting;
 	/** control bottom HUD height */
 	public static int bottomHudHeight = 40;
+	/** If the game runs without a window, sound or real time. */
+	private static boolean headless = false;
+	/** Script feeding input in place of the keyboard, if any. */
+	private static InputScript inputScript;
+	/** Directory each level is recorded to, null to not record. */
+	private static Path replayDirectory;
+	/** Replay being played back, if any. */
+	private static Replay replay;
 	/**
 	 * Test implementation.
 	 *
 	 * @param args
-	 *            Program args, ignored.
+	 *            Program args: "--record directory" saves a replay of each
+	 *            level played, "--replay file" plays one back.
 	 */
 	public static void main(final String[] args) {
-		try {
-			setting = Core.getFileManager().loadSettings();
-			soundVolume = setting.get(0).getValue();
-			if(setting.get(1).getValue()==1){
-				bgmOn = true;
-				SoundManager.bgmSetting(true);
-			}
-			else{
-				bgmOn = false;
-				SoundManager.bgmSetting(false);
-			}
-			for (int i =2; i < 18; i++) {
-				keySettingString[i-2] = setting.get(i).getName();
-				keySetting[i-2] = setting.get(i).getValue();
-			}
-
-		} catch (NumberFormatException | IOException e) {
-			LOGGER.info("Couldn't load Settings!");
+		loadSettings();
+		FrameProfiler.dumpOnExit(Paths.get("profile"));
+		if (args.length == 2 && args[0].equals("--record")) {
+			setReplayDirectory(Paths.get(args[1]));
 		}
 		try {
 			LOGGER.setUseParentHandlers(false);
 
-			fileHandler = new FileHandler("log");
+			Handler fileHandler = new FileHandler("log");
 			fileHandler.setFormatter(new MinimalFormatter());
-			consoleHandler = new ConsoleHandler();
+			Handler consoleHandler = new ConsoleHandler();
 			consoleHandler.setFormatter(new MinimalFormatter());
+			logHandler = new AsyncLogHandler(fileHandler, consoleHandler);
 
-			LOGGER.addHandler(fileHandler);
-			LOGGER.addHandler(consoleHandler);
-			LOGGER.setLevel(Level.ALL);
+			LOGGER.addHandler(logHandler);
+			// Set -Dgame.logLevel=FINE to also log every formation move.
+			LOGGER.setLevel(Level.parse(System.getProperty("game.logLevel",
+					"INFO")));
 
 		} catch (Exception e) {
 			// TODO handle exception
 			e.printStackTrace();
 		}
 
+		LOGGER.info("Session seed " + GameRandom.getSessionSeed() + ".");
+		// Load the assets while the window opens and the login screen runs.
+		AssetManager assets = AssetManager.getInstance();
+		assets.preloadSounds();
+		assets.reportWhenLoaded(Paths.get("startup_report"));
+
 		frame = new Frame(WIDTH, HEIGHT, bottomHudHeight);
 		DrawManager.getInstance().setFrame(frame);
+		if (args.length == 2 && args[0].equals("--replay")) {
+			playReplay(Paths.get(args[1]));
+			logHandler.close();
+			System.exit(0);
+		}
 		int width = frame.getWidth();
 		int height = frame.getHeight();
 
-		gameSettings = new ArrayList<GameSettings>();
-		gameSettings.add(SETTINGS_LEVEL_1);
-		gameSettings.add(SETTINGS_LEVEL_2);
-		gameSettings.add(SETTINGS_LEVEL_3);
-		gameSettings.add(SETTINGS_LEVEL_4);
-		gameSettings.add(SETTINGS_LEVEL_5);
-		gameSettings.add(SETTINGS_LEVEL_6);
-		gameSettings.add(SETTINGS_LEVEL_7);
-		gameSettings.add(SETTINGS_LEVEL_8);
+		gameSettings = getGameSettings();
 
 		AchievementManager.getInstance().markAchievementAsAchieved(Achievement.ADVENTURE_START);
 
@@ -333,12 +333,12 @@ public final class Core {
 
 		} while (returnCode != 0);
 		try {
+			getFileManager().flushCurrentPlayer();
 			getFileManager().updateAccounts();
 		}catch(Exception e){
 			e.printStackTrace();
 		}
-		fileHandler.flush();
-		fileHandler.close();
+		logHandler.close();
 		System.exit(0);
 	}
 
@@ -349,6 +349,166 @@ public final class Core {
 
 	}
 
+	/**
+	 * Loads the sound and key settings.
+	 */
+	static void loadSettings() {
+		try {
+			setting = Core.getFileManager().loadSettings();
+			soundVolume = setting.get(0).getValue();
+			if(setting.get(1).getValue()==1){
+				bgmOn = true;
+				SoundManager.bgmSetting(true);
+			}
+			else{
+				bgmOn = false;
+				SoundManager.bgmSetting(false);
+			}
+			for (int i =2; i < 18; i++) {
+				keySettingString[i-2] = setting.get(i).getName();
+				keySetting[i-2] = setting.get(i).getValue();
+			}
+
+		} catch (NumberFormatException | IOException e) {
+			LOGGER.info("Couldn't load Settings!");
+		}
+	}
+
+	/**
+	 * Builds the list of difficulty settings, one per level.
+	 *
+	 * @return Difficulty settings list.
+	 */
+	static List<GameSettings> getGameSettings() {
+		List<GameSettings> settingsList = new ArrayList<GameSettings>();
+		settingsList.add(SETTINGS_LEVEL_1);
+		settingsList.add(SETTINGS_LEVEL_2);
+		settingsList.add(SETTINGS_LEVEL_3);
+		settingsList.add(SETTINGS_LEVEL_4);
+		settingsList.add(SETTINGS_LEVEL_5);
+		settingsList.add(SETTINGS_LEVEL_6);
+		settingsList.add(SETTINGS_LEVEL_7);
+		settingsList.add(getRandomLevelSettings());
+		return settingsList;
+	}
+
+	/**
+	 * Rolls the settings of the random level from the session stream the
+	 * first time they are needed.
+	 *
+	 * @return Difficulty settings for level 8.
+	 */
+	private static synchronized GameSettings getRandomLevelSettings() {
+		if (settingsLevel8 == null) {
+			SplittableRandom random = GameRandom.session();
+			settingsLevel8 = new GameSettings(random.nextInt(5) + 1,
+					random.nextInt(5) + 1, random.nextInt(40) + 5,
+					random.nextInt(2000) + 500, random.nextInt(2) + 4,
+					"random");
+		}
+		return settingsLevel8;
+	}
+
+	/**
+	 * Checks if the game runs headless, with no window, no sound and the
+	 * logic updated as fast as possible.
+	 *
+	 * @return True if running headless.
+	 */
+	public static boolean isHeadless() {
+		return headless;
+	}
+
+	/**
+	 * Switches headless mode, along with the sound.
+	 *
+	 * @param isHeadless
+	 *            If the game should run headless.
+	 */
+	static void setHeadless(final boolean isHeadless) {
+		headless = isHeadless;
+		SoundManager.setEnabled(!isHeadless);
+	}
+
+	/**
+	 * Getter for the script feeding input in place of the keyboard.
+	 *
+	 * @return Current input script, or null if there is none.
+	 */
+	public static InputScript getInputScript() {
+		return inputScript;
+	}
+
+	/**
+	 * Setter for the script feeding input in place of the keyboard.
+	 *
+	 * @param script
+	 *            New input script, or null to use the keyboard only.
+	 */
+	static void setInputScript(final InputScript script) {
+		inputScript = script;
+	}
+
+	/**
+	 * Plays a recorded level back in the window, at normal speed.
+	 *
+	 * @param path
+	 *            Replay file.
+	 */
+	private static void playReplay(final Path path) {
+		try {
+			Replay loaded = Replay.load(path);
+			setReplay(loaded);
+			loaded.restoreSettings();
+			setInputScript(loaded.toInputScript());
+			LOGGER.info("Playing replay " + path + ".");
+			frame.setScreen(new GameScreen(loaded.getGameState(),
+					loaded.getGameSettings(), loaded.isBonusLife(),
+					frame.getWidth(), frame.getHeight(), loaded.getFps()));
+		} catch (IOException e) {
+			LOGGER.warning("Couldn't load replay " + path + ": "
+					+ e.getMessage());
+		}
+	}
+
+	/**
+	 * Getter for the directory levels are recorded to.
+	 *
+	 * @return Directory to save replays in, null if not recording.
+	 */
+	public static Path getReplayDirectory() {
+		return replayDirectory;
+	}
+
+	/**
+	 * Setter for the directory levels are recorded to.
+	 *
+	 * @param directory
+	 *            Directory to save replays in, null to not record.
+	 */
+	static void setReplayDirectory(final Path directory) {
+		replayDirectory = directory;
+	}
+
+	/**
+	 * Getter for the replay being played back.
+	 *
+	 * @return Current replay, null if the game is played normally.
+	 */
+	public static Replay getReplay() {
+		return replay;
+	}
+
+	/**
+	 * Setter for the replay being played back.
+	 *
+	 * @param loaded
+	 *            Replay to play, null to play normally.
+	 */
+	static void setReplay(final Replay loaded) {
+		replay = loaded;
+	}
+
 	/**
 	 * Controls access to the logger.
 	 *
@@ -1,17 +1,28 @@
 package engine;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
+import java.awt.Composite;
+import java.awt.DisplayMode;
 import java.awt.Font;
 import java.awt.FontFormatException;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Random;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Logger;
 import engine.AchievementManager.Achievement;
 
@@ -40,12 +51,16 @@ public final class DrawManager {
 	private static FileManager fileManager;
 	/** Application logger. */
 	private static Logger logger;
-	/** Graphics context. */
-	private static Graphics graphics;
 	/** Buffer Graphics. */
 	private static Graphics backBufferGraphics;
-	/** Buffer image. */
+	/** Buffer image, kept between frames. */
 	private static BufferedImage backBuffer;
+	/** Font the buffer graphics start each frame with. */
+	private static Font defaultFont;
+	/** Time the frame being drawn was started. */
+	private static long drawingStart;
+	/** Background of the profiler overlay. */
+	private static final Color OVERLAY_BACKGROUND = new Color(0, 0, 0, 180);
 	/** Normal sized font. */
 	private static Font fontRegular;
 	/** Normal sized font properties. */
@@ -55,8 +70,47 @@ public final class DrawManager {
 	/** Big sized font properties. */
 	private static FontMetrics fontBigMetrics;
 
-	/** Sprite types mapped to their images. */
-	private static Map<SpriteType, boolean[][]> spriteMap;
+	/** Sprite types mapped to their images, once loaded. */
+	private static Map<SpriteType, PackedSprite> spriteMap;
+	/** Skin last applied to each sprite, missing for the default look. */
+	private static Map<SpriteType, Integer> appliedSkins =
+			new EnumMap<SpriteType, Integer>(SpriteType.class);
+	/** Skin selection menu without the selection, drawn once on entry. */
+	private static BufferedImage skinSelectionLayer;
+	/** Sprites already rasterized, by sprite type and color. */
+	private static Map<SpriteType, Map<Color, BufferedImage>> spriteImageCache =
+			new EnumMap<SpriteType, Map<Color, BufferedImage>>(SpriteType.class);
+	/** Icon shown in the inventory for each kind of item, once rasterized. */
+	private static Map<Item.ItemType, BufferedImage> itemIcons =
+			new EnumMap<Item.ItemType, BufferedImage>(Item.ItemType.class);
+	/** Height of the top HUD, above the separation line. */
+	private static final int TOP_HUD_HEIGHT = 38;
+	/** Top HUD, drawn again only when what it shows changes. */
+	private static final HudLayer topHudLayer = new HudLayer();
+	/** Bottom HUD, drawn again only when what it shows changes. */
+	private static final HudLayer bottomHudLayer = new HudLayer();
+	/** Back buffer graphics, kept aside while drawing into a layer. */
+	private static Graphics layerParentGraphics;
+	/** Layer being drawn into, null when drawing on the back buffer. */
+	private static HudLayer currentHudLayer;
+	/** Characters the HUD numbers are composed of. */
+	private static final String HUD_CHARACTERS = "0123456789/-";
+	/** Label of the ammo counter, first label in the HUD glyphs. */
+	private static final String AMMO_LABEL = "BUL: ";
+	/** HUD characters and labels, rendered once in the regular font. */
+	private static GlyphStrip hudGlyphs;
+
+	/**
+	 * Part of the HUD kept as an image, along with the values it shows.
+	 */
+	private static final class HudLayer {
+		/** Image of the layer, transparent where nothing is drawn. */
+		private BufferedImage image;
+		/** Values the layer was last drawn with. */
+		private int[] state;
+		/** Coordinates of the upper side of the layer on screen. */
+		private int positionY;
+	}
 
 	/** Sprite types. */
 	public static enum SpriteType {
@@ -113,51 +167,77 @@ public final class DrawManager {
 	private DrawManager() {
 		fileManager = Core.getFileManager();
 		logger = Core.getLogger();
-		logger.info("Started loading resources.");
 
 		try {
-			spriteMap = new LinkedHashMap<SpriteType, boolean[][]>();
-
-			spriteMap.put(SpriteType.Ship, new boolean[13][8]);
-			spriteMap.put(SpriteType.Ship2, new boolean[13][8]);
-			spriteMap.put(SpriteType.ShipDestroyed, new boolean[13][8]);
-			spriteMap.put(SpriteType.Bullet, new boolean[3][5]);
-			spriteMap.put(SpriteType.EnemyBullet, new boolean[3][5]);
-			spriteMap.put(SpriteType.EnemyShipA1, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipA2, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipB1, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipB2, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipC1, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipC2, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipSpecial, new boolean[16][7]);
-			spriteMap.put(SpriteType.Explosion, new boolean[13][7]);
-			spriteMap.put(SpriteType.Item, new boolean[3][3]);
-			spriteMap.put(SpriteType.Life, new boolean[7][7]);
-			spriteMap.put(SpriteType.AuxiliaryShips, new boolean[12][8]);
-			spriteMap.put(SpriteType.BombShape, new boolean[4][6]);
-			spriteMap.put(SpriteType.InvincibleShape, new boolean[5][5]);
-			spriteMap.put(SpriteType.SpeedUpShape, new boolean[5][4]);
-			spriteMap.put(SpriteType.AuxiliaryShape, new boolean[5][4]);
-
-			fileManager.loadSprite(spriteMap);
-
-			fileManager.changeSprite(spriteMap,SpriteType.Bullet,0);
-			fileManager.changeSprite(spriteMap,SpriteType.Ship,0);
-			fileManager.changeSprite(spriteMap,SpriteType.Ship2,0);
-			logger.info("Finished loading the sprites.");
-
-			// Font loading.
-			fontRegular = fileManager.loadFont(14f);
-			fontBig = fileManager.loadFont(24f);
+			Font font = AssetManager.getInstance().getFont().join();
+			fontRegular = font.deriveFont(14f);
+			fontBig = font.deriveFont(24f);
 			logger.info("Finished loading the fonts.");
-
-		} catch (IOException e) {
-			logger.warning("Loading failed.");
-		} catch (FontFormatException e) {
-			logger.warning("Font formatting failed.");
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof FontFormatException)
+				logger.warning("Font formatting failed.");
+			else
+				logger.warning("Loading failed.");
 		}
 	}
 
+	/**
+	 * Builds the sprite patterns, all unlit, in the order they are stored in
+	 * the graphics file.
+	 *
+	 * @return Sprite types mapped to empty patterns of their size.
+	 */
+	static Map<SpriteType, PackedSprite> newSpriteMap() {
+		Map<SpriteType, PackedSprite> sprites =
+				new LinkedHashMap<SpriteType, PackedSprite>();
+
+		sprites.put(SpriteType.Ship, new PackedSprite(13, 8));
+		sprites.put(SpriteType.Ship2, new PackedSprite(13, 8));
+		sprites.put(SpriteType.ShipDestroyed, new PackedSprite(13, 8));
+		sprites.put(SpriteType.Bullet, new PackedSprite(3, 5));
+		sprites.put(SpriteType.EnemyBullet, new PackedSprite(3, 5));
+		sprites.put(SpriteType.EnemyShipA1, new PackedSprite(12, 8));
+		sprites.put(SpriteType.EnemyShipA2, new PackedSprite(12, 8));
+		sprites.put(SpriteType.EnemyShipB1, new PackedSprite(12, 8));
+		sprites.put(SpriteType.EnemyShipB2, new PackedSprite(12, 8));
+		sprites.put(SpriteType.EnemyShipC1, new PackedSprite(12, 8));
+		sprites.put(SpriteType.EnemyShipC2, new PackedSprite(12, 8));
+		sprites.put(SpriteType.EnemyShipSpecial, new PackedSprite(16, 7));
+		sprites.put(SpriteType.Explosion, new PackedSprite(13, 7));
+		sprites.put(SpriteType.Item, new PackedSprite(3, 3));
+		sprites.put(SpriteType.Life, new PackedSprite(7, 7));
+		sprites.put(SpriteType.AuxiliaryShips, new PackedSprite(12, 8));
+		sprites.put(SpriteType.BombShape, new PackedSprite(4, 6));
+		sprites.put(SpriteType.InvincibleShape, new PackedSprite(5, 5));
+		sprites.put(SpriteType.SpeedUpShape, new PackedSprite(5, 4));
+		sprites.put(SpriteType.AuxiliaryShape, new PackedSprite(5, 4));
+		return sprites;
+	}
+
+	/**
+	 * Getter for the sprite patterns, waiting for them the first time if
+	 * they are still being loaded.
+	 *
+	 * @return Sprite types mapped to their patterns.
+	 */
+	private static Map<SpriteType, PackedSprite> getSpriteMap() {
+		if (spriteMap == null)
+			spriteMap = AssetManager.getInstance().getSprites().join();
+		return spriteMap;
+	}
+
+	/**
+	 * Getter for the pixels of a sprite, as drawn and as tested for
+	 * collisions.
+	 *
+	 * @param spriteType
+	 *            Sprite to get.
+	 * @return Pixels of the sprite.
+	 */
+	public PackedSprite getSprite(final SpriteType spriteType) {
+		return getSpriteMap().get(spriteType);
+	}
+
 	/**
 	 * Returns shared instance of DrawManager.
 	 *
@@ -180,25 +260,63 @@ public final class DrawManager {
 	}
 
 	/**
-	 * First part of the drawing process. Initialize buffers, draws the
-	 * background and prepares the images.
+	 * First part of the drawing process. Prepares the back buffer, created
+	 * once and reused on every frame, and draws the background.
 	 *
 	 * @param screen
 	 *            Screen to draw in.
 	 */
 	public void initDrawing(final Screen screen) {
-		backBuffer = new BufferedImage(screen.getWidth(), screen.getHeight() + frame.getBottomHudHeight(),
-				BufferedImage.TYPE_INT_RGB);
+		drawingStart = FrameProfiler.start();
+		int width = screen.getWidth();
+		int height = screen.getHeight() + frame.getBottomHudHeight();
 
-		graphics = frame.getGraphics();
-		backBufferGraphics = backBuffer.getGraphics();
+		if (backBuffer == null || backBuffer.getWidth() != width
+				|| backBuffer.getHeight() != height) {
+			setBackBuffer(createImage(width, height));
+		}
 
+		backBufferGraphics.setFont(defaultFont);
 		backBufferGraphics.setColor(Color.BLACK);
-		backBufferGraphics
-				.fillRect(0, 0, screen.getWidth(), screen.getHeight() + frame.getBottomHudHeight());
+		backBufferGraphics.fillRect(0, 0, width, height);
+	}
 
-		fontRegularMetrics = backBufferGraphics.getFontMetrics(fontRegular);
-		fontBigMetrics = backBufferGraphics.getFontMetrics(fontBig);
+	/**
+	 * Creates an opaque image in the format of the frame, to draw into.
+	 *
+	 * @param width
+	 *            Image width.
+	 * @param height
+	 *            Image height.
+	 * @return New image.
+	 */
+	private static BufferedImage createImage(final int width,
+			final int height) {
+		GraphicsConfiguration configuration = frame == null ? null
+				: frame.getGraphicsConfiguration();
+		if (configuration != null)
+			return configuration.createCompatibleImage(width, height);
+		return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+	}
+
+	/**
+	 * Creates a transparent image in the format of the frame, to draw a
+	 * layer into that is later drawn over the rest.
+	 *
+	 * @param width
+	 *            Image width.
+	 * @param height
+	 *            Image height.
+	 * @return New image.
+	 */
+	private static BufferedImage createLayer(final int width,
+			final int height) {
+		GraphicsConfiguration configuration = frame == null ? null
+				: frame.getGraphicsConfiguration();
+		if (configuration != null)
+			return configuration.createCompatibleImage(width, height,
+					Transparency.TRANSLUCENT);
+		return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
 	}
 
 	/**
@@ -206,17 +324,50 @@ public final class DrawManager {
 	 *
 	 */
 	public void initDrawing(final Screen screen, BufferedImage backBuffer) {
-		graphics = frame.getGraphics();
-		backBufferGraphics = backBuffer.getGraphics();
+		setBackBuffer(backBuffer);
 
 		backBufferGraphics.setColor(Color.BLACK);
 		backBufferGraphics
 				.fillRect(0, 0, screen.getWidth(), screen.getHeight() + frame.getBottomHudHeight());
+	}
+
+	/**
+	 * Replaces the back buffer, along with its graphics context.
+	 *
+	 * @param image
+	 *            New back buffer.
+	 */
+	void setBackBuffer(final BufferedImage image) {
+		if (backBufferGraphics != null)
+			backBufferGraphics.dispose();
+		backBuffer = image;
+		backBufferGraphics = backBuffer.getGraphics();
+		defaultFont = backBufferGraphics.getFont();
 
 		fontRegularMetrics = backBufferGraphics.getFontMetrics(fontRegular);
 		fontBigMetrics = backBufferGraphics.getFontMetrics(fontBig);
 	}
 
+	/**
+	 * Getter for the refresh rate of the display the game is shown on.
+	 *
+	 * @param fallback
+	 *            Rate returned when the display doesn't report one.
+	 * @return Refresh rate of the display, in frames per second.
+	 */
+	public int getRefreshRate(final int fallback) {
+		if (frame == null)
+			return fallback;
+		GraphicsConfiguration configuration = frame.getGraphicsConfiguration();
+		if (configuration == null)
+			return fallback;
+		int refreshRate = configuration.getDevice().getDisplayMode()
+				.getRefreshRate();
+		if (refreshRate == DisplayMode.REFRESH_RATE_UNKNOWN)
+			return fallback;
+		return refreshRate;
+	}
+
 	/**
 	 * Draws the completed drawing on screen.
 	 *
@@ -224,8 +375,54 @@ public final class DrawManager {
 	 *            Screen to draw on.
 	 */
 	public void completeDrawing(final Screen screen) {
-		graphics.drawImage(backBuffer, frame.getInsets().left,
-				frame.getInsets().top, frame);
+		if (FrameProfiler.isOverlayVisible())
+			drawProfilerOverlay();
+		frame.present(backBuffer);
+		FrameProfiler.end(FrameProfiler.Phase.RENDER, drawingStart);
+		FrameProfiler.frameDrawn();
+	}
+
+	/**
+	 * Shows the last completed drawing again, for screens that only draw
+	 * when something changed but still need the window repainted after it
+	 * was covered or restored.
+	 */
+	public void presentLastFrame() {
+		if (frame != null && backBuffer != null)
+			frame.present(backBuffer);
+	}
+
+	/**
+	 * Draws the frame rate, the time taken by each phase of the frame and
+	 * the number of entities on screen over the top left corner.
+	 */
+	private void drawProfilerOverlay() {
+		FrameProfiler.Phase[] phases = FrameProfiler.Phase.values();
+		int lineHeight = 12;
+		backBufferGraphics.setFont(defaultFont);
+		backBufferGraphics.setColor(OVERLAY_BACKGROUND);
+		backBufferGraphics.fillRect(0, 0, 250, (phases.length + 3) * lineHeight + 6);
+
+		backBufferGraphics.setColor(Color.GREEN);
+		int y = lineHeight;
+		backBufferGraphics.drawString("FPS " + FrameProfiler.getFps()
+				+ "   ms: p50 / p99 / max", 4, y);
+		for (FrameProfiler.Phase phase : phases) {
+			y += lineHeight;
+			backBufferGraphics.drawString(String.format(
+					"%-10s %6.2f %6.2f %6.2f", phase,
+					FrameProfiler.getP50(phase) / 1e6,
+					FrameProfiler.getP99(phase) / 1e6,
+					FrameProfiler.getMax(phase) / 1e6), 4, y);
+		}
+		y += lineHeight;
+		backBufferGraphics.drawString("Bullets "
+				+ FrameProfiler.getCount(FrameProfiler.Counter.BULLETS) + "/"
+				+ FrameProfiler.getCount(FrameProfiler.Counter.BULLET_CAPACITY)
+				+ "  Enemies "
+				+ FrameProfiler.getCount(FrameProfiler.Counter.ENEMIES)
+				+ "  Items "
+				+ FrameProfiler.getCount(FrameProfiler.Counter.ITEMS), 4, y);
 	}
 
 	/**
@@ -240,28 +437,145 @@ public final class DrawManager {
 	 */
 	public void drawEntity(final Entity entity, final int positionX,
 						   final int positionY) {
-		boolean[][] image = spriteMap.get(entity.getSpriteType());
+		backBufferGraphics.drawImage(getSpriteImage(entity.getSpriteType(),
+				entity.getColor()), positionX, positionY, null);
+	}
 
-		backBufferGraphics.setColor(entity.getColor());
-		for (int i = 0; i < image.length; i++)
-			for (int j = 0; j < image[i].length; j++)
-				if (image[i][j])
-					backBufferGraphics.drawRect(positionX + i * 2, positionY
-							+ j * 2, 1, 1);
+	/**
+	 * Draws a sprite that isn't backed by an entity.
+	 *
+	 * @param spriteType
+	 *            Sprite to draw.
+	 * @param color
+	 *            Color to draw it in.
+	 * @param positionX
+	 *            Coordinates for the left side of the image.
+	 * @param positionY
+	 *            Coordinates for the upper side of the image.
+	 */
+	public void drawSprite(final SpriteType spriteType, final Color color,
+			final int positionX, final int positionY) {
+		backBufferGraphics.drawImage(getSpriteImage(spriteType, color),
+				positionX, positionY, null);
 	}
+
+	/**
+	 * Erases an entity, drawing its image in the background color.
+	 *
+	 * @param entity
+	 *            Entity to be erased.
+	 * @param positionX
+	 *            Coordinates for the left side of the image.
+	 * @param positionY
+	 *            Coordinates for the upper side of the image.
+	 */
 	public void clearEntity(final Entity entity, final int positionX, final int positionY) {
-		boolean[][] image = spriteMap.get(entity.getSpriteType());
+		backBufferGraphics.drawImage(getSpriteImage(entity.getSpriteType(),
+				Color.BLACK), positionX, positionY, null);
+	}
+
+	/**
+	 * Returns the rasterized image of a sprite in a given color, creating it
+	 * the first time that pair is requested.
+	 *
+	 * @param spriteType
+	 *            Sprite to rasterize.
+	 * @param color
+	 *            Color of the lit pixels.
+	 * @return Image of the sprite, at screen scale.
+	 */
+	private static BufferedImage getSpriteImage(final SpriteType spriteType,
+			final Color color) {
+		Map<Color, BufferedImage> images = spriteImageCache.get(spriteType);
+		if (images == null) {
+			images = new HashMap<Color, BufferedImage>();
+			spriteImageCache.put(spriteType, images);
+		}
+		BufferedImage image = images.get(color);
+		if (image == null) {
+			image = rasterizeSprite(getSpriteMap().get(spriteType), color);
+			images.put(color, image);
+		}
+		return image;
+	}
 
-		Color clearColor = Color.black;
+	/**
+	 * Turns a sprite into an image, each sprite pixel becoming a 2x2 block.
+	 *
+	 * @param sprite
+	 *            Sprite pixels, by column and row.
+	 * @param color
+	 *            Color of the lit pixels.
+	 * @return New image, transparent where the sprite is not lit.
+	 */
+	private static BufferedImage rasterizeSprite(final PackedSprite sprite,
+			final Color color) {
+		int width = sprite.getWidth() * PackedSprite.SCALE;
+		int height = sprite.getHeight() * PackedSprite.SCALE;
+		BufferedImage image;
+		if (GraphicsEnvironment.isHeadless())
+			image = new BufferedImage(Math.max(width, 1), Math.max(height, 1),
+					BufferedImage.TYPE_INT_ARGB);
+		else
+			image = GraphicsEnvironment.getLocalGraphicsEnvironment()
+					.getDefaultScreenDevice().getDefaultConfiguration()
+					.createCompatibleImage(Math.max(width, 1),
+							Math.max(height, 1), Transparency.BITMASK);
+
+		int rgb = color.getRGB();
+		for (int j = 0; j < sprite.getHeight(); j++)
+			for (long row = sprite.getRow(j); row != 0; row &= row - 1) {
+				int i = Long.numberOfTrailingZeros(row);
+				image.setRGB(i * 2, j * 2, rgb);
+				image.setRGB(i * 2 + 1, j * 2, rgb);
+				image.setRGB(i * 2, j * 2 + 1, rgb);
+				image.setRGB(i * 2 + 1, j * 2 + 1, rgb);
+			}
+		return image;
+	}
 
-		backBufferGraphics.setColor(clearColor);
-		for (int i = 0; i < image.length; i++) {
-			for (int j = 0; j < image[i].length; j++) {
-				if (image[i][j]) {
-					backBufferGraphics.fillRect(positionX + i * 2, positionY + j * 2, 1, 1);
-				}
+	/**
+	 * Discards the rasterized images of a sprite, so they are rebuilt the
+	 * next time it is drawn. Called whenever the sprite pixels change.
+	 *
+	 * @param spriteType
+	 *            Sprite whose images are outdated.
+	 */
+	static void invalidateSpriteImages(final SpriteType spriteType) {
+		spriteImageCache.remove(spriteType);
+		itemIcons.clear();
+		topHudLayer.state = null;
+		bottomHudLayer.state = null;
+	}
+
+	/**
+	 * Returns the inventory icon of a kind of item, taken from the sprite
+	 * image cache the first time it is requested.
+	 *
+	 * @param itemType
+	 *            Kind of item.
+	 * @return Image of the icon, at screen scale.
+	 */
+	private static BufferedImage getItemIcon(final Item.ItemType itemType) {
+		BufferedImage icon = itemIcons.get(itemType);
+		if (icon == null) {
+			switch (itemType) {
+			case BombItem:
+				icon = getSpriteImage(SpriteType.BombShape, Color.RED);
+				break;
+			case InvincibleItem:
+				icon = getSpriteImage(SpriteType.InvincibleShape, Color.YELLOW);
+				break;
+			case SpeedUpItem:
+				icon = getSpriteImage(SpriteType.SpeedUpShape, Color.ORANGE);
+				break;
+			default:
+				icon = getSpriteImage(SpriteType.AuxiliaryShape, Color.GREEN);
+				break;
 			}
+			itemIcons.put(itemType, icon);
 		}
+		return icon;
 	}
 
 
@@ -308,6 +622,12 @@ public final class DrawManager {
 	public void drawScore(final Screen screen, final int score) {
 		backBufferGraphics.setFont(fontRegular);
 		backBufferGraphics.setColor(Color.WHITE);
+		GlyphStrip glyphs = getHudGlyphs();
+		if (glyphs != null) {
+			glyphs.drawNumber(backBufferGraphics, score, 4,
+					screen.getWidth() - 60, 25);
+			return;
+		}
 		String scoreString = String.format("%04d", score);
 		backBufferGraphics.drawString(scoreString, screen.getWidth() - 60, 25);
 	}
@@ -323,6 +643,12 @@ public final class DrawManager {
 	public void drawHighScore(final Screen screen, final int highScore) {
 		backBufferGraphics.setFont(fontRegular);
 		backBufferGraphics.setColor(Color.WHITE);
+		GlyphStrip glyphs = getHudGlyphs();
+		if (glyphs != null) {
+			glyphs.drawNumber(backBufferGraphics, highScore, 4,
+					screen.getWidth() - 120, 25);
+			return;
+		}
 		String scoreString = String.format("%04d", highScore);
 		backBufferGraphics.drawString(scoreString, screen.getWidth() - 120, 25);
 	}
@@ -338,10 +664,9 @@ public final class DrawManager {
 	public void drawLives(final Screen screen, final int lives) {
 		backBufferGraphics.setFont(fontRegular);
 		backBufferGraphics.setColor(Color.WHITE);
-		backBufferGraphics.drawString(Integer.toString(lives), 20, 25);
-		Ship dummyShip = new Ship(0, 0, Color.GREEN, SpriteType.Life, false);
+		drawHudNumber(lives, 20, 25);
 		for (int i = 0; i < lives; i++)
-			drawEntity(dummyShip, 40 + 30 * i, 13);
+			drawSprite(SpriteType.Life, Color.GREEN, 40 + 30 * i, 13);
 	}
 
 
@@ -356,10 +681,9 @@ public final class DrawManager {
 	public void drawLives2(final Screen screen, final int lives2) {
 		backBufferGraphics.setFont(fontRegular);
 		backBufferGraphics.setColor(Color.WHITE);
-		backBufferGraphics.drawString(Integer.toString(lives2), 160, 25);
-		Ship dummyShip = new Ship(0, 0, Color.RED, SpriteType.Life, false);
+		drawHudNumber(lives2, 160, 25);
 		for (int i = 0; i < lives2; i++)
-			drawEntity(dummyShip, 180 + 30 * i, 13);
+			drawSprite(SpriteType.Life, Color.RED, 180 + 30 * i, 13);
 	}
 
 
@@ -374,57 +698,150 @@ public final class DrawManager {
 	 *            Screen to draw on.
 	 */
 	public void drawItems(final Screen screen, Item[] ItemQ, final int inventory) {
-		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.setColor(Color.WHITE);
-    
-		backBufferGraphics.drawString(Integer.toString(inventory), 205, screen.getHeight() + 25);
-
-		Ship bombItem = new Ship(0, 0, Color.red, SpriteType.BombShape, false);
-		Ship invincibleItem = new Ship(0, 0, Color.yellow, SpriteType.InvincibleShape, false);
-		Ship SpeedUpItem = new Ship(0, 0, Color.orange, SpriteType.SpeedUpShape, false);
-		Ship SubPlaneItem = new Ship(0, 0, Color.green, SpriteType.AuxiliaryShape, false);
-
-		for (int i = 0; i < inventory; i++) {
-			if (ItemQ[i].getItemType() == Item.ItemType.BombItem) {
-				drawEntity(bombItem, 100 + 35 * i, screen.getHeight() + 15);
-			}
-			else if (ItemQ[i].getItemType() == Item.ItemType.InvincibleItem) {
-				drawEntity(invincibleItem, 100 + 35 * i, screen.getHeight() + 15);
-			}
-			else if (ItemQ[i].getItemType() == Item.ItemType.SpeedUpItem) {
-				drawEntity(SpeedUpItem, 100 + 35 * i, screen.getHeight() + 15);
-			}
-			else if (ItemQ[i].getItemType() == Item.ItemType.SubPlaneItem) {
-				drawEntity(SubPlaneItem, 100 + 35 * i, screen.getHeight() + 15);
-			}
-		}
+		drawInventory(screen, ItemQ, inventory, 100, 205);
 	}
 
+	/**
+	 * Draws number of items currently in player2's inventory on screen.
+	 *
+	 * @param ItemQ
+	 * 		  	ItemQueue
+	 * @param inventory
+	 * 			Number of items in inventory
+	 * @param screen
+	 *            Screen to draw on.
+	 */
 	public void drawItems2(final Screen screen, Item[] ItemQ, final int inventory) {
+		drawInventory(screen, ItemQ, inventory, 310, 415);
+	}
+
+	/**
+	 * Draws the icons of the items in an inventory, followed by their number.
+	 *
+	 * @param screen
+	 *            Screen to draw on.
+	 * @param items
+	 *            Items in the inventory, in order.
+	 * @param inventory
+	 *            Number of items in inventory.
+	 * @param positionX
+	 *            Coordinates for the left side of the first icon.
+	 * @param countX
+	 *            Coordinates for the left side of the number.
+	 */
+	private void drawInventory(final Screen screen, final Item[] items,
+			final int inventory, final int positionX, final int countX) {
 		backBufferGraphics.setFont(fontRegular);
 		backBufferGraphics.setColor(Color.WHITE);
-		backBufferGraphics.drawString(Integer.toString(inventory), 415, screen.getHeight() + 25);
+		drawHudNumber(inventory, countX, screen.getHeight() + 25);
 
-		Ship bombItem = new Ship(0, 0, Color.red, SpriteType.BombShape, false);
-		Ship invincibleItem = new Ship(0, 0, Color.yellow, SpriteType.InvincibleShape, false);
-		Ship SpeedUpItem = new Ship(0, 0, Color.orange, SpriteType.SpeedUpShape, false);
-		Ship SubPlaneItem = new Ship(0, 0, Color.green, SpriteType.AuxiliaryShape, false);
-		for (int i = 0; i < inventory; i++) {
-			if (ItemQ[i].getItemType() == Item.ItemType.BombItem) {
+		for (int i = 0; i < inventory; i++)
+			backBufferGraphics.drawImage(getItemIcon(items[i].getItemType()),
+					positionX + 35 * i, screen.getHeight() + 15, null);
+	}
 
-				drawEntity(bombItem, 310 + 35 * i, screen.getHeight() + 15);
-			}
-			else if (ItemQ[i].getItemType() == Item.ItemType.InvincibleItem) {
-				drawEntity(invincibleItem, 310 + 35 * i, screen.getHeight() + 15);
-			}
-			else if (ItemQ[i].getItemType() == Item.ItemType.SpeedUpItem) {
-				drawEntity(SpeedUpItem, 310 + 35 * i, screen.getHeight() + 15);
-			}
-			else if (ItemQ[i].getItemType() == Item.ItemType.SubPlaneItem) {
-				drawEntity(SubPlaneItem, 310 + 35 * i, screen.getHeight() + 15);
+	/**
+	 * Starts drawing the top HUD, see beginBottomHud.
+	 *
+	 * @param screen
+	 *            Screen to draw on.
+	 * @param state
+	 *            Every value the top HUD shows.
+	 * @return True if the top HUD has to be drawn again.
+	 */
+	public boolean beginTopHud(final Screen screen, final int[] state) {
+		return beginHud(topHudLayer, screen.getWidth(), 0, TOP_HUD_HEIGHT,
+				state);
+	}
 
-			}
+	/**
+	 * Starts drawing the bottom HUD. When it shows the same values it was
+	 * last drawn with, its layer is drawn as it is and nothing else needs
+	 * to be. Otherwise the HUD drawing methods draw into the layer until
+	 * endHud is called.
+	 *
+	 * @param screen
+	 *            Screen to draw on.
+	 * @param state
+	 *            Every value the bottom HUD shows.
+	 * @return True if the bottom HUD has to be drawn again.
+	 */
+	public boolean beginBottomHud(final Screen screen, final int[] state) {
+		return beginHud(bottomHudLayer, screen.getWidth(), screen.getHeight(),
+				frame.getBottomHudHeight(), state);
+	}
+
+	/**
+	 * Ends drawing a HUD into its layer, and draws the layer.
+	 */
+	public void endHud() {
+		if (currentHudLayer == null)
+			return;
+		backBufferGraphics.dispose();
+		backBufferGraphics = layerParentGraphics;
+		layerParentGraphics = null;
+		backBufferGraphics.drawImage(currentHudLayer.image, 0,
+				currentHudLayer.positionY, null);
+		currentHudLayer = null;
+	}
+
+	/**
+	 * Draws a HUD layer if it is up to date, or starts drawing it again.
+	 *
+	 * @param layer
+	 *            Layer to draw.
+	 * @param width
+	 *            Width of the layer.
+	 * @param positionY
+	 *            Coordinates for the upper side of the layer.
+	 * @param height
+	 *            Height of the layer.
+	 * @param state
+	 *            Every value the layer shows.
+	 * @return True if the layer has to be drawn again.
+	 */
+	private static boolean beginHud(final HudLayer layer, final int width,
+			final int positionY, final int height, final int[] state) {
+		boolean sized = layer.image != null && layer.image.getWidth() == width
+				&& layer.image.getHeight() == height;
+		if (sized && layer.positionY == positionY
+				&& Arrays.equals(state, layer.state)) {
+			backBufferGraphics.drawImage(layer.image, 0, positionY, null);
+			return false;
 		}
+		if (!sized)
+			layer.image = createLayer(width, height);
+		if (layer.state == null || layer.state.length != state.length)
+			layer.state = new int[state.length];
+		System.arraycopy(state, 0, layer.state, 0, state.length);
+		layer.positionY = positionY;
+
+		Graphics2D layerGraphics = (Graphics2D) layer.image.getGraphics();
+		Composite composite = layerGraphics.getComposite();
+		layerGraphics.setComposite(AlphaComposite.Clear);
+		layerGraphics.fillRect(0, 0, width, height);
+		layerGraphics.setComposite(composite);
+		// Same coordinates as when drawing on the back buffer.
+		layerGraphics.translate(0, -positionY);
+		layerParentGraphics = backBufferGraphics;
+		backBufferGraphics = layerGraphics;
+		currentHudLayer = layer;
+		return true;
+	}
+
+	/**
+	 * Getter for the HUD glyphs, used while drawing a HUD layer so numbers
+	 * don't have to be made into strings and laid out.
+	 *
+	 * @return HUD glyphs, or null when drawing straight on the back buffer.
+	 */
+	private static GlyphStrip getHudGlyphs() {
+		if (currentHudLayer == null)
+			return null;
+		if (hudGlyphs == null)
+			hudGlyphs = new GlyphStrip(fontRegular, Color.WHITE,
+					HUD_CHARACTERS, AMMO_LABEL);
+		return hudGlyphs;
 	}
 
 
@@ -439,14 +856,60 @@ public final class DrawManager {
 	 *            Screen to draw on.
 	 */
 	public void drawAmmo(final Screen screen, final int magazine, final int bullet_count) {
-		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.setColor(Color.WHITE);
-		backBufferGraphics.drawString("BUL: " + Integer.toString(10-bullet_count) + "/" + Integer.toString(magazine), 10, screen.getHeight() + 25);
+		drawAmmoCount(10 - bullet_count, magazine, 10, screen.getHeight() + 25);
 	}
 	public void drawAmmo2(final Screen screen, final int magazine2, final int bullet_count2) {
+		drawAmmoCount(10 - bullet_count2, magazine2, 224, screen.getHeight() + 25);
+	}
+
+	/**
+	 * Draws the bullets left in the magazine and the magazines left.
+	 *
+	 * @param bullets
+	 *            Bullets left in the magazine.
+	 * @param magazine
+	 *            Number of remaining magazines.
+	 * @param positionX
+	 *            Coordinates for the left side of the text.
+	 * @param positionY
+	 *            Coordinates for the baseline of the text.
+	 */
+	private void drawAmmoCount(final int bullets, final int magazine,
+			final int positionX, final int positionY) {
 		backBufferGraphics.setFont(fontRegular);
 		backBufferGraphics.setColor(Color.WHITE);
-		backBufferGraphics.drawString("BUL: " + Integer.toString(10-bullet_count2) + "/" + Integer.toString(magazine2), 224, screen.getHeight() + 25);
+		GlyphStrip glyphs = getHudGlyphs();
+		if (glyphs == null) {
+			backBufferGraphics.drawString("BUL: " + Integer.toString(bullets)
+					+ "/" + Integer.toString(magazine), positionX, positionY);
+			return;
+		}
+		int x = glyphs.drawLabel(backBufferGraphics, 0, positionX, positionY);
+		x = glyphs.drawNumber(backBufferGraphics, bullets, 1, x, positionY);
+		x = glyphs.drawCharacter(backBufferGraphics, '/', x, positionY);
+		glyphs.drawNumber(backBufferGraphics, magazine, 1, x, positionY);
+	}
+
+	/**
+	 * Draws a number in the regular font, from the HUD glyphs when drawing
+	 * a HUD layer.
+	 *
+	 * @param number
+	 *            Number to draw.
+	 * @param positionX
+	 *            Coordinates for the left side of the number.
+	 * @param positionY
+	 *            Coordinates for the baseline of the number.
+	 */
+	private void drawHudNumber(final int number, final int positionX,
+			final int positionY) {
+		GlyphStrip glyphs = getHudGlyphs();
+		if (glyphs != null)
+			glyphs.drawNumber(backBufferGraphics, number, 1, positionX,
+					positionY);
+		else
+			backBufferGraphics.drawString(Integer.toString(number), positionX,
+					positionY);
 	}
 
 	/**
@@ -858,47 +1321,32 @@ public final class DrawManager {
 	}
 
 	/**
-	 * Draws high score screen title and instructions.
+	 * Draws the skin selection menu. Everything but the selection
+	 * rectangles, skin previews included, is drawn once into a layer the
+	 * first time, and copied from it afterwards.
 	 *
 	 * @param screen
 	 *            Screen to draw on.
+	 * @param skincode1p
+	 *            Skin selected by the first player.
+	 * @param skincode2p
+	 *            Skin selected by the second player.
 	 */
 	public void drawSkinSelectionMenu(final Screen screen, final int skincode1p,final int skincode2p){
-		String SkinString = "Select Your Ship Design!";
-		String skin1p = "1P";
-		String skin2p = "2P";
-		Ship[] shipskin = new Ship[6];
-		Ship[] shipskin2 = new Ship[6];
-
+		if (skinSelectionLayer == null
+				|| skinSelectionLayer.getWidth() != backBuffer.getWidth()
+				|| skinSelectionLayer.getHeight() != backBuffer.getHeight()) {
+			drawSkinSelectionLayer(screen);
+			skinSelectionLayer = createImage(backBuffer.getWidth(),
+					backBuffer.getHeight());
+			Graphics layerGraphics = skinSelectionLayer.getGraphics();
+			layerGraphics.drawImage(backBuffer, 0, 0, null);
+			layerGraphics.dispose();
+		} else {
+			backBufferGraphics.drawImage(skinSelectionLayer, 0, 0, null);
+		}
 
 		if (SelectScreen.gameMode == 2) {
-			backBufferGraphics.setColor(Color.white);
-			backBufferGraphics.drawLine(screen.getWidth()/2, screen.getHeight()/5, screen.getWidth()/2, 450);
-			backBufferGraphics.setFont(fontBig);
-			backBufferGraphics.setColor(Color.WHITE);
-			backBufferGraphics.drawString(skin1p, screen.getWidth() / 4 - fontRegularMetrics.stringWidth(skin1p) / 2 - 1, 130);
-			backBufferGraphics.drawString(skin2p, 3 * screen.getWidth() / 4 - fontRegularMetrics.stringWidth(skin1p) / 2 - 2, 130);
-			try {
-				fileManager.changeSprite(spriteMap, SpriteType.Ship, 0);
-			} catch (IOException e) {
-				logger.warning("Loading failed.");
-			}
-			for (int i = 0; i < 6; i++) {
-				Ship dummyShip = new Ship(0, 0, Color.GREEN, SpriteType.Ship, false);
-				Ship dummyShip2 = new Ship(0, 0, Color.RED, SpriteType.Ship, true);
-				shipskin[i] = dummyShip;
-				shipskin2[i] = dummyShip2;
-				// 예: ships[i] = new Ship(i * 50, 100, Color.GREEN, SpriteType.Ship, spriteData, false);
-				drawEntity(shipskin[i], screen.getWidth() / 4 - 13, 172 + 50*i);
-				drawEntity(shipskin2[i], 3*screen.getWidth() / 4 - 13, 172 + 50*i);
-				if(i !=5) {
-					try {
-						fileManager.changeSprite(spriteMap, SpriteType.Ship, i+1);
-					} catch (IOException e) {
-						logger.warning("Loading failed.");
-					}
-				}
-			}
 			for (int i = 0; i <= 5; i++) { //draw rectangle around current selected ship
 				backBufferGraphics.setColor(Color.WHITE);
 				if (skincode1p == i){backBufferGraphics.setColor(Color.GREEN);}
@@ -908,55 +1356,110 @@ public final class DrawManager {
 				if (skincode2p == i){backBufferGraphics.setColor(Color.GREEN);}
 				backBufferGraphics.drawRect(3 * screen.getWidth() / 4 - 15, 165 + 50*i, 30, 30);
 			}
-
-			try {
-				fileManager.changeSprite(spriteMap, SpriteType.Ship, skincode1p);
-			} catch (IOException e) {
-				logger.warning("Loading failed.");
-			}
-			try {
-				fileManager.changeSprite(spriteMap, SpriteType.Ship2, skincode2p);
-			} catch (IOException e) {
-				logger.warning("Loading failed.");
-			}
-
 		} else {
-			try {
-				fileManager.changeSprite(spriteMap, SpriteType.Ship, 0);
-			} catch (IOException e) {
-				logger.warning("Loading failed.");
-			}
-			for (int i = 0; i < 6; i++) {
-				Ship dummyShip = new Ship(0, 0, Color.GREEN, SpriteType.Ship, false);
-				shipskin[i] = dummyShip;
-				// 예: ships[i] = new Ship(i * 50, 100, Color.GREEN, SpriteType.Ship, spriteData, false);
-				drawEntity(shipskin[i], screen.getWidth() / 2 - 13, 172 + 50*i);
-				if(i !=5) {
-					try {
-						fileManager.changeSprite(spriteMap, SpriteType.Ship, i+1);
-					} catch (IOException e) {
-						logger.warning("Loading failed.");
-					}
-				}
-			}
 			for (int i = 0; i <= 5; i++) { //draw rectangle around current selected ship
 				backBufferGraphics.setColor(Color.WHITE);
 				if (skincode1p == i) {backBufferGraphics.setColor(Color.GREEN); }
 
 				backBufferGraphics.drawRect(screen.getWidth() / 2 - 15, 165 + 50 * i, 30, 30);
 			}
+		}
+	}
+
+	/**
+	 * Drops the cached skin selection menu, so it is drawn again with the
+	 * current game mode. Called when the skin selection screen is entered.
+	 */
+	public void resetSkinSelectionMenu() {
+		skinSelectionLayer = null;
+	}
+
+	/**
+	 * Draws the parts of the skin selection menu that don't change with
+	 * the selection: title, player labels and a preview of every skin.
+	 *
+	 * @param screen
+	 *            Screen to draw on.
+	 */
+	private void drawSkinSelectionLayer(final Screen screen) {
+		String SkinString = "Select Your Ship Design!";
+		String skin1p = "1P";
+		String skin2p = "2P";
+
+		if (SelectScreen.gameMode == 2) {
+			backBufferGraphics.setColor(Color.white);
+			backBufferGraphics.drawLine(screen.getWidth()/2, screen.getHeight()/5, screen.getWidth()/2, 450);
 			backBufferGraphics.setFont(fontBig);
 			backBufferGraphics.setColor(Color.WHITE);
-			backBufferGraphics.drawString(skin1p, screen.getWidth() / 2 - fontRegularMetrics.stringWidth(skin1p) / 2 - 1, 130);
-			try {
-				fileManager.changeSprite(spriteMap, SpriteType.Ship, skincode1p);
-			} catch (IOException e) {
-				logger.warning("Loading failed.");
+			backBufferGraphics.drawString(skin1p, screen.getWidth() / 4 - fontRegularMetrics.stringWidth(skin1p) / 2 - 1, 130);
+			backBufferGraphics.drawString(skin2p, 3 * screen.getWidth() / 4 - fontRegularMetrics.stringWidth(skin1p) / 2 - 2, 130);
+			for (int i = 0; i < 6; i++) {
+				drawSkinPreview(i, Color.GREEN, screen.getWidth() / 4 - 13, 172 + 50*i);
+				drawSkinPreview(i, Color.RED, 3*screen.getWidth() / 4 - 13, 172 + 50*i);
 			}
+		} else {
+			for (int i = 0; i < 6; i++)
+				drawSkinPreview(i, Color.GREEN, screen.getWidth() / 2 - 13, 172 + 50*i);
+			backBufferGraphics.setFont(fontBig);
+			backBufferGraphics.setColor(Color.WHITE);
+			backBufferGraphics.drawString(skin1p, screen.getWidth() / 2 - fontRegularMetrics.stringWidth(skin1p) / 2 - 1, 130);
 		}
-			backBufferGraphics.setColor(Color.GREEN);
-			drawCenteredBigString(screen, SkinString, screen.getHeight() / 8);
+		backBufferGraphics.setColor(Color.GREEN);
+		drawCenteredBigString(screen, SkinString, screen.getHeight() / 8);
+	}
+
+	/**
+	 * Draws a ship skin straight from the sprite sheet.
+	 *
+	 * @param skin
+	 *            Skin to draw.
+	 * @param color
+	 *            Color to draw it in.
+	 * @param positionX
+	 *            Coordinates for the left side of the image.
+	 * @param positionY
+	 *            Coordinates for the upper side of the image.
+	 */
+	private void drawSkinPreview(final int skin, final Color color,
+			final int positionX, final int positionY) {
+		try {
+			PackedSprite sprite = fileManager.getSkin(SpriteType.Ship, skin);
+			if (sprite != null)
+				backBufferGraphics.drawImage(rasterizeSprite(sprite, color),
+						positionX, positionY, null);
+		} catch (IOException e) {
+			logger.warning("Loading failed.");
 		}
+	}
+
+	/**
+	 * Changes a sprite to one of its skins.
+	 *
+	 * @param spriteType
+	 *            Sprite to change.
+	 * @param skin
+	 *            Skin to use.
+	 */
+	public void applySkin(final SpriteType spriteType, final int skin) {
+		try {
+			fileManager.changeSprite(getSpriteMap(), spriteType, skin);
+			appliedSkins.put(spriteType, skin);
+		} catch (IOException e) {
+			logger.warning("Loading failed.");
+		}
+	}
+
+	/**
+	 * Getter for the skin a sprite was last changed to.
+	 *
+	 * @param spriteType
+	 *            Sprite to check.
+	 * @return Skin applied, SpriteSheet.BASE for the default look.
+	 */
+	public int getAppliedSkin(final SpriteType spriteType) {
+		Integer skin = appliedSkins.get(spriteType);
+		return skin != null ? skin : SpriteSheet.BASE;
+	}
 
 	/**
 	 * Draws level selection screen.
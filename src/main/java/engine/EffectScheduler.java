@@ -0,0 +1,176 @@
+package engine;
+
+/**
+ * Runs timed effects, such as a speed up wearing off, on the game thread.
+ *
+ * Effects are kept in a hashed timing wheel that only turns when the game
+ * logic advances it, once per tick, so effects stop counting down while the
+ * game is paused and expire on the same tick when a level is replayed.
+ * Scheduling and cancelling take constant time, and each tick only looks at
+ * the effects hashed to its slot.
+ */
+public final class EffectScheduler {
+
+	/** Number of slots in the wheel, a power of two. */
+	private static final int WHEEL_SIZE = 64;
+	/** Mask turning a tick into a slot. */
+	private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+	/**
+	 * Effect waiting to run. Also the handle it can be cancelled with.
+	 */
+	public static final class Timer {
+		/** Action run when the effect expires. */
+		private Runnable action;
+		/** Tick the effect expires on. */
+		private long deadline;
+		/** Previous effect in the same slot. */
+		private Timer previous;
+		/** Next effect in the same slot. */
+		private Timer next;
+		/** Scheduler holding the effect, null once run or cancelled. */
+		private EffectScheduler owner;
+
+		/**
+		 * Constructor, only called by the scheduler.
+		 */
+		private Timer() {
+
+		}
+
+		/**
+		 * Checks if the effect is still waiting to run.
+		 *
+		 * @return True if the effect has neither run nor been cancelled.
+		 */
+		public boolean isPending() {
+			return this.owner != null;
+		}
+
+		/**
+		 * Stops the effect from running. Does nothing if it already ran.
+		 */
+		public void cancel() {
+			if (this.owner != null)
+				this.owner.unlink(this);
+		}
+	}
+
+	/** First effect of each slot. */
+	private final Timer[] wheel = new Timer[WHEEL_SIZE];
+	/** Game logic updates per second. */
+	private final int fps;
+	/** Ticks the wheel has turned. */
+	private long tick;
+	/** Effects waiting to run. */
+	private int size;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param fps
+	 *            Game logic updates per second, to turn times into ticks.
+	 */
+	public EffectScheduler(final int fps) {
+		this.fps = fps;
+	}
+
+	/**
+	 * Schedules an effect after an amount of game time.
+	 *
+	 * @param milliseconds
+	 *            Game time until the effect runs.
+	 * @param action
+	 *            Action to run, on the game thread.
+	 * @return Handle of the effect.
+	 */
+	public Timer schedule(final long milliseconds, final Runnable action) {
+		return scheduleTicks((milliseconds * this.fps + 999) / 1000, action);
+	}
+
+	/**
+	 * Schedules an effect after a number of ticks.
+	 *
+	 * @param ticks
+	 *            Ticks until the effect runs, at least one.
+	 * @param action
+	 *            Action to run, on the game thread.
+	 * @return Handle of the effect.
+	 */
+	public Timer scheduleTicks(final long ticks, final Runnable action) {
+		Timer timer = new Timer();
+		timer.action = action;
+		timer.deadline = this.tick + Math.max(1, ticks);
+		timer.owner = this;
+		int slot = (int) (timer.deadline & WHEEL_MASK);
+		timer.next = this.wheel[slot];
+		if (timer.next != null)
+			timer.next.previous = timer;
+		this.wheel[slot] = timer;
+		this.size++;
+		return timer;
+	}
+
+	/**
+	 * Turns the wheel one tick and runs the effects expiring on it. Effects
+	 * scheduled by those actions run on later ticks.
+	 */
+	public void advance() {
+		this.tick++;
+		// Take the expired effects out first, as actions may cancel others.
+		Timer due = null;
+		Timer timer = this.wheel[(int) (this.tick & WHEEL_MASK)];
+		while (timer != null) {
+			Timer next = timer.next;
+			if (timer.deadline == this.tick) {
+				unlink(timer);
+				timer.next = due;
+				due = timer;
+			}
+			timer = next;
+		}
+		while (due != null) {
+			Timer next = due.next;
+			due.next = null;
+			due.action.run();
+			due = next;
+		}
+	}
+
+	/**
+	 * Cancels every effect waiting to run.
+	 */
+	public void clear() {
+		for (int slot = 0; slot < WHEEL_SIZE; slot++)
+			while (this.wheel[slot] != null)
+				unlink(this.wheel[slot]);
+	}
+
+	/**
+	 * Getter for the number of effects waiting to run.
+	 *
+	 * @return Pending effects.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Removes an effect from its slot.
+	 *
+	 * @param timer
+	 *            Effect to remove.
+	 */
+	private void unlink(final Timer timer) {
+		if (timer.previous != null)
+			timer.previous.next = timer.next;
+		else
+			this.wheel[(int) (timer.deadline & WHEEL_MASK)] = timer.next;
+		if (timer.next != null)
+			timer.next.previous = timer.previous;
+		timer.previous = null;
+		timer.next = null;
+		timer.owner = null;
+		this.size--;
+	}
+}
@@ -19,7 +19,6 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -50,6 +49,18 @@ public final class FileManager {
      * Max number of high scores.
      */
     private static final int MAX_SCORES = 7;
+    /**
+     * Player accounts, opened on first use.
+     */
+    private AccountStore accountStore;
+    /**
+     * Current player, kept in memory and written in the background.
+     */
+    private PlayerCache playerCache;
+    /**
+     * Every sprite and skin, loaded on first use.
+     */
+    private SpriteSheet spriteSheet;
 
     /**
      * private constructor.
@@ -70,142 +81,78 @@ public final class FileManager {
     }
 
     /**
-     * Loads sprites from disk.
+     * Loads sprites from the sprite sheet.
      *
-     * @param spriteMap Mapping of sprite type and empty boolean matrix that will
+     * @param spriteMap Mapping of sprite type and empty sprite that will
      *                  contain the image.
      * @throws IOException In case of loading problems.
      */
-    public void loadSprite(Map<SpriteType, boolean[][]> spriteMap)
+    public void loadSprite(Map<SpriteType, PackedSprite> spriteMap)
             throws IOException {
-        InputStream inputStream = null;
-
-        try {
-            inputStream = DrawManager.class.getClassLoader()
-                    .getResourceAsStream("graphics");
-            char c;
-            // Sprite loading.
-            for (Map.Entry<SpriteType, boolean[][]> sprite : spriteMap
-                    .entrySet()) {
-                for (int i = 0; i < sprite.getValue().length; i++)
-                    for (int j = 0; j < sprite.getValue()[i].length; j++) {
-                        do
-                            c = (char) inputStream.read();
-                        while (c != '0' && c != '1');
-
-                        if (c == '1')
-                            sprite.getValue()[i][j] = true;
-                        else
-                            sprite.getValue()[i][j] = false;
-                    }
-                logger.fine("Sprite " + sprite.getKey() + " loaded.");
-            }
-            if (inputStream != null)
-                inputStream.close();
-        } finally {
-            if (inputStream != null)
-                inputStream.close();
+        SpriteSheet sheet = getSpriteSheet();
+        for (Map.Entry<SpriteType, PackedSprite> sprite : spriteMap
+                .entrySet()) {
+            if (!sheet.copy(sprite.getKey(), SpriteSheet.BASE, sprite.getValue()))
+                throw new IOException("Sprite " + sprite.getKey() + " missing.");
+            logger.fine("Sprite " + sprite.getKey() + " loaded.");
         }
     }
 
     /**
-     * Change sprites from disk.
+     * Change sprites to one of their skins in the sprite sheet. The sprite
+     * in the map is swapped for the one the sheet keeps for that skin,
+     * which must not be modified.
      *
-     * @param spriteMap,spriteType,graphicsNum Changing boolean matrix that will
+     * @param spriteMap,spriteType,graphicsNum Changing sprite that will
      *                                         change the image.
      *                                         graphicsNum is col_num(each graphics)
      * @throws IOException In case of changing problems.
      */
-    public void changeSprite(Map<SpriteType, boolean[][]> spriteMap, SpriteType spriteType, int graphicsNum)
+    public void changeSprite(Map<SpriteType, PackedSprite> spriteMap, SpriteType spriteType, int graphicsNum)
             throws IOException {
-        InputStream inputStream = checkSpriteType(spriteType);
-        try {
-            char c;
-            for (Map.Entry<SpriteType, boolean[][]> sprite : spriteMap
-                    .entrySet()) {
-                if (sprite.getKey() == spriteType) {
-                    for (int k = -1; k < graphicsNum; k++) {
-                        for (int i = 0; i < sprite.getValue().length; i++)
-                            for (int j = 0; j < sprite.getValue()[i].length; j++) {
-                                do
-                                    c = (char) inputStream.read();
-                                while (c != '0' && c != '1');
-
-                                if (c == '1')
-                                    sprite.getValue()[i][j] = true;
-                                else
-                                    sprite.getValue()[i][j] = false;
-                            }
-                    }
-                    logger.fine("Sprite " + spriteType + " changed.");
-                    break;
-                }
-            }
-            if (inputStream != null)
-                inputStream.close();
-        } finally {
-            if (inputStream != null)
-                inputStream.close();
+        PackedSprite skin = getSkin(spriteType, graphicsNum);
+        if (skin == null) {
+            logger.warning("No skin " + graphicsNum + " for sprite " + spriteType + ".");
+            return;
         }
+        if (spriteMap.put(spriteType, skin) != skin)
+            DrawManager.invalidateSpriteImages(spriteType);
+        logger.fine("Sprite " + spriteType + " changed.");
     }
 
     /**
-     * Check Sprite Type.
+     * Returns a skin of a sprite, shared by every caller.
      *
-     * @param spriteType Point size of the font.
-     * @return inputStream.
+     * @param spriteType Sprite to get.
+     * @param skin       Skin to get.
+     * @return Pixels of the skin, null if there is no such skin.
      * @throws IOException In case of loading problems.
      */
-    public InputStream checkSpriteType(SpriteType spriteType) {
-        InputStream inputStream = null;
-        if (spriteType == SpriteType.Bullet) {
-            inputStream = DrawManager.class.getClassLoader()
-                    .getResourceAsStream("bulletGraphics");
-        } else if (spriteType == SpriteType.Ship) {
-            inputStream = DrawManager.class.getClassLoader()
-                    .getResourceAsStream("shipGraphics");
-        } else if (spriteType == SpriteType.Ship2) {
-            inputStream = DrawManager.class.getClassLoader()
-                    .getResourceAsStream("shipGraphics");
-        } else if (spriteType == SpriteType.EnemyBullet) {
-            inputStream = DrawManager.class.getClassLoader()
-                    .getResourceAsStream("bulletGraphics");
-        } else if (spriteType == SpriteType.EnemyShipA1) {
-            inputStream = DrawManager.class.getClassLoader()
-                    .getResourceAsStream("enemyshipGraphics");
-        } else if (spriteType == SpriteType.EnemyShipA2) {
-            inputStream = DrawManager.class.getClassLoader()
-                    .getResourceAsStream("enemyshipGraphics");
-        } else if (spriteType == SpriteType.EnemyShipB1) {
-            inputStream = DrawManager.class.getClassLoader()
-                    .getResourceAsStream("enemyshipGraphics");
-        } else if (spriteType == SpriteType.EnemyShipB2) {
-            inputStream = DrawManager.class.getClassLoader()
-                    .getResourceAsStream("enemyshipGraphics");
-        } else if (spriteType == SpriteType.EnemyShipC1) {
-            inputStream = DrawManager.class.getClassLoader()
-                    .getResourceAsStream("enemyshipGraphics");
-        } else if (spriteType == SpriteType.EnemyShipC2) {
-            inputStream = DrawManager.class.getClassLoader()
-                    .getResourceAsStream("enemyshipGraphics");
-        } else if (spriteType == SpriteType.EnemyShipSpecial) {
-            inputStream = DrawManager.class.getClassLoader()
-                    .getResourceAsStream("specialenemyGraphics");
-        }
-        return inputStream;
+    public PackedSprite getSkin(SpriteType spriteType, int skin)
+            throws IOException {
+        return getSpriteSheet().getSkin(spriteType, skin);
     }
 
+    /**
+     * Returns the sprite sheet, loading it on first use.
+     *
+     * @return Sprite sheet with every sprite and skin.
+     * @throws IOException In case of loading problems.
+     */
+    private synchronized SpriteSheet getSpriteSheet() throws IOException {
+        if (this.spriteSheet == null)
+            this.spriteSheet = SpriteSheet.load();
+        return this.spriteSheet;
+    }
 
     /**
-     * Loads a font of a given size.
+     * Loads the font at a size of one point, to derive the sizes used from.
      *
-     * @param size Point size of the font.
      * @return New font.
      * @throws IOException         In case of loading problems.
      * @throws FontFormatException In case of incorrect font format.
      */
-    public Font loadFont(final float size) throws IOException,
-            FontFormatException {
+    public Font loadFont() throws IOException, FontFormatException {
         InputStream inputStream = null;
         Font font;
 
@@ -213,8 +160,7 @@ public final class FileManager {
             // Font loading.
             inputStream = FileManager.class.getClassLoader()
                     .getResourceAsStream("font.ttf");
-            font = Font.createFont(Font.TRUETYPE_FONT, inputStream).deriveFont(
-                    size);
+            font = Font.createFont(Font.TRUETYPE_FONT, inputStream);
         } finally {
             if (inputStream != null)
                 inputStream.close();
@@ -223,6 +169,19 @@ public final class FileManager {
         return font;
     }
 
+    /**
+     * Loads a font of a given size.
+     *
+     * @param size Point size of the font.
+     * @return New font.
+     * @throws IOException         In case of loading problems.
+     * @throws FontFormatException In case of incorrect font format.
+     */
+    public Font loadFont(final float size) throws IOException,
+            FontFormatException {
+        return loadFont().deriveFont(size);
+    }
+
     /**
      * Returns the application default scores if there is no user high scores
      * file.
@@ -271,6 +230,20 @@ public final class FileManager {
      * @throws IOException In case of loading problems.
      */
     public List<Score> loadHighScores(final int gameMode) throws IOException {
+        return loadHighScores(gameMode, new File("res"));
+    }
+
+    /**
+     * Loads high scores from the file in a directory, and returns a sorted
+     * list of pairs score - value.
+     *
+     * @param gameMode The game mode.
+     * @param directory Directory holding the high score files.
+     * @return Sorted list of scores - players.
+     * @throws IOException In case of loading problems.
+     */
+    public List<Score> loadHighScores(final int gameMode, final File directory)
+            throws IOException {
 
         List<Score> highScores = new ArrayList<Score>();
         InputStream inputStream = null;
@@ -278,13 +251,12 @@ public final class FileManager {
 
         try {
             String scoresPath = "";
-            scoresPath += File.separator;
             if (gameMode == 1)
                 scoresPath += "scores_1p";
             else
                 scoresPath += "scores_2p";
 
-            File scoresFile = new File("res" + File.separator + scoresPath);
+            File scoresFile = new File(directory, scoresPath);
             if (!scoresFile.exists())
                 scoresFile.createNewFile();
 
@@ -501,89 +473,55 @@ public final class FileManager {
         }
     }
 
-    //loads player object by its name as a character and writes the player data in the currentPlayer text file
-    public Player loadPlayer(char[] name) throws IOException {
-
-        Player player = null;
-
-        String jarPath = FileManager.class.getProtectionDomain().getCodeSource().getLocation().getPath();
+    //path of a file next to the jar
+    private static Path besideJar(String fileName) {
+        String jarPath = FileManager.class.getProtectionDomain()
+                .getCodeSource().getLocation().getPath();
         jarPath = URLDecoder.decode(jarPath, StandardCharsets.UTF_8);
+        return Paths.get(new File(jarPath).getParent(), fileName);
+    }
 
-        String playerPath = new File(jarPath).getParent() + File.separator + "accounts";
-        String currentPlayerPath = new File(jarPath).getParent() + File.separator + "currentPlayer";
-
-        File playerFile = new File(playerPath);
-        File currentPlayerFile = new File(currentPlayerPath);
-        currentPlayerFile.createNewFile();
-
-        try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new FileInputStream(playerFile), Charset.forName("UTF-8")));
-             BufferedWriter bufferedWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(currentPlayerFile, false), Charset.forName("UTF-8")))) {
-
-            String loadedName = bufferedReader.readLine();
-            String currency = bufferedReader.readLine();
-            String loginTime = bufferedReader.readLine();
-            String itemList = bufferedReader.readLine();
-
-            while ((loadedName != null) && (currency != null) && (loginTime != null) && (itemList != null)) {
-                if (loadedName.equals(String.valueOf(name))) {
-                    List<Boolean> items = convertStringToBooleanList(itemList);
-                    player = new Player(loadedName, Integer.parseInt(currency), loginTime, items);
-                    bufferedWriter.write(loadedName);
-                    bufferedWriter.newLine();
-                    bufferedWriter.write(currency);
-                    bufferedWriter.newLine();
-                    bufferedWriter.write(loginTime);
-                    bufferedWriter.newLine();
-                    bufferedWriter.write(itemList);
-                    bufferedWriter.newLine();
-
-                    bufferedWriter.flush();
-                    break;
-                } else {
-                    loadedName = bufferedReader.readLine();
-                    currency = bufferedReader.readLine();
-                    loginTime = bufferedReader.readLine();
-                    itemList = bufferedReader.readLine();
-                }
-            }
-
-        } catch (FileNotFoundException e) {
-            // create new player if player not found.
-            logger.info("Account list not found.");
+    //opens the account store next to the jar on first use, migrating the old accounts text file
+    private AccountStore getAccountStore() throws IOException {
+        if (accountStore == null) {
+            accountStore = new AccountStore(besideJar(".").normalize());
+            logger.info("Opened account store with " + accountStore.size() + " players.");
         }
+        return accountStore;
+    }
 
-        return player;
+    //keeps the current player in memory, written to the currentPlayer text file in the background.
+    //closing the window exits without returning to Core, so pending changes are also written on exit
+    private PlayerCache getPlayerCache() {
+        if (playerCache == null) {
+            playerCache = new PlayerCache(besideJar("currentPlayer"));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    flushCurrentPlayer();
+                } catch (IOException e) {
+                    logger.warning("Couldn't write current player on exit: " + e.getMessage());
+                }
+            }, "PlayerFlush"));
+        }
+        return playerCache;
     }
 
-    //new player is being created and being saved in accounts.txt
-    public void saveNewPlayer(final char[] name) throws IOException {
-        // Get the path to the JAR file.
-        String jarPath = FileManager.class.getProtectionDomain()
-                .getCodeSource().getLocation().getPath();
-        jarPath = URLDecoder.decode(jarPath, StandardCharsets.UTF_8);
+    //loads player object by its name as a character and makes it the current player
+    public Player loadPlayer(char[] name) throws IOException {
 
-        // Construct the path to the player file.
-        Path playerPath = Paths.get(new File(jarPath).getParent(), "accounts");
+        Player player = getAccountStore().find(String.valueOf(name));
+        if (player != null)
+            getPlayerCache().set(player);
 
-        // Create the player file if it doesn't exist.
-        File playerFile = playerPath.toFile();
-        if (!playerFile.exists() && !playerFile.createNewFile()) {
-            logger.warning("Failed to create new player file at: " + playerPath);
-            return;
-        }
+        return player;
+    }
 
-        // Write the new player data to the file.
-        try (BufferedWriter bufferedWriter = Files.newBufferedWriter(playerPath, StandardCharsets.UTF_8, StandardOpenOption.APPEND)) {
+    //new player is being created and being saved in the account store
+    public void saveNewPlayer(final char[] name) throws IOException {
+        try {
             logger.info("Creating new user with name: " + String.valueOf(name));
-            bufferedWriter.write(String.valueOf(name));
-            bufferedWriter.newLine();
-            bufferedWriter.write("0");
-            bufferedWriter.newLine();
-            bufferedWriter.write(currentDate());
-            bufferedWriter.newLine();
-            bufferedWriter.write("false, false, false");
-            bufferedWriter.newLine();
-            bufferedWriter.flush();
+            getAccountStore().put(new Player(String.valueOf(name), 0, currentDate(),
+                    new ArrayList<>(List.of(false, false, false))));
             loadPlayer(name); //I know I can make a separate function to overwrite it but I have to set priorities on other things
         } catch (IOException e) {
             logger.warning("Failed to write new player data to file: " + e.getMessage());
@@ -591,109 +529,36 @@ public final class FileManager {
         }
     }
 
-    //Overwrites the content of currentPlayer.txt to accounts.txt.
+    //Writes the current player over its record in the account store.
     public void updateAccounts() throws IOException {
-
-        // Get the path to the JAR file
-        String jarPath = FileManager.class.getProtectionDomain()
-                .getCodeSource().getLocation().getPath();
-        jarPath = URLDecoder.decode(jarPath, StandardCharsets.UTF_8);
-
-        // Construct the path to the player data file
-        Path playerPath = Paths.get(new File(jarPath).getParent(), "accounts");
-
-        // Check if the player data file exists
-        if (!Files.exists(playerPath)) {
-            logger.warning("Player file not found at: " + playerPath);
-            return;
-        }
-
-        StringBuilder inputBuffer = new StringBuilder();
-        try (BufferedReader bufferedReader = Files.newBufferedReader(playerPath, StandardCharsets.UTF_8)) {
-            String line;
-            while ((line = bufferedReader.readLine()) != null) {
-                inputBuffer.append(line).append('\n');
-            }
-        } catch (IOException e) {
-            logger.warning("Failed to read player data from file: " + e.getMessage());
+        Player player;
+        try {
+            player = getCurrentPlayer();
+        } catch (IOException | NumberFormatException e) {
+            logger.warning("Failed to read current player data from file: " + e.getMessage());
             throw e;
         }
 
-        Path currentPlayerPath = Paths.get(new File(jarPath).getParent(), "currentPlayer");
-
-        try (BufferedReader currentBufferedReader = Files.newBufferedReader(currentPlayerPath, StandardCharsets.UTF_8)) {
-            String loadedName = currentBufferedReader.readLine();
-            String currency = currentBufferedReader.readLine();
-            String loginTime = currentBufferedReader.readLine();
-            String itemList = currentBufferedReader.readLine();
-
-            if (loadedName == null || currency == null || loginTime == null || itemList == null) {
-                logger.warning("Invalid data in current player file");
-                return;
-            }
-
-            Player player = loadPlayer(loadedName.toCharArray());
-            List<Boolean> items = player.getItem();
-            String inputStr = inputBuffer.toString().replace(
-                    loadedName + "\n" + player.getCurrency() + "\n" + player.getLoginTime() + "\n" + items.get(0) + ", " + items.get(1) + ", " + items.get(2) + "\n",
-                    loadedName + "\n" + currency + "\n" + loginTime + "\n" + itemList + "\n");
-
-            try (BufferedWriter bufferedWriter = Files.newBufferedWriter(playerPath, StandardCharsets.UTF_8)) {
-                bufferedWriter.write(inputStr);
-                logger.info("Successfully updated amount of player");
-            } catch (IOException e) {
-                logger.warning("Failed to write updated player data to file: " + e.getMessage());
-                throw e;
-            }
+        try {
+            getAccountStore().put(player);
+            logger.info("Successfully updated amount of player");
         } catch (IOException e) {
-            logger.warning("Failed to read current player data from file: " + e.getMessage());
+            logger.warning("Failed to write updated player data to file: " + e.getMessage());
             throw e;
         }
     }
 
+    //writes any pending change of the current player to the currentPlayer text file right away
+    public void flushCurrentPlayer() throws IOException {
+        if (playerCache != null)
+            playerCache.flush();
+    }
+
     //update function for easier manipulation of currency of current player
     public void updateCurrencyOfCurrentPlayer(int difference) throws IOException {
-
-        // Get the path to the JAR file
-        String jarPath = FileManager.class.getProtectionDomain()
-                .getCodeSource().getLocation().getPath();
-        jarPath = URLDecoder.decode(jarPath, StandardCharsets.UTF_8);
-
-        // Construct the path to the player data file
-        Path playerPath = Paths.get(new File(jarPath).getParent(), "currentPlayer");
-
-        // Check if the player data file exists
-        if (!Files.exists(playerPath)) {
-            logger.warning("Player file not found at: " + playerPath);
-            return;
-        }
-
-        int linesBelongingToAPlayer = 4;
-        List<String> lines = Files.readAllLines(playerPath, StandardCharsets.UTF_8);
-        if (lines.size() < linesBelongingToAPlayer) {
-            logger.warning("Invalid data in current player file");
-            return;
-        }
-
-        String loadedName = lines.get(0);
-        int currentCurrency;
-        try {
-            currentCurrency = Integer.parseInt(lines.get(1));
-        } catch (NumberFormatException e) {
-            logger.warning("Invalid currency value in current player file");
-            return;
-        }
-
-        int newBalance = currentCurrency + difference;
-        lines.set(1, String.valueOf(newBalance));
-
-        try {
-            Files.write(playerPath, lines, StandardCharsets.UTF_8);
-            logger.info("Successfully changed amount of player: " + loadedName + " to " + newBalance);
-        } catch (IOException e) {
-            logger.warning("Failed to write updated player data to file: " + e.getMessage());
-            throw e;
-        }
+        Player player = getCurrentPlayer();
+        getPlayerCache().modify(current -> current.setCurrency(current.getCurrency() + difference));
+        logger.info("Successfully changed amount of player: " + player.getName() + " to " + player.getCurrency());
     }
 
     //get the current login time
@@ -704,35 +569,15 @@ public final class FileManager {
 
     //logic for updating the login time of current player
     public void updateLoginTimeOfCurrentPlayer() throws IOException {
-        // Get the path to the JAR file
-        String jarPath = FileManager.class.getProtectionDomain()
-                .getCodeSource().getLocation().getPath();
-        jarPath = URLDecoder.decode(jarPath, StandardCharsets.UTF_8);
-
-        // Construct the path to the player data file
-        Path playerPath = Paths.get(new File(jarPath).getParent(), "currentPlayer");
-
-        // Check if the player data file exists
-        if (!Files.exists(playerPath)) {
-            logger.warning("Player file not found at: " + playerPath);
-            return;
-        }
-
-        // Read the lines from the player data file
-        List<String> lines = Files.readAllLines(playerPath, StandardCharsets.UTF_8);
-
-        if (lines.size() < 3) {
-            logger.warning("Invalid data in current player file");
-            return;
-        }
-        String loadedName = lines.get(0);
+        Player player = getCurrentPlayer();
+        String loadedName = player.getName();
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
         String newDateStr = dateFormat.format(new Date());
         Date currentDate = null;
         Date newDate;
         try {
             newDate = dateFormat.parse(newDateStr);
-            currentDate = dateFormat.parse(lines.get(2));
+            currentDate = dateFormat.parse(player.getLoginTime());
         } catch (ParseException e) {
             logger.warning("Invalid date value in current player file");
             return;
@@ -745,16 +590,9 @@ public final class FileManager {
         // Check if the time difference is more than 24 hours (in milliseconds)
         if (timeDifference > 24 * 60 * 60 * 1000) {
             // Update the date only if the condition is met
-            lines.set(2, dateFormat.format(newDate));
-
-            try {
-                Files.write(playerPath, lines, StandardCharsets.UTF_8);
-                logger.info("Successfully updated player's date and login bonus: " + loadedName);
-                updateCurrencyOfCurrentPlayer(10);
-            } catch (IOException e) {
-                logger.warning("Failed to write updated player data to file: " + e.getMessage());
-                throw e;
-            }
+            getPlayerCache().modify(current -> current.setLoginTime(newDateStr));
+            logger.info("Successfully updated player's date and login bonus: " + loadedName);
+            updateCurrencyOfCurrentPlayer(10);
         } else {
             logger.info("Time difference is less than 24 hours, no update is made.");
         }
@@ -772,15 +610,13 @@ public final class FileManager {
         return booleanList;
     }
 
-    //retrieves the current player's data from the currentPlayer text file.
+    //retrieves the current player, reading the currentPlayer text file only if none is loaded yet.
     public Player getCurrentPlayer() throws IOException {
-        // Get the path to the JAR file
-        String jarPath = FileManager.class.getProtectionDomain()
-                .getCodeSource().getLocation().getPath();
-        jarPath = URLDecoder.decode(jarPath, StandardCharsets.UTF_8);
+        Player cached = getPlayerCache().get();
+        if (cached != null)
+            return cached;
 
-        // Construct the path to the player data file
-        Path playerPath = Paths.get(new File(jarPath).getParent(), "currentPlayer");
+        Path playerPath = besideJar("currentPlayer");
 
         // Check if the player data file exists
         if (!Files.exists(playerPath)) {
@@ -806,64 +642,21 @@ public final class FileManager {
             throw new NumberFormatException("Invalid value in current player file");
         }
 
+        getPlayerCache().load(player);
 		return player;
 	}
 	public void updatePlayerItem(int itemNumber) throws IOException {
-		// Get the path to the JAR file
-		String jarPath = FileManager.class.getProtectionDomain()
-				.getCodeSource().getLocation().getPath();
-		jarPath = URLDecoder.decode(jarPath, StandardCharsets.UTF_8.toString());
-
-		// Construct the path to the player data file
-		Path playerPath = Paths.get(new File(jarPath).getParent(), "currentPlayer");
-
-		// Check if the player data file exists
-		if (!Files.exists(playerPath)) {
-			logger.warning("Player file not found at: " + playerPath);
-			throw new FileNotFoundException("Player file not found at: " + playerPath);
-		}
-
-		// Read the lines from the player data file
-		List<String> lines = Files.readAllLines(playerPath, StandardCharsets.UTF_8);
-		String itemsString = lines.get(3);
-		List<Boolean> items = convertStringToBooleanList(itemsString);
-
-		if (!items.get(itemNumber)){
-			items.set(itemNumber, true);
-		}
-
-		StringBuilder itemResultBuilder = new StringBuilder();
-		for (int i = 0; i < items.size(); i++) {
-			itemResultBuilder.append(items.get(i).toString());
-			if (i < items.size() - 1) {  // If it's not the last item, append ", "
-				itemResultBuilder.append(", ");
+		getCurrentPlayer();
+		getPlayerCache().modify(player -> {
+			List<Boolean> items = new ArrayList<>(player.getItem());
+			if (!items.get(itemNumber)) {
+				items.set(itemNumber, true);
 			}
-		}
-		String itemResult = itemResultBuilder.toString();
-
-		lines.set(3, itemResult);
-		Files.write(playerPath, lines, StandardCharsets.UTF_8);
+			player.setItem(items);
+		});
 	}
 	public void resetPlayerItem() throws IOException {
-		// Get the path to the JAR file
-		String jarPath = FileManager.class.getProtectionDomain()
-				.getCodeSource().getLocation().getPath();
-		jarPath = URLDecoder.decode(jarPath, StandardCharsets.UTF_8.toString());
-
-		// Construct the path to the player data file
-		Path playerPath = Paths.get(new File(jarPath).getParent(), "currentPlayer");
-
-		// Check if the player data file exists
-		if (!Files.exists(playerPath)) {
-			logger.warning("Player file not found at: " + playerPath);
-			throw new FileNotFoundException("Player file not found at: " + playerPath);
-		}
-
-		// Read the lines from the player data file
-		List<String> lines = Files.readAllLines(playerPath, StandardCharsets.UTF_8);
-
-
-		lines.set(3, "false, false, false");
-		Files.write(playerPath, lines, StandardCharsets.UTF_8);
+		getCurrentPlayer();
+		getPlayerCache().modify(player -> player.setItem(new ArrayList<>(List.of(false, false, false))));
 	}
 }
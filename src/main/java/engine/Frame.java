@@ -1,6 +1,9 @@
 package engine;
 
+import java.awt.Graphics;
+import java.awt.Image;
 import java.awt.Insets;
+import java.awt.image.BufferStrategy;
 
 import javax.swing.JFrame;
 
@@ -23,6 +26,10 @@ public class Frame extends JFrame {
 	private Screen currentScreen;
 	/** bottom hud space not shown by getHeight to not break relative positioning **/
 	private int bottomHudHeight;
+	/** Frame insets, fixed since the frame is not resizable. */
+	private Insets insets;
+	/** Page flipping strategy the finished images are presented with. */
+	private BufferStrategy bufferStrategy;
 
 	/**
 	 * Initializes the new frame.
@@ -36,13 +43,17 @@ public class Frame extends JFrame {
 		setSize(width, height+bottomHudHeight);
 		setResizable(false);
 		setDefaultCloseOperation(EXIT_ON_CLOSE);
+		setIgnoreRepaint(true);
 
 		setLocationRelativeTo(null);
 		setVisible(true);
 
-		Insets insets = getInsets();
-		this.width = width - insets.left - insets.right;
-		this.height = height + bottomHudHeight - insets.top + insets.bottom;
+		createBufferStrategy(2);
+		this.bufferStrategy = getBufferStrategy();
+
+		this.insets = getInsets();
+		this.width = width - this.insets.left - this.insets.right;
+		this.height = height + bottomHudHeight - this.insets.top + this.insets.bottom;
 		this.bottomHudHeight = bottomHudHeight;
 		setTitle("Invaders");
 
@@ -62,6 +73,25 @@ public class Frame extends JFrame {
 		return currentScreen.run();
 	}
 
+	/**
+	 * Shows a finished image on the frame, redrawing it as many times as
+	 * needed if the contents of the buffers are lost meanwhile.
+	 *
+	 * @param image
+	 *            Image to show.
+	 */
+	public final void present(final Image image) {
+		do {
+			do {
+				Graphics graphics = this.bufferStrategy.getDrawGraphics();
+				graphics.drawImage(image, this.insets.left, this.insets.top,
+						null);
+				graphics.dispose();
+			} while (this.bufferStrategy.contentsRestored());
+			this.bufferStrategy.show();
+		} while (this.bufferStrategy.contentsLost());
+	}
+
 	/**
 	 * Getter for frame width.
 	 * 
@@ -0,0 +1,263 @@
+package engine;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long each phase of a frame takes, along with how many
+ * entities are alive, for the in-game overlay and for a report on exit.
+ *
+ * Phases are timed with start() and end(), which allocate nothing.
+ */
+public final class FrameProfiler {
+
+	/** Phases of a frame that are timed. */
+	public enum Phase {
+		/** Whole screen update. */
+		UPDATE,
+		/** Collision checks in the game screen. */
+		COLLISIONS,
+		/** Bullet movement and cleanup. */
+		BULLETS,
+		/** Item movement and cleanup. */
+		ITEMS,
+		/** Enemy formation movement. */
+		FORMATION,
+		/** Drawing, from initDrawing to completeDrawing. */
+		RENDER,
+		/** Waiting for the next frame. */
+		SLEEP
+	};
+
+	/** Things on screen that are counted. */
+	public enum Counter {
+		/** Bullets flying. */
+		BULLETS,
+		/** Bullets the bullet store has room for. */
+		BULLET_CAPACITY,
+		/** Enemy ships alive. */
+		ENEMIES,
+		/** Items falling. */
+		ITEMS
+	};
+
+	/** Time the overlay figures are gathered over. */
+	private static final long WINDOW = TimeUnit.SECONDS.toNanos(1);
+
+	/** Histograms of every phase since the game started. */
+	private static final Histogram[] SESSION = newHistograms();
+	/** Histograms of every phase in the current window. */
+	private static final Histogram[] WINDOW_HISTOGRAMS = newHistograms();
+	/** Median of every phase over the last window, in nanoseconds. */
+	private static final long[] SHOWN_P50 = new long[Phase.values().length];
+	/** 99th percentile of every phase over the last window, in nanoseconds. */
+	private static final long[] SHOWN_P99 = new long[Phase.values().length];
+	/** Maximum of every phase over the last window, in nanoseconds. */
+	private static final long[] SHOWN_MAX = new long[Phase.values().length];
+	/** Last value of every counter. */
+	private static final int[] COUNTERS = new int[Counter.values().length];
+
+	/** Start of the current window. */
+	private static long windowStart = System.nanoTime();
+	/** Frames drawn in the current window. */
+	private static int windowFrames;
+	/** Frames drawn in the last window. */
+	private static int shownFps;
+	/** If the overlay is drawn. */
+	private static boolean overlayVisible = false;
+
+	/**
+	 * Constructor, not called.
+	 */
+	private FrameProfiler() {
+
+	}
+
+	/**
+	 * Creates one histogram per phase.
+	 *
+	 * @return Histograms, indexed by phase ordinal.
+	 */
+	private static Histogram[] newHistograms() {
+		Histogram[] histograms = new Histogram[Phase.values().length];
+		for (int i = 0; i < histograms.length; i++)
+			histograms[i] = new Histogram();
+		return histograms;
+	}
+
+	/**
+	 * Marks the start of a phase.
+	 *
+	 * @return Start time, to pass to end().
+	 */
+	public static long start() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Marks the end of a phase and records how long it took.
+	 *
+	 * @param phase
+	 *            Phase that ended.
+	 * @param start
+	 *            Start time returned by start().
+	 */
+	public static void end(final Phase phase, final long start) {
+		long duration = System.nanoTime() - start;
+		SESSION[phase.ordinal()].record(duration);
+		WINDOW_HISTOGRAMS[phase.ordinal()].record(duration);
+	}
+
+	/**
+	 * Sets the current value of a counter.
+	 *
+	 * @param counter
+	 *            Counter to set.
+	 * @param value
+	 *            Current value.
+	 */
+	public static void count(final Counter counter, final int value) {
+		COUNTERS[counter.ordinal()] = value;
+	}
+
+	/**
+	 * Marks a frame as drawn, and every second updates the figures shown in
+	 * the overlay.
+	 */
+	public static void frameDrawn() {
+		windowFrames++;
+		long now = System.nanoTime();
+		if (now - windowStart < WINDOW)
+			return;
+
+		for (int i = 0; i < WINDOW_HISTOGRAMS.length; i++) {
+			SHOWN_P50[i] = WINDOW_HISTOGRAMS[i].getPercentile(50);
+			SHOWN_P99[i] = WINDOW_HISTOGRAMS[i].getPercentile(99);
+			SHOWN_MAX[i] = WINDOW_HISTOGRAMS[i].getMax();
+			WINDOW_HISTOGRAMS[i].reset();
+		}
+		shownFps = (int) (windowFrames * WINDOW / (now - windowStart));
+		windowFrames = 0;
+		windowStart = now;
+	}
+
+	/**
+	 * Shows or hides the overlay.
+	 */
+	public static void toggleOverlay() {
+		overlayVisible = !overlayVisible;
+	}
+
+	/**
+	 * Checks if the overlay is drawn.
+	 *
+	 * @return True if the overlay is visible.
+	 */
+	public static boolean isOverlayVisible() {
+		return overlayVisible;
+	}
+
+	/**
+	 * Getter for the frames drawn over the last second.
+	 *
+	 * @return Frames per second.
+	 */
+	public static int getFps() {
+		return shownFps;
+	}
+
+	/**
+	 * Getter for the median duration of a phase over the last second.
+	 *
+	 * @param phase
+	 *            Phase to check.
+	 * @return Median duration, in nanoseconds.
+	 */
+	public static long getP50(final Phase phase) {
+		return SHOWN_P50[phase.ordinal()];
+	}
+
+	/**
+	 * Getter for the 99th percentile duration of a phase over the last
+	 * second.
+	 *
+	 * @param phase
+	 *            Phase to check.
+	 * @return 99th percentile duration, in nanoseconds.
+	 */
+	public static long getP99(final Phase phase) {
+		return SHOWN_P99[phase.ordinal()];
+	}
+
+	/**
+	 * Getter for the longest duration of a phase over the last second.
+	 *
+	 * @param phase
+	 *            Phase to check.
+	 * @return Longest duration, in nanoseconds.
+	 */
+	public static long getMax(final Phase phase) {
+		return SHOWN_MAX[phase.ordinal()];
+	}
+
+	/**
+	 * Getter for the current value of a counter.
+	 *
+	 * @param counter
+	 *            Counter to check.
+	 * @return Current value.
+	 */
+	public static int getCount(final Counter counter) {
+		return COUNTERS[counter.ordinal()];
+	}
+
+	/**
+	 * Writes the figures of the whole session to a file.
+	 *
+	 * @param path
+	 *            File to write.
+	 * @throws IOException
+	 *             In case of writing problems.
+	 */
+	public static void dump(final Path path) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(path,
+				StandardCharsets.UTF_8)) {
+			writer.write(String.format("%-12s %10s %10s %10s %10s %10s%n",
+					"phase", "count", "mean ms", "p50 ms", "p99 ms", "max ms"));
+			for (Phase phase : Phase.values()) {
+				Histogram histogram = SESSION[phase.ordinal()];
+				writer.write(String.format(
+						"%-12s %10d %10.3f %10.3f %10.3f %10.3f%n", phase,
+						histogram.getCount(), histogram.getMean() / 1e6,
+						histogram.getPercentile(50) / 1e6,
+						histogram.getPercentile(99) / 1e6,
+						histogram.getMax() / 1e6));
+			}
+			writer.newLine();
+			for (Counter counter : Counter.values())
+				writer.write(String.format("%-16s %d%n", counter,
+						COUNTERS[counter.ordinal()]));
+		}
+	}
+
+	/**
+	 * Writes the figures of the whole session to a file when the program
+	 * exits.
+	 *
+	 * @param path
+	 *            File to write.
+	 */
+	public static void dumpOnExit(final Path path) {
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				dump(path);
+			} catch (IOException e) {
+				Core.getLogger().warning("Couldn't write frame profile!");
+			}
+		}));
+	}
+}
@@ -0,0 +1,155 @@
+package engine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clock the game logic measures time with. It only moves when the
+ * simulation advances it, one tick per update, so game time stops while a
+ * screen is paused and runs as fast as the updates do when headless.
+ *
+ * Cooldowns read the clock that was current when they were made, which is
+ * replaced with setCurrent to run a game on a clock of its own. Actions
+ * that should run once a time has passed can be scheduled on the clock
+ * instead of polling, and expire in bulk as the clock is advanced.
+ */
+public final class GameClock {
+
+	/** Time the clock starts at, not zero so cooldowns can tell it was set. */
+	private static final long START = TimeUnit.SECONDS.toNanos(1);
+	/** Tick length assumed until the clock is first advanced. */
+	private static final long DEFAULT_TICK_NANOS = TimeUnit.SECONDS.toNanos(1)
+			/ 60;
+
+	/** Clock used by the game. */
+	private static GameClock current = new GameClock();
+
+	/** Current time, in nanoseconds. */
+	private long nanos = START;
+	/** Number of times the clock has been advanced. */
+	private long ticks = 0;
+	/** Length of the last tick, in nanoseconds. */
+	private long tickNanos = DEFAULT_TICK_NANOS;
+	/** Actions waiting for a time, one wheel slot per tick. */
+	private final EffectScheduler alarms = new EffectScheduler(
+			(int) (TimeUnit.SECONDS.toNanos(1) / DEFAULT_TICK_NANOS));
+
+	/**
+	 * Getter for the clock used by the game.
+	 *
+	 * @return Current game clock.
+	 */
+	public static GameClock getCurrent() {
+		return current;
+	}
+
+	/**
+	 * Replaces the clock used by the game. Cooldowns already made keep the
+	 * clock they were made with.
+	 *
+	 * @param clock
+	 *            New game clock.
+	 */
+	public static void setCurrent(final GameClock clock) {
+		current = clock;
+	}
+
+	/**
+	 * Getter for the current time.
+	 *
+	 * @return Current time in milliseconds.
+	 */
+	public long millis() {
+		return TimeUnit.NANOSECONDS.toMillis(this.nanos);
+	}
+
+	/**
+	 * Getter for the current time, exactly. Time spans should be measured
+	 * with this, as differences of millis() depend on where the clock was
+	 * within a millisecond when they started.
+	 *
+	 * @return Current time in nanoseconds.
+	 */
+	public long nanos() {
+		return this.nanos;
+	}
+
+	/**
+	 * Advances the clock by one simulation tick, and runs the actions whose
+	 * time has come.
+	 *
+	 * @param nanoseconds
+	 *            Game time the tick lasted, zero while paused.
+	 */
+	public void advance(final long nanoseconds) {
+		this.ticks++;
+		if (nanoseconds == 0)
+			return;
+		this.nanos += nanoseconds;
+		this.tickNanos = nanoseconds;
+		this.alarms.advance();
+	}
+
+	/**
+	 * Moves the clock over a stretch of game time in one step, turning the
+	 * alarms over once for every tick it spans. Used by screens that sleep
+	 * instead of updating while nothing happens.
+	 *
+	 * @param nanoseconds
+	 *            Game time skipped.
+	 */
+	public void skip(final long nanoseconds) {
+		this.nanos += nanoseconds;
+		for (long turns = nanoseconds / this.tickNanos; turns > 0; turns--)
+			this.alarms.advance();
+	}
+
+	/**
+	 * Schedules an action after an amount of game time, rounded up to whole
+	 * ticks.
+	 *
+	 * @param milliseconds
+	 *            Game time until the action runs.
+	 * @param action
+	 *            Action to run, on the game thread.
+	 * @return Handle to cancel the action with.
+	 */
+	public EffectScheduler.Timer schedule(final long milliseconds,
+			final Runnable action) {
+		return scheduleNanos(TimeUnit.MILLISECONDS.toNanos(milliseconds),
+				action);
+	}
+
+	/**
+	 * Schedules an action after an amount of game time in nanoseconds,
+	 * rounded up to whole ticks.
+	 *
+	 * @param nanoseconds
+	 *            Game time until the action runs.
+	 * @param action
+	 *            Action to run, on the game thread.
+	 * @return Handle to cancel the action with.
+	 */
+	public EffectScheduler.Timer scheduleNanos(final long nanoseconds,
+			final Runnable action) {
+		return this.alarms.scheduleTicks(
+				(nanoseconds + this.tickNanos - 1) / this.tickNanos, action);
+	}
+
+	/**
+	 * Getter for the game time simulated.
+	 *
+	 * @return Nanoseconds the clock has been advanced.
+	 */
+	public long getElapsedNanos() {
+		return this.nanos - START;
+	}
+
+	/**
+	 * Getter for the number of ticks simulated, paused ones included.
+	 *
+	 * @return Times the clock has been advanced.
+	 */
+	public long getTicks() {
+		return this.ticks;
+	}
+}
@@ -0,0 +1,126 @@
+package engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random numbers of the game logic. Each subsystem draws from its own
+ * stream, so a change in how often one of them rolls doesn't shift the
+ * numbers the others get.
+ *
+ * A session seed, taken from the game.seed system property or the system
+ * clock, seeds every thread's session stream. The session stream gives the
+ * seed of each level and the random level settings, and each level splits
+ * its subsystem streams from its own seed. Streams belong to the thread
+ * running the level, so games simulated in parallel never share one.
+ */
+public final class GameRandom {
+
+	/** Subsystems with a stream of their own. */
+	public enum Stream {
+		/** Cooldown variance. */
+		COOLDOWN,
+		/** Enemy shooter picks. */
+		FORMATION,
+		/** Items carried by enemy ships. */
+		ITEM_DROP,
+		/** Player an item goes to in two player mode. */
+		ITEM_SPLIT
+	};
+
+	/** Seed of the session. */
+	private static final long SESSION_SEED = Long.getLong("game.seed",
+			System.nanoTime());
+	/** Stream new threads split their session stream from. */
+	private static final SplittableRandom SESSION = new SplittableRandom(
+			SESSION_SEED);
+
+	/** Session stream of each thread. */
+	private static final ThreadLocal<SplittableRandom> THREAD_SESSION =
+			ThreadLocal.withInitial(GameRandom::splitSession);
+	/** Subsystem streams of the level each thread is running. */
+	private static final ThreadLocal<SplittableRandom[]> STREAMS =
+			ThreadLocal.withInitial(() -> split(new SplittableRandom(
+					THREAD_SESSION.get().nextLong())));
+
+	/**
+	 * Constructor, not called.
+	 */
+	private GameRandom() {
+
+	}
+
+	/**
+	 * Getter for the session seed.
+	 *
+	 * @return Seed every stream of the session follows from.
+	 */
+	public static long getSessionSeed() {
+		return SESSION_SEED;
+	}
+
+	/**
+	 * Draws the seed of the next level from the thread's session stream.
+	 *
+	 * @return Seed to pass to reseed().
+	 */
+	public static long nextLevelSeed() {
+		return THREAD_SESSION.get().nextLong();
+	}
+
+	/**
+	 * Getter for the thread's session stream, for numbers drawn once per
+	 * session such as the random level settings.
+	 *
+	 * @return Session stream of the current thread.
+	 */
+	public static SplittableRandom session() {
+		return THREAD_SESSION.get();
+	}
+
+	/**
+	 * Restarts every subsystem stream of the current thread from a seed.
+	 *
+	 * @param seed
+	 *            Seed of the level.
+	 */
+	public static void reseed(final long seed) {
+		STREAMS.set(split(new SplittableRandom(seed)));
+	}
+
+	/**
+	 * Getter for a subsystem stream of the current thread.
+	 *
+	 * @param stream
+	 *            Subsystem drawing the numbers.
+	 * @return Stream of the subsystem.
+	 */
+	public static SplittableRandom get(final Stream stream) {
+		return STREAMS.get()[stream.ordinal()];
+	}
+
+	/**
+	 * Splits a session stream for a new thread.
+	 *
+	 * @return Session stream of the thread.
+	 */
+	private static SplittableRandom splitSession() {
+		synchronized (SESSION) {
+			return SESSION.split();
+		}
+	}
+
+	/**
+	 * Splits one stream per subsystem, always in the same order.
+	 *
+	 * @param root
+	 *            Stream seeded for the level.
+	 * @return Subsystem streams, indexed by ordinal.
+	 */
+	private static SplittableRandom[] split(final SplittableRandom root) {
+		Stream[] values = Stream.values();
+		SplittableRandom[] streams = new SplittableRandom[values.length];
+		for (int i = 0; i < values.length; i++)
+			streams[i] = root.split();
+		return streams;
+	}
+}
@@ -69,6 +69,13 @@ public class GameSettings {
 		return shootingFrecuency;
 	}
 
+	/**
+	 * @return the itemSpeed
+	 */
+	public final double getItemSpeed() {
+		return itemSpeed;
+	}
+
 	public final String getLevelName(){
 		return levelName;
 	}
@@ -0,0 +1,194 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+
+/**
+ * A few characters and labels of a font, rendered once side by side into
+ * a single image. Numbers and labels are then drawn by copying parts of
+ * that image, with no strings built and no text laid out on every frame.
+ *
+ * Characters are placed at the advances the font gives them, as drawString
+ * places them when fractional metrics and kerning are off, which is the
+ * default for the back buffer.
+ */
+public final class GlyphStrip {
+
+	/** Free pixels around each glyph, for parts drawn past its advance. */
+	private static final int PADDING = 2;
+
+	/** Every glyph and label, side by side. */
+	private final BufferedImage strip;
+	/** Characters in the strip. */
+	private final String characters;
+	/** Left side of each character in the strip, padding included. */
+	private final int[] characterX;
+	/** Advance of each character. */
+	private final int[] characterWidth;
+	/** Left side of each label in the strip, padding included. */
+	private final int[] labelX;
+	/** Advance of each label. */
+	private final int[] labelWidth;
+	/** Distance from the top of the strip to the baseline. */
+	private final int baseline;
+
+	/**
+	 * Constructor, renders the characters and labels.
+	 *
+	 * @param font
+	 *            Font to render with.
+	 * @param color
+	 *            Color of the text.
+	 * @param characters
+	 *            Characters numbers and other text are composed of.
+	 * @param labels
+	 *            Labels drawn as a whole.
+	 */
+	public GlyphStrip(final Font font, final Color color,
+			final String characters, final String... labels) {
+		Graphics scratch = new BufferedImage(1, 1,
+				BufferedImage.TYPE_INT_ARGB).getGraphics();
+		FontMetrics metrics = scratch.getFontMetrics(font);
+		scratch.dispose();
+
+		this.characters = characters;
+		this.characterX = new int[characters.length()];
+		this.characterWidth = new int[characters.length()];
+		this.labelX = new int[labels.length];
+		this.labelWidth = new int[labels.length];
+		this.baseline = metrics.getMaxAscent() + PADDING;
+
+		int width = 0;
+		for (int i = 0; i < characters.length(); i++) {
+			this.characterX[i] = width;
+			this.characterWidth[i] = metrics.charWidth(characters.charAt(i));
+			width += this.characterWidth[i] + 2 * PADDING;
+		}
+		for (int i = 0; i < labels.length; i++) {
+			this.labelX[i] = width;
+			this.labelWidth[i] = metrics.stringWidth(labels[i]);
+			width += this.labelWidth[i] + 2 * PADDING;
+		}
+
+		this.strip = new BufferedImage(Math.max(width, 1), this.baseline
+				+ metrics.getMaxDescent() + PADDING,
+				BufferedImage.TYPE_INT_ARGB);
+		Graphics graphics = this.strip.getGraphics();
+		graphics.setFont(font);
+		graphics.setColor(color);
+		char[] chars = characters.toCharArray();
+		for (int i = 0; i < chars.length; i++)
+			graphics.drawChars(chars, i, 1, this.characterX[i] + PADDING,
+					this.baseline);
+		for (int i = 0; i < labels.length; i++)
+			graphics.drawString(labels[i], this.labelX[i] + PADDING,
+					this.baseline);
+		graphics.dispose();
+	}
+
+	/**
+	 * Draws a character of the strip.
+	 *
+	 * @param graphics
+	 *            Graphics to draw on.
+	 * @param character
+	 *            Character to draw, nothing is drawn if not in the strip.
+	 * @param positionX
+	 *            Coordinates for the left side of the character.
+	 * @param positionY
+	 *            Coordinates for the baseline of the character.
+	 * @return Coordinates for the left side of the next character.
+	 */
+	public int drawCharacter(final Graphics graphics, final char character,
+			final int positionX, final int positionY) {
+		int index = this.characters.indexOf(character);
+		if (index < 0)
+			return positionX;
+		return draw(graphics, this.characterX[index],
+				this.characterWidth[index], positionX, positionY);
+	}
+
+	/**
+	 * Draws a label of the strip.
+	 *
+	 * @param graphics
+	 *            Graphics to draw on.
+	 * @param label
+	 *            Index of the label, in the order given when building.
+	 * @param positionX
+	 *            Coordinates for the left side of the label.
+	 * @param positionY
+	 *            Coordinates for the baseline of the label.
+	 * @return Coordinates for the left side of the next character.
+	 */
+	public int drawLabel(final Graphics graphics, final int label,
+			final int positionX, final int positionY) {
+		return draw(graphics, this.labelX[label], this.labelWidth[label],
+				positionX, positionY);
+	}
+
+	/**
+	 * Draws a number in decimal, padded with zeros to a number of digits
+	 * as String.format("%0nd") does. The strip must have the digits, and
+	 * the minus sign for negative numbers.
+	 *
+	 * @param graphics
+	 *            Graphics to draw on.
+	 * @param number
+	 *            Number to draw.
+	 * @param minDigits
+	 *            Fewest digits to draw.
+	 * @param positionX
+	 *            Coordinates for the left side of the number.
+	 * @param positionY
+	 *            Coordinates for the baseline of the number.
+	 * @return Coordinates for the left side of the next character.
+	 */
+	public int drawNumber(final Graphics graphics, final int number,
+			final int minDigits, final int positionX, final int positionY) {
+		int x = positionX;
+		long rest = number;
+		int digits = minDigits;
+		if (rest < 0) {
+			x = drawCharacter(graphics, '-', x, positionY);
+			rest = -rest;
+			digits--;
+		}
+		long divisor = 1;
+		for (int i = 1; i < digits || divisor * 10 <= rest; i++)
+			divisor *= 10;
+		for (; divisor > 0; divisor /= 10)
+			x = drawCharacter(graphics, (char) ('0' + rest / divisor % 10), x,
+					positionY);
+		return x;
+	}
+
+	/**
+	 * Copies part of the strip.
+	 *
+	 * @param graphics
+	 *            Graphics to draw on.
+	 * @param stripX
+	 *            Left side of the part in the strip, padding included.
+	 * @param advance
+	 *            Advance of the text in the part.
+	 * @param positionX
+	 *            Coordinates for the left side of the text.
+	 * @param positionY
+	 *            Coordinates for the baseline of the text.
+	 * @return Coordinates for the left side of the next character.
+	 */
+	private int draw(final Graphics graphics, final int stripX,
+			final int advance, final int positionX, final int positionY) {
+		int width = advance + 2 * PADDING;
+		int left = positionX - PADDING;
+		int top = positionY - this.baseline;
+		graphics.drawImage(this.strip, left, top, left + width,
+				top + this.strip.getHeight(), stripX, 0, stripX + width,
+				this.strip.getHeight(), null);
+		return positionX + advance;
+	}
+}
@@ -0,0 +1,163 @@
+package engine;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import screen.GameScreen;
+
+/**
+ * Runs the game levels with no window or sound, as fast as possible, to
+ * soak test the game logic.
+ *
+ * Usage: HeadlessRunner [minutes] [input script]. Levels 1 to 8 are played
+ * in turn until the given wall clock minutes have passed, or once if none
+ * are given. Input comes from the script file, or from a bot sweeping the
+ * first ship from side to side while shooting.
+ *
+ * HeadlessRunner --replay file plays a recorded level back as fast as
+ * possible, and HeadlessRunner --record directory [minutes] [input script]
+ * saves a replay of each level played.
+ */
+public final class HeadlessRunner {
+
+	/** Width of the simulated screen. */
+	private static final int WIDTH = 448;
+	/** Height of the simulated screen. */
+	private static final int HEIGHT = 520;
+	/** Logic updates per simulated second. */
+	private static final int FPS = 60;
+	/** Number of levels played in each pass. */
+	private static final int NUM_LEVELS = 8;
+
+	/** Application logger. */
+	private static final Logger LOGGER = Core.getLogger();
+
+	/**
+	 * Constructor, not called.
+	 */
+	private HeadlessRunner() {
+
+	}
+
+	/**
+	 * Runs the soak test.
+	 *
+	 * @param args
+	 *            Wall clock minutes to run for, and input script file.
+	 * @throws IOException
+	 *             In case the input script can't be loaded.
+	 */
+	public static void main(final String[] args) throws IOException {
+		Core.setHeadless(true);
+		Core.loadSettings();
+		FrameProfiler.dumpOnExit(Paths.get("profile"));
+		if (args.length == 2 && args[0].equals("--replay")) {
+			replay(Replay.load(Paths.get(args[1])));
+			return;
+		}
+		if (args.length > 1 && args[0].equals("--record")) {
+			Core.setReplayDirectory(Paths.get(args[1]));
+			soak(Arrays.copyOfRange(args, 2, args.length));
+		} else {
+			soak(args);
+		}
+	}
+
+	/**
+	 * Plays levels 1 to 8 in turn.
+	 *
+	 * @param args
+	 *            Wall clock minutes to run for, and input script file.
+	 * @throws IOException
+	 *             In case the input script can't be loaded.
+	 */
+	private static void soak(final String[] args) throws IOException {
+		long minutes = args.length > 0 ? Long.parseLong(args[0]) : 0;
+		if (args.length > 1)
+			Core.setInputScript(InputScript.load(Paths.get(args[1])));
+		else
+			Core.setInputScript(InputScript.sweepAndFire());
+
+		List<GameSettings> gameSettings = Core.getGameSettings();
+		GameClock clock = GameClock.getCurrent();
+		long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(minutes);
+		long start = System.nanoTime();
+		int passes = 0;
+
+		do {
+			for (int level = 1; level <= NUM_LEVELS; level++) {
+				long ticks = clock.getTicks();
+				long simulated = clock.getElapsedNanos();
+				long wall = System.nanoTime();
+
+				GameState gameState = new GameState(level, 0,
+						Core.getMaxLives(), 0, 0);
+				GameScreen screen = new GameScreen(gameState,
+						gameSettings.get(level - 1), false, WIDTH, HEIGHT, FPS);
+				screen.initialize();
+				screen.run();
+
+				report("Level " + level, clock.getTicks() - ticks,
+						clock.getElapsedNanos() - simulated,
+						System.nanoTime() - wall);
+			}
+			passes++;
+		} while (System.nanoTime() < deadline);
+
+		report("Total over " + passes + " passes", clock.getTicks(),
+				clock.getElapsedNanos(), System.nanoTime() - start);
+	}
+
+	/**
+	 * Plays a recorded level back as fast as possible.
+	 *
+	 * @param replay
+	 *            Replay to play.
+	 * @throws IOException
+	 *             In case the recorded input is corrupt.
+	 */
+	private static void replay(final Replay replay) throws IOException {
+		InputScript script = replay.toInputScript();
+		Core.setReplay(replay);
+		replay.restoreSettings();
+		Core.setInputScript(script);
+		GameClock clock = GameClock.getCurrent();
+
+		long wall = System.nanoTime();
+		GameScreen screen = new GameScreen(replay.getGameState(),
+				replay.getGameSettings(), replay.isBonusLife(), WIDTH, HEIGHT,
+				replay.getFps());
+		screen.initialize();
+		screen.run();
+
+		report("Replay", clock.getTicks(), clock.getElapsedNanos(),
+				System.nanoTime() - wall);
+		GameState end = screen.getGameState1p();
+		LOGGER.info("Replay ended with score " + end.getScore() + ", "
+				+ end.getShipsDestroyed() + " ships destroyed"
+				+ (script.isDesynced() ? ", out of step." : "."));
+	}
+
+	/**
+	 * Logs the speed of a run.
+	 *
+	 * @param name
+	 *            Name of the run.
+	 * @param ticks
+	 *            Logic updates run.
+	 * @param simulated
+	 *            Nanoseconds of game time simulated.
+	 * @param wall
+	 *            Nanoseconds of real time taken.
+	 */
+	private static void report(final String name, final long ticks,
+			final long simulated, final long wall) {
+		LOGGER.info(String.format("%s: %d ticks, %.1f s simulated in %.1f ms"
+				+ " (%.0fx real time).", name, ticks, simulated / 1e9,
+				wall / 1e6, (double) simulated / Math.max(1, wall)));
+	}
+}
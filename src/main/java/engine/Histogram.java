@@ -0,0 +1,135 @@
+package engine;
+
+import java.util.Arrays;
+
+/**
+ * Counts durations in buckets that grow with the size of the value: each
+ * power of two is split in 16 equal buckets, so any value is kept within
+ * about 6% of its size. Recording never allocates.
+ */
+public final class Histogram {
+
+	/** Bits of each value used to pick a bucket within its power of two. */
+	private static final int SUB_BUCKET_BITS = 4;
+	/** Number of buckets each power of two is split in. */
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	/** Highest power of two recorded, larger values go in the last bucket. */
+	private static final int MAX_EXPONENT = 40;
+
+	/** Number of values in each bucket. */
+	private final long[] buckets = new long[(MAX_EXPONENT - SUB_BUCKET_BITS + 2)
+			* SUB_BUCKETS];
+	/** Number of values recorded. */
+	private long count;
+	/** Sum of the values recorded. */
+	private long sum;
+	/** Largest value recorded. */
+	private long max;
+
+	/**
+	 * Records a value.
+	 *
+	 * @param value
+	 *            Value to record, negative values count as 0.
+	 */
+	public void record(final long value) {
+		long clamped = Math.max(0, value);
+		this.buckets[bucketOf(clamped)]++;
+		this.count++;
+		this.sum += clamped;
+		if (clamped > this.max)
+			this.max = clamped;
+	}
+
+	/**
+	 * Forgets every recorded value.
+	 */
+	public void reset() {
+		Arrays.fill(this.buckets, 0);
+		this.count = 0;
+		this.sum = 0;
+		this.max = 0;
+	}
+
+	/**
+	 * Getter for a percentile of the recorded values.
+	 *
+	 * @param percentile
+	 *            Percentile to get, from 0 to 100.
+	 * @return Upper bound of the bucket holding the percentile, 0 if nothing
+	 *         was recorded.
+	 */
+	public long getPercentile(final double percentile) {
+		if (this.count == 0)
+			return 0;
+		long rank = (long) Math.ceil(percentile / 100 * this.count);
+		long seen = 0;
+		for (int i = 0; i < this.buckets.length; i++) {
+			seen += this.buckets[i];
+			if (seen >= Math.max(1, rank))
+				return Math.min(this.max, upperBoundOf(i));
+		}
+		return this.max;
+	}
+
+	/**
+	 * Getter for the number of values recorded.
+	 *
+	 * @return Number of values.
+	 */
+	public long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Getter for the mean of the recorded values.
+	 *
+	 * @return Mean value, 0 if nothing was recorded.
+	 */
+	public long getMean() {
+		return this.count == 0 ? 0 : this.sum / this.count;
+	}
+
+	/**
+	 * Getter for the largest value recorded.
+	 *
+	 * @return Largest value.
+	 */
+	public long getMax() {
+		return this.max;
+	}
+
+	/**
+	 * Bucket a value falls in.
+	 *
+	 * @param value
+	 *            Non negative value.
+	 * @return Index of the bucket.
+	 */
+	private static int bucketOf(final long value) {
+		if (value < SUB_BUCKETS)
+			return (int) value;
+		int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		if (exponent > MAX_EXPONENT)
+			return (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS - 1;
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS))
+				& (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Largest value that falls in a bucket.
+	 *
+	 * @param bucket
+	 *            Index of the bucket.
+	 * @return Largest value of the bucket.
+	 */
+	private static long upperBoundOf(final int bucket) {
+		if (bucket < SUB_BUCKETS)
+			return bucket;
+		int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		long subBucket = bucket % SUB_BUCKETS;
+		int shift = exponent - SUB_BUCKET_BITS;
+		return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+	}
+}
@@ -3,6 +3,8 @@ package engine;
 import engine.Core;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages keyboard input for the provided screen.
@@ -26,6 +28,21 @@ public final class InputManager implements KeyListener {
 	private boolean checkKeyPressed=false;
 	private int[] keySetting = Core.getKeySettingCodeArray();
 
+	/** Number of counters derived from key releases. */
+	public static final int NUM_COUNTERS = 11;
+
+	/**
+	 * Keyboard events waiting for the next tick, as key code times two plus
+	 * one for a press.
+	 */
+	private int[] pendingEvents = new int[32];
+	/** Number of keyboard events waiting. */
+	private int pendingCount;
+	/** Events applied in the current tick, encoded as the pending ones. */
+	private int[] tickEvents = new int[32];
+	/** Number of events applied in the current tick. */
+	private int tickEventCount;
+
 	/**
 	 * Private constructor.
 	 */
@@ -55,6 +72,18 @@ public final class InputManager implements KeyListener {
 		return keys[keyCode];
 	}
 
+	/**
+	 * Returns true if any key is currently pressed.
+	 *
+	 * @return True if a key is held.
+	 */
+	public boolean isAnyKeyDown() {
+		for (boolean key : keys)
+			if (key)
+				return true;
+		return false;
+	}
+
 	/**
 	 * Changes the state of the key to pressed.
 	 * 
@@ -63,10 +92,114 @@ public final class InputManager implements KeyListener {
 	 */
 	@Override
 	public void keyPressed(final KeyEvent key) {
-		if (key.getKeyCode() >= 0 && key.getKeyCode() < NUM_KEYS)
-			keys[key.getKeyCode()] = true;
-		keyCode = key.getKeyCode();
-		keyString = key.getKeyText(keyCode);
+		if (key.getKeyCode() == KeyEvent.VK_F3)
+			FrameProfiler.toggleOverlay();
+		queueEvent(key.getKeyCode() * 2 + 1);
+	}
+
+	/**
+	 * Keeps a keyboard event until the next tick, so the game only sees
+	 * input change between updates.
+	 *
+	 * @param event
+	 *            Key code times two, plus one for a press.
+	 */
+	private synchronized void queueEvent(final int event) {
+		if (this.pendingCount == this.pendingEvents.length)
+			this.pendingEvents = Arrays.copyOf(this.pendingEvents,
+					this.pendingCount * 2);
+		this.pendingEvents[this.pendingCount++] = event;
+		notifyAll();
+	}
+
+	/**
+	 * Waits until a keyboard event is received, for screens that only
+	 * change when the player does something.
+	 *
+	 * @param timeout
+	 *            Longest time to wait, in nanoseconds.
+	 * @return True if an event is waiting to be applied.
+	 * @throws InterruptedException
+	 *             If the thread was interrupted while waiting.
+	 */
+	public synchronized boolean awaitEvent(final long timeout)
+			throws InterruptedException {
+		long deadline = System.nanoTime() + timeout;
+		long remaining = timeout;
+		while (this.pendingCount == 0 && remaining > 0) {
+			TimeUnit.NANOSECONDS.timedWait(this, remaining);
+			remaining = deadline - System.nanoTime();
+		}
+		return this.pendingCount > 0;
+	}
+
+	/**
+	 * Starts a simulation tick, applying the keyboard events received since
+	 * the last one.
+	 *
+	 * @param applyKeyboard
+	 *            False to drop the keyboard events, when input comes from a
+	 *            script instead.
+	 */
+	public synchronized void beginTick(final boolean applyKeyboard) {
+		this.tickEventCount = 0;
+		if (applyKeyboard)
+			for (int i = 0; i < this.pendingCount; i++) {
+				int event = this.pendingEvents[i];
+				if ((event & 1) == 1)
+					pressKey(event >> 1);
+				else
+					releaseKey(event >> 1);
+			}
+		this.pendingCount = 0;
+	}
+
+	/**
+	 * Getter for the number of key events applied in the current tick.
+	 *
+	 * @return Number of events.
+	 */
+	public int getTickEventCount() {
+		return this.tickEventCount;
+	}
+
+	/**
+	 * Getter for a key event applied in the current tick.
+	 *
+	 * @param index
+	 *            Index of the event, in the order applied.
+	 * @return Key code times two, plus one for a press.
+	 */
+	public int getTickEvent(final int index) {
+		return this.tickEvents[index];
+	}
+
+	/**
+	 * Records a key event applied in the current tick.
+	 *
+	 * @param event
+	 *            Key code times two, plus one for a press.
+	 */
+	private void logEvent(final int event) {
+		if (this.tickEventCount == this.tickEvents.length)
+			this.tickEvents = Arrays.copyOf(this.tickEvents,
+					this.tickEventCount * 2);
+		this.tickEvents[this.tickEventCount++] = event;
+	}
+
+	/**
+	 * Marks a key as pressed, whether it comes from the keyboard or from an
+	 * input script.
+	 *
+	 * @param code
+	 *            Code of the key pressed.
+	 */
+	public void pressKey(final int code) {
+		logEvent(code * 2 + 1);
+		if (code >= 0 && code < NUM_KEYS)
+			keys[code] = true;
+		keyCode = code;
+		keyString = KeyEvent.getKeyText(keyCode);
 		if(!(keyCode == KeyEvent.VK_CONTROL || keyCode == KeyEvent.VK_SHIFT))
 			checkKeyPressed = true;
 	}
@@ -92,10 +225,21 @@ public final class InputManager implements KeyListener {
 	 */
 	@Override
 	public void keyReleased(final KeyEvent key) {
-		if (key.getKeyCode() >= 0 && key.getKeyCode() < NUM_KEYS)
-			keys[key.getKeyCode()] = false;
+		queueEvent(key.getKeyCode() * 2);
+	}
+
+	/**
+	 * Marks a key as not pressed, whether it comes from the keyboard or from
+	 * an input script.
+	 *
+	 * @param code
+	 *            Code of the key released.
+	 */
+	public void releaseKey(final int code) {
+		logEvent(code * 2);
+		if (code >= 0 && code < NUM_KEYS)
+			keys[code] = false;
 		checkKeyPressed = false;
-		int code = key.getKeyCode();
 		if(code == keySetting[3]){countH_u++;one++;}
 		if(code == keySetting[4]){countH_d++;two++;}
 		if(code == keySetting[5]) magazine = true;
@@ -119,6 +263,66 @@ public final class InputManager implements KeyListener {
 
 	}
 
+	/**
+	 * Copies the counters derived from key releases.
+	 *
+	 * @param counters
+	 *            Array of NUM_COUNTERS values to fill, magazine flags as 0
+	 *            or 1.
+	 */
+	public void getCounters(final int[] counters) {
+		counters[0] = countH_u;
+		counters[1] = countH_d;
+		counters[2] = one;
+		counters[3] = two;
+		counters[4] = seven;
+		counters[5] = eight;
+		counters[6] = speed;
+		counters[7] = speed1;
+		counters[8] = speed2;
+		counters[9] = magazine ? 1 : 0;
+		counters[10] = magazine2 ? 1 : 0;
+	}
+
+	/**
+	 * Restores the counters derived from key releases.
+	 *
+	 * @param counters
+	 *            Values as filled by getCounters().
+	 */
+	public void setCounters(final int[] counters) {
+		countH_u = counters[0];
+		countH_d = counters[1];
+		one = counters[2];
+		two = counters[3];
+		seven = counters[4];
+		eight = counters[5];
+		speed = counters[6];
+		speed1 = counters[7];
+		speed2 = counters[8];
+		magazine = counters[9] != 0;
+		magazine2 = counters[10] != 0;
+	}
+
+	/**
+	 * Getter for every key currently pressed.
+	 *
+	 * @return Copy of the pressed state, indexed by key code.
+	 */
+	public boolean[] getKeys() {
+		return keys.clone();
+	}
+
+	/**
+	 * Replaces the pressed state of every key.
+	 *
+	 * @param pressed
+	 *            Pressed state, indexed by key code.
+	 */
+	public void setKeys(final boolean[] pressed) {
+		System.arraycopy(pressed, 0, keys, 0, Math.min(pressed.length, NUM_KEYS));
+	}
+
 	public Integer getKeyCode(){return keyCode;}
 	public String getKeyString(){return keyString;}
 	public boolean getcheck(){return checkKeyPressed;}
@@ -0,0 +1,212 @@
+package engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Feeds key presses and releases to the input manager at given simulation
+ * ticks, in place of a keyboard.
+ *
+ * Scripts are read from text files with one event per line, written as
+ * "tick press|release keyCode". Empty lines and lines starting with # are
+ * ignored.
+ */
+public final class InputScript {
+
+	/** Ticks the sweeping bot takes to cross from one side to the other. */
+	private static final int SWEEP_TICKS = 90;
+	/** Ticks between shots of the sweeping bot. */
+	private static final int FIRE_TICKS = 12;
+
+	/** Tick of each event, in ascending order. */
+	private final int[] eventTicks;
+	/** Key code of each event. */
+	private final int[] eventKeys;
+	/** If each event is a press, or a release. */
+	private final boolean[] eventPresses;
+	/** Ticks after which the script starts over, 0 to play it once. */
+	private final int period;
+	/** Ticks played so far. */
+	private long tick;
+	/** Next event to play. */
+	private int cursor;
+	/** Tick of each expected counter state, in ascending order. */
+	private int[] checkTicks = new int[0];
+	/** Expected counters of the input manager at each check. */
+	private int[][] checkCounters = new int[0][];
+	/** Next counter state to check. */
+	private int checkCursor;
+	/** Counters read from the input manager for a check. */
+	private final int[] counters = new int[InputManager.NUM_COUNTERS];
+	/** If the input already differed from the expected state. */
+	private boolean desynced;
+
+	/**
+	 * Constructor, takes the events already in order.
+	 *
+	 * @param events
+	 *            Events as {tick, key code, 1 for press or 0 for release}.
+	 * @param period
+	 *            Ticks after which the script starts over, 0 to play it once.
+	 */
+	private InputScript(final List<int[]> events, final int period) {
+		this.eventTicks = new int[events.size()];
+		this.eventKeys = new int[events.size()];
+		this.eventPresses = new boolean[events.size()];
+		for (int i = 0; i < events.size(); i++) {
+			this.eventTicks[i] = events.get(i)[0];
+			this.eventKeys[i] = events.get(i)[1];
+			this.eventPresses[i] = events.get(i)[2] == 1;
+		}
+		this.period = period;
+	}
+
+	/**
+	 * Loads a script from a file.
+	 *
+	 * @param path
+	 *            File to read.
+	 * @return Loaded script, played once.
+	 * @throws IOException
+	 *             In case of loading problems or a malformed line.
+	 */
+	public static InputScript load(final Path path) throws IOException {
+		List<int[]> events = new ArrayList<int[]>();
+		try (BufferedReader reader = Files.newBufferedReader(path,
+				StandardCharsets.UTF_8)) {
+			String line;
+			int lineNumber = 0;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#"))
+					continue;
+				String[] parts = line.split("\\s+");
+				if (parts.length != 3 || !(parts[1].equals("press")
+						|| parts[1].equals("release")))
+					throw new IOException("Malformed input script line "
+							+ lineNumber + ": " + line);
+				try {
+					events.add(new int[] { Integer.parseInt(parts[0]),
+							Integer.parseInt(parts[2]),
+							parts[1].equals("press") ? 1 : 0 });
+				} catch (NumberFormatException e) {
+					throw new IOException("Malformed input script line "
+							+ lineNumber + ": " + line, e);
+				}
+			}
+		}
+		events.sort((a, b) -> Integer.compare(a[0], b[0]));
+		return new InputScript(events, 0);
+	}
+
+	/**
+	 * Creates a script for the first player that sweeps the ship from side
+	 * to side while shooting, over and over.
+	 *
+	 * @return Sweeping bot script.
+	 */
+	public static InputScript sweepAndFire() {
+		int left = Core.getKeySettingCode(0);
+		int right = Core.getKeySettingCode(1);
+		int attack = Core.getKeySettingCode(2);
+
+		List<int[]> events = new ArrayList<int[]>();
+		events.add(new int[] { 0, left, 1 });
+		events.add(new int[] { SWEEP_TICKS, left, 0 });
+		events.add(new int[] { SWEEP_TICKS, right, 1 });
+		events.add(new int[] { SWEEP_TICKS * 2 - 1, right, 0 });
+		for (int tick = 0; tick < SWEEP_TICKS * 2; tick += FIRE_TICKS) {
+			events.add(new int[] { tick, attack, 1 });
+			events.add(new int[] { tick + 2, attack, 0 });
+		}
+		events.sort((a, b) -> Integer.compare(a[0], b[0]));
+		return new InputScript(events, SWEEP_TICKS * 2);
+	}
+
+	/**
+	 * Creates a script playing back recorded input once, checking the
+	 * counters of the input manager against the recorded ones.
+	 *
+	 * @param events
+	 *            Events as {tick, key code, 1 for press or 0 for release},
+	 *            in order.
+	 * @param checkpoints
+	 *            Expected counters as {tick, counters...}, in order.
+	 * @return Replay script.
+	 */
+	static InputScript replay(final List<int[]> events,
+			final List<int[]> checkpoints) {
+		InputScript script = new InputScript(events, 0);
+		script.checkTicks = new int[checkpoints.size()];
+		script.checkCounters = new int[checkpoints.size()][];
+		for (int i = 0; i < checkpoints.size(); i++) {
+			int[] checkpoint = checkpoints.get(i);
+			script.checkTicks[i] = checkpoint[0];
+			script.checkCounters[i] = Arrays.copyOfRange(checkpoint, 1,
+					checkpoint.length);
+		}
+		return script;
+	}
+
+	/**
+	 * Plays the events of the current tick and moves to the next one.
+	 *
+	 * @param inputManager
+	 *            Input manager to feed the events to.
+	 */
+	public void apply(final InputManager inputManager) {
+		long scriptTick = this.tick;
+		if (this.period > 0) {
+			scriptTick %= this.period;
+			if (scriptTick == 0)
+				this.cursor = 0;
+		}
+		while (this.cursor < this.eventTicks.length
+				&& this.eventTicks[this.cursor] <= scriptTick) {
+			if (this.eventPresses[this.cursor])
+				inputManager.pressKey(this.eventKeys[this.cursor]);
+			else
+				inputManager.releaseKey(this.eventKeys[this.cursor]);
+			this.cursor++;
+		}
+		while (this.checkCursor < this.checkTicks.length
+				&& this.checkTicks[this.checkCursor] <= scriptTick) {
+			inputManager.getCounters(this.counters);
+			if (!this.desynced && !Arrays.equals(this.counters,
+					this.checkCounters[this.checkCursor])) {
+				this.desynced = true;
+				Core.getLogger().warning("Replay out of step at tick "
+						+ scriptTick + ": input counters "
+						+ Arrays.toString(this.counters) + ", recorded "
+						+ Arrays.toString(this.checkCounters[this.checkCursor]));
+			}
+			this.checkCursor++;
+		}
+		this.tick++;
+	}
+
+	/**
+	 * Checks if played back input stopped matching the recording.
+	 *
+	 * @return True if the counters differed from the recorded ones.
+	 */
+	public boolean isDesynced() {
+		return this.desynced;
+	}
+
+	/**
+	 * Getter for the number of ticks played.
+	 *
+	 * @return Ticks played so far.
+	 */
+	public long getTick() {
+		return this.tick;
+	}
+}
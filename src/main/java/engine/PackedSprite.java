@@ -0,0 +1,193 @@
+package engine;
+
+/**
+ * Pixels of a sprite, one bit each, packed in a long per row: bit x of row
+ * y is the pixel in column x.
+ *
+ * The same rows are used to draw the sprite and to test collisions. For
+ * the collision test a copy at the scale sprites are drawn at is built on
+ * demand, so that two sprites are compared by shifting and ANDing whole
+ * rows instead of pixel by pixel.
+ */
+public final class PackedSprite {
+
+	/** Screen pixels per sprite pixel, in each axis. */
+	public static final int SCALE = 2;
+	/** Widest sprite that still fits a long per row once scaled. */
+	private static final int MAX_WIDTH = Long.SIZE / SCALE;
+
+	/** Sprite width, in sprite pixels. */
+	private final int width;
+	/** Sprite height, in sprite pixels. */
+	private final int height;
+	/** Lit pixels of each row. */
+	private final long[] rows;
+	/** Lit pixels of each row at screen scale, null until needed. */
+	private long[] scaledRows;
+
+	/**
+	 * Constructor, makes a sprite with no lit pixels.
+	 *
+	 * @param width
+	 *            Sprite width, at most 32 pixels.
+	 * @param height
+	 *            Sprite height.
+	 */
+	public PackedSprite(final int width, final int height) {
+		if (width > MAX_WIDTH)
+			throw new IllegalArgumentException("Sprite is " + width
+					+ " pixels wide, at most " + MAX_WIDTH + " fit.");
+		this.width = width;
+		this.height = height;
+		this.rows = new long[height];
+	}
+
+	/**
+	 * Getter for the sprite width.
+	 *
+	 * @return Width in sprite pixels.
+	 */
+	public int getWidth() {
+		return this.width;
+	}
+
+	/**
+	 * Getter for the sprite height.
+	 *
+	 * @return Height in sprite pixels.
+	 */
+	public int getHeight() {
+		return this.height;
+	}
+
+	/**
+	 * Checks if a pixel is lit.
+	 *
+	 * @param x
+	 *            Column of the pixel.
+	 * @param y
+	 *            Row of the pixel.
+	 * @return True if the pixel is lit.
+	 */
+	public boolean get(final int x, final int y) {
+		return (this.rows[y] >>> x & 1L) != 0;
+	}
+
+	/**
+	 * Lights or clears a pixel.
+	 *
+	 * @param x
+	 *            Column of the pixel.
+	 * @param y
+	 *            Row of the pixel.
+	 * @param lit
+	 *            True to light the pixel.
+	 */
+	public void set(final int x, final int y, final boolean lit) {
+		if (lit)
+			this.rows[y] |= 1L << x;
+		else
+			this.rows[y] &= ~(1L << x);
+		this.scaledRows = null;
+	}
+
+	/**
+	 * Getter for the lit pixels of a row.
+	 *
+	 * @param y
+	 *            Row to get.
+	 * @return Bit x set for each lit pixel in column x.
+	 */
+	public long getRow(final int y) {
+		return this.rows[y];
+	}
+
+	/**
+	 * Replaces the lit pixels of a row.
+	 *
+	 * @param y
+	 *            Row to replace.
+	 * @param row
+	 *            Bit x set for each lit pixel in column x.
+	 */
+	public void setRow(final int y, final long row) {
+		this.rows[y] = row;
+		this.scaledRows = null;
+	}
+
+	/**
+	 * Getter for the memory taken by the pixels.
+	 *
+	 * @return Size of the rows in bytes.
+	 */
+	public long getSize() {
+		return (long) this.rows.length * Long.BYTES;
+	}
+
+	/**
+	 * Checks if the lit pixels of two sprites overlap, with both drawn at
+	 * screen scale. Only meant to be called once their bounding boxes are
+	 * known to overlap.
+	 *
+	 * @param a
+	 *            First sprite.
+	 * @param positionAX
+	 *            Position of the first sprite in the X axis.
+	 * @param positionAY
+	 *            Position of the first sprite in the Y axis.
+	 * @param b
+	 *            Second sprite.
+	 * @param positionBX
+	 *            Position of the second sprite in the X axis.
+	 * @param positionBY
+	 *            Position of the second sprite in the Y axis.
+	 * @return True if a lit pixel of each is on the same screen pixel.
+	 */
+	public static boolean overlaps(final PackedSprite a, final int positionAX,
+			final int positionAY, final PackedSprite b, final int positionBX,
+			final int positionBY) {
+		int offsetX = positionBX - positionAX;
+		if (offsetX >= Long.SIZE || offsetX <= -Long.SIZE)
+			return false;
+		long[] rowsA = a.getScaledRows();
+		long[] rowsB = b.getScaledRows();
+		int top = Math.max(positionAY, positionBY);
+		int bottom = Math.min(positionAY + rowsA.length,
+				positionBY + rowsB.length);
+
+		for (int y = top; y < bottom; y++) {
+			long rowA = rowsA[y - positionAY];
+			long rowB = rowsB[y - positionBY];
+			// Line both rows up on the leftmost of the two sprites.
+			if (offsetX >= 0 ? (rowA & rowB << offsetX) != 0
+					: (rowA << -offsetX & rowB) != 0)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Getter for the rows at screen scale, building them if the pixels
+	 * changed since the last call.
+	 *
+	 * @return Lit screen pixels of each screen row.
+	 */
+	private long[] getScaledRows() {
+		if (this.scaledRows == null) {
+			long[] scaled = new long[this.height * SCALE];
+			for (int y = 0; y < this.height; y++) {
+				long row = this.rows[y];
+				long wide = 0;
+				while (row != 0) {
+					int x = Long.numberOfTrailingZeros(row);
+					wide |= ((1L << SCALE) - 1) << x * SCALE;
+					row &= row - 1;
+				}
+				for (int i = 0; i < SCALE; i++)
+					scaled[y * SCALE + i] = wide;
+			}
+			this.scaledRows = scaled;
+		}
+		return this.scaledRows;
+	}
+}
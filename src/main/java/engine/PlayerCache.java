@@ -0,0 +1,202 @@
+package engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the current player in memory and writes it to its file from a
+ * background thread, so screens never wait on the disk.
+ *
+ * Changes made close together are written once: the writer waits a short
+ * while after the first change before taking a snapshot. Each write goes to
+ * a temporary file which then replaces the player file in one move, so the
+ * file always holds a whole player.
+ */
+public final class PlayerCache implements Runnable {
+
+	/** Time the writer waits for more changes before writing. */
+	private static final long COALESCE_MILLIS = 200;
+
+	/** Application logger. */
+	private static final Logger LOGGER = Core.getLogger();
+
+	/** File the player is written to. */
+	private final Path file;
+	/** Temporary file each write goes to first. */
+	private final Path tempFile;
+	/** Player kept, null if none is loaded. */
+	private Player player;
+	/** Number of changes made so far. */
+	private long version;
+	/** Number of changes already written. */
+	private long writtenVersion;
+	/** Serializes writes between the writer and flush(). */
+	private final Object writeLock = new Object();
+
+	/**
+	 * Constructor, starts the writer thread.
+	 *
+	 * @param file
+	 *            File the player is written to.
+	 */
+	public PlayerCache(final Path file) {
+		this.file = file;
+		this.tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+
+		Thread writer = new Thread(this, "PlayerWriter");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Getter for the player kept.
+	 *
+	 * @return Current player, null if none is loaded.
+	 */
+	public synchronized Player get() {
+		return this.player;
+	}
+
+	/**
+	 * Replaces the player kept and schedules a write.
+	 *
+	 * @param player
+	 *            New current player.
+	 */
+	public synchronized void set(final Player player) {
+		this.player = player;
+		this.version++;
+		notifyAll();
+	}
+
+	/**
+	 * Replaces the player kept with one read from its file, without writing
+	 * it back.
+	 *
+	 * @param player
+	 *            Player read from the file.
+	 */
+	public synchronized void load(final Player player) {
+		this.player = player;
+	}
+
+	/**
+	 * Changes the player kept and schedules a write.
+	 *
+	 * @param change
+	 *            Change to make, only called if a player is loaded.
+	 */
+	public synchronized void modify(final Consumer<Player> change) {
+		if (this.player == null)
+			return;
+		change.accept(this.player);
+		this.version++;
+		notifyAll();
+	}
+
+	/**
+	 * Writes any pending change right away, on the calling thread.
+	 *
+	 * @throws IOException
+	 *             In case of saving problems.
+	 */
+	public void flush() throws IOException {
+		write();
+	}
+
+	/**
+	 * Writes pending changes, shortly after each first change, until the
+	 * program ends.
+	 */
+	@Override
+	public void run() {
+		while (true) {
+			try {
+				synchronized (this) {
+					while (this.version == this.writtenVersion)
+						wait();
+				}
+				Thread.sleep(COALESCE_MILLIS);
+				write();
+			} catch (InterruptedException e) {
+				return;
+			} catch (IOException e) {
+				LOGGER.warning("Couldn't write current player: "
+						+ e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Writes a snapshot of the player if it changed since the last write.
+	 *
+	 * @throws IOException
+	 *             In case of saving problems.
+	 */
+	private void write() throws IOException {
+		synchronized (this.writeLock) {
+			List<String> lines;
+			long snapshotVersion;
+			synchronized (this) {
+				if (this.player == null)
+					this.writtenVersion = this.version;
+				if (this.version == this.writtenVersion)
+					return;
+				lines = toLines(this.player);
+				snapshotVersion = this.version;
+			}
+
+			byte[] bytes = (String.join(System.lineSeparator(), lines)
+					+ System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+			try (FileChannel channel = FileChannel.open(this.tempFile,
+					StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING)) {
+				channel.write(ByteBuffer.wrap(bytes));
+				channel.force(true);
+			}
+			try {
+				Files.move(this.tempFile, this.file,
+						StandardCopyOption.ATOMIC_MOVE,
+						StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(this.tempFile, this.file,
+						StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			synchronized (this) {
+				this.writtenVersion = Math.max(this.writtenVersion,
+						snapshotVersion);
+			}
+			LOGGER.fine("Wrote current player " + lines.get(0) + ".");
+		}
+	}
+
+	/**
+	 * Formats a player as the four lines of its file.
+	 *
+	 * @param player
+	 *            Player to format.
+	 * @return Name, currency, login time and items.
+	 */
+	private static List<String> toLines(final Player player) {
+		StringBuilder items = new StringBuilder();
+		List<Boolean> itemList = player.getItem();
+		for (int i = 0; i < itemList.size(); i++) {
+			if (i > 0)
+				items.append(", ");
+			items.append(itemList.get(i));
+		}
+		return List.of(player.getName(), String.valueOf(player.getCurrency()),
+				player.getLoginTime(), items.toString());
+	}
+}
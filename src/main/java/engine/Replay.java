@@ -0,0 +1,553 @@
+package engine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import screen.SelectScreen;
+
+/**
+ * Recording of one game level: everything needed to start it again the same
+ * way, and the input of every tick, so it can be played back exactly.
+ *
+ * The file starts with the seed of the game random numbers, the game state,
+ * the level settings, the shop items, the skill mode and key settings, the
+ * skins collisions are tested with, and the input state at the start. The
+ * input follows as a stream of records, each starting with the ticks since
+ * the previous record as a variable length number. Records are key presses
+ * and releases, and the counters derived from key releases whenever they
+ * change, as differences from their last values. These last ones are only
+ * checked on playback, to detect a replay going out of step.
+ */
+public final class Replay {
+
+	/** Marks a replay file. */
+	private static final int MAGIC = 0x52504C59;
+	/** Version of the file layout. */
+	private static final int VERSION = 3;
+	/** Record of a key release. */
+	private static final int RELEASE = 0;
+	/** Record of a key press. */
+	private static final int PRESS = 1;
+	/** Record of changed counters. */
+	private static final int COUNTERS = 2;
+	/** Record closing the stream, on the last tick. */
+	private static final int END = 3;
+	/** Sprites that can change skin, whose pixels bullets are tested on. */
+	private static final DrawManager.SpriteType[] SKINNED = {
+			DrawManager.SpriteType.Ship, DrawManager.SpriteType.Ship2,
+			DrawManager.SpriteType.Bullet };
+
+	/** Seed of the game random numbers. */
+	private final long seed;
+	/** Logic updates per second. */
+	private final int fps;
+	/** Game state at the start of the level. */
+	private final GameState gameState;
+	/** Settings of the level. */
+	private final GameSettings gameSettings;
+	/** If the level started with an extra life. */
+	private final boolean bonusLife;
+	/** Shop items owned. */
+	private final List<Boolean> shopItems;
+	/** If skills were turned on. */
+	private final boolean skillMode;
+	/** Key codes of every action, as Core keeps them. */
+	private final int[] keySetting;
+	/** Skin applied to each skinned sprite, in the order of SKINNED. */
+	private final int[] skins;
+	/** Keys pressed at the start. */
+	private final boolean[] keys;
+	/** Counters derived from key releases at the start. */
+	private final int[] counters;
+	/** Input of every tick, as written in the file. */
+	private final byte[] stream;
+
+	/**
+	 * Constructor, keeps the starting conditions of a level.
+	 *
+	 * @param seed
+	 *            Seed of the game random numbers.
+	 * @param fps
+	 *            Logic updates per second.
+	 * @param gameState
+	 *            Game state at the start.
+	 * @param gameSettings
+	 *            Settings of the level.
+	 * @param bonusLife
+	 *            If the level starts with an extra life.
+	 * @param shopItems
+	 *            Shop items owned.
+	 * @param skillMode
+	 *            If skills were turned on.
+	 * @param keySetting
+	 *            Key codes of every action.
+	 * @param skins
+	 *            Skin applied to each skinned sprite.
+	 * @param keys
+	 *            Keys pressed at the start.
+	 * @param counters
+	 *            Counters derived from key releases at the start.
+	 * @param stream
+	 *            Recorded input.
+	 */
+	private Replay(final long seed, final int fps, final GameState gameState,
+			final GameSettings gameSettings, final boolean bonusLife,
+			final List<Boolean> shopItems, final boolean skillMode,
+			final int[] keySetting, final int[] skins, final boolean[] keys,
+			final int[] counters, final byte[] stream) {
+		this.seed = seed;
+		this.fps = fps;
+		this.gameState = gameState;
+		this.gameSettings = gameSettings;
+		this.bonusLife = bonusLife;
+		this.shopItems = shopItems;
+		this.skillMode = skillMode;
+		this.keySetting = keySetting;
+		this.skins = skins;
+		this.keys = keys;
+		this.counters = counters;
+		this.stream = stream;
+	}
+
+	/**
+	 * Records the input of a level as it is played.
+	 */
+	public static final class Recorder {
+
+		/** File the replay is saved to. */
+		private final Path path;
+		/** Starting conditions, with no input yet. */
+		private final Replay start;
+		/** Recorded input. */
+		private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		/** Ticks recorded. */
+		private int tick;
+		/** Tick of the last record written. */
+		private int lastTick;
+		/** Counters read this tick. */
+		private final int[] counters = new int[InputManager.NUM_COUNTERS];
+		/** Counters last written. */
+		private final int[] lastCounters;
+
+		/**
+		 * Constructor, takes the starting conditions of the level, and the
+		 * skill mode, key settings and skins in use.
+		 *
+		 * @param path
+		 *            File to save the replay to.
+		 * @param seed
+		 *            Seed the game random numbers were just reset with.
+		 * @param fps
+		 *            Logic updates per second.
+		 * @param gameState
+		 *            Game state at the start.
+		 * @param gameSettings
+		 *            Settings of the level.
+		 * @param bonusLife
+		 *            If the level starts with an extra life.
+		 * @param shopItems
+		 *            Shop items owned.
+		 * @param inputManager
+		 *            Input manager, to read the starting input from.
+		 */
+		public Recorder(final Path path, final long seed, final int fps,
+				final GameState gameState, final GameSettings gameSettings,
+				final boolean bonusLife, final List<Boolean> shopItems,
+				final InputManager inputManager) {
+			this.path = path;
+			int[] startCounters = new int[InputManager.NUM_COUNTERS];
+			inputManager.getCounters(startCounters);
+			this.lastCounters = startCounters.clone();
+			int[] skins = new int[SKINNED.length];
+			for (int i = 0; i < SKINNED.length; i++)
+				skins[i] = DrawManager.getInstance().getAppliedSkin(SKINNED[i]);
+			this.start = new Replay(seed, fps, gameState, gameSettings,
+					bonusLife, new ArrayList<Boolean>(shopItems),
+					SelectScreen.skillModeOn,
+					Core.getKeySettingCodeArray().clone(), skins,
+					inputManager.getKeys(), startCounters, null);
+		}
+
+		/**
+		 * Records the input of the current tick, once it has been applied
+		 * and before the screen is updated.
+		 *
+		 * @param inputManager
+		 *            Input manager to read the tick from.
+		 */
+		public void record(final InputManager inputManager) {
+			for (int i = 0; i < inputManager.getTickEventCount(); i++) {
+				int event = inputManager.getTickEvent(i);
+				writeRecord((event >> 1) << 2 | ((event & 1) == 1 ? PRESS
+						: RELEASE));
+			}
+
+			inputManager.getCounters(this.counters);
+			if (!Arrays.equals(this.counters, this.lastCounters)) {
+				writeRecord(COUNTERS);
+				for (int i = 0; i < this.counters.length; i++) {
+					int delta = this.counters[i] - this.lastCounters[i];
+					writeVarint(this.stream, (delta << 1) ^ (delta >> 31));
+					this.lastCounters[i] = this.counters[i];
+				}
+			}
+			this.tick++;
+		}
+
+		/**
+		 * Writes a record header for the current tick.
+		 *
+		 * @param tag
+		 *            Key code times four plus the record type.
+		 */
+		private void writeRecord(final int tag) {
+			writeVarint(this.stream, this.tick - this.lastTick);
+			writeVarint(this.stream, tag);
+			this.lastTick = this.tick;
+		}
+
+		/**
+		 * Saves the replay, ending it at the last tick recorded.
+		 *
+		 * @throws IOException
+		 *             In case of saving problems.
+		 */
+		public void save() throws IOException {
+			writeRecord(END);
+			Replay replay = new Replay(start.seed, start.fps, start.gameState,
+					start.gameSettings, start.bonusLife, start.shopItems,
+					start.skillMode, start.keySetting, start.skins,
+					start.keys, start.counters, this.stream.toByteArray());
+			Files.createDirectories(this.path.toAbsolutePath().getParent());
+			try (OutputStream out = Files.newOutputStream(this.path)) {
+				replay.write(out);
+			}
+			Core.getLogger().info("Saved replay of " + this.tick
+					+ " ticks to " + this.path + ".");
+		}
+	}
+
+	/**
+	 * Writes the replay.
+	 *
+	 * @param out
+	 *            Stream to write to.
+	 * @throws IOException
+	 *             In case of saving problems.
+	 */
+	private void write(final OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeByte(VERSION);
+		data.writeLong(this.seed);
+		data.writeInt(this.fps);
+
+		data.writeByte(this.gameState.getMode());
+		data.writeInt(this.gameState.getLevel());
+		data.writeInt(this.gameState.getScore());
+		data.writeInt(this.gameState.getLivesRemaining1p());
+		data.writeInt(this.gameState.getLivesRemaining2p());
+		data.writeInt(this.gameState.getBulletsShot1());
+		data.writeInt(this.gameState.getBulletsShot2());
+		data.writeInt(this.gameState.getShipsDestroyed());
+		data.writeInt(this.gameState.getShipsDestroyed2());
+		data.writeBoolean(this.bonusLife);
+
+		data.writeInt(this.gameSettings.getFormationWidth());
+		data.writeInt(this.gameSettings.getFormationHeight());
+		data.writeInt(this.gameSettings.getBaseSpeed());
+		data.writeInt(this.gameSettings.getShootingFrecuency());
+		data.writeDouble(this.gameSettings.getItemSpeed());
+		data.writeUTF(this.gameSettings.getLevelName());
+
+		data.writeByte(this.shopItems.size());
+		for (boolean item : this.shopItems)
+			data.writeBoolean(item);
+		data.writeBoolean(this.skillMode);
+		data.writeByte(this.keySetting.length);
+		for (int code : this.keySetting)
+			data.writeShort(code);
+		for (int skin : this.skins)
+			data.writeByte(skin);
+		int pressed = 0;
+		for (boolean key : this.keys)
+			if (key)
+				pressed++;
+		data.writeShort(pressed);
+		for (int code = 0; code < this.keys.length; code++)
+			if (this.keys[code])
+				data.writeShort(code);
+		for (int counter : this.counters)
+			data.writeInt(counter);
+
+		data.writeInt(this.stream.length);
+		data.write(this.stream);
+		data.flush();
+	}
+
+	/**
+	 * Loads a replay from a file.
+	 *
+	 * @param path
+	 *            File to read.
+	 * @return Loaded replay.
+	 * @throws IOException
+	 *             In case of loading problems or an unknown format.
+	 */
+	public static Replay load(final Path path) throws IOException {
+		try (InputStream in = Files.newInputStream(path)) {
+			DataInputStream data = new DataInputStream(in);
+			if (data.readInt() != MAGIC || data.readByte() != VERSION)
+				throw new IOException("Unknown replay format: " + path);
+			long seed = data.readLong();
+			int fps = data.readInt();
+
+			int mode = data.readByte();
+			int level = data.readInt();
+			int score = data.readInt();
+			int lives1 = data.readInt();
+			int lives2 = data.readInt();
+			int bullets1 = data.readInt();
+			int bullets2 = data.readInt();
+			int ships1 = data.readInt();
+			int ships2 = data.readInt();
+			GameState gameState = mode == 2
+					? new GameState(level, score, lives1, lives2, bullets1,
+							bullets2, ships1, ships2)
+					: new GameState(level, score, lives1, bullets1, ships1);
+			boolean bonusLife = data.readBoolean();
+
+			GameSettings gameSettings = new GameSettings(data.readInt(),
+					data.readInt(), data.readInt(), data.readInt(),
+					data.readDouble(), data.readUTF());
+
+			List<Boolean> shopItems = new ArrayList<Boolean>();
+			int itemCount = data.readByte();
+			for (int i = 0; i < itemCount; i++)
+				shopItems.add(data.readBoolean());
+			boolean skillMode = data.readBoolean();
+			int[] keySetting = new int[data.readUnsignedByte()];
+			for (int i = 0; i < keySetting.length; i++)
+				keySetting[i] = data.readUnsignedShort();
+			int[] skins = new int[SKINNED.length];
+			for (int i = 0; i < skins.length; i++)
+				skins[i] = data.readByte();
+			boolean[] keys = new boolean[256];
+			int pressed = data.readShort();
+			for (int i = 0; i < pressed; i++)
+				keys[data.readShort()] = true;
+			int[] counters = new int[InputManager.NUM_COUNTERS];
+			for (int i = 0; i < counters.length; i++)
+				counters[i] = data.readInt();
+
+			byte[] stream = new byte[data.readInt()];
+			data.readFully(stream);
+			return new Replay(seed, fps, gameState, gameSettings, bonusLife,
+					shopItems, skillMode, keySetting, skins, keys, counters,
+					stream);
+		} catch (IndexOutOfBoundsException e) {
+			throw new IOException("Corrupt replay: " + path, e);
+		}
+	}
+
+	/**
+	 * Creates a script playing the recorded input back, and checking the
+	 * recorded counters along the way.
+	 *
+	 * @return Input script of the replay.
+	 * @throws IOException
+	 *             In case the recorded input is corrupt.
+	 */
+	public InputScript toInputScript() throws IOException {
+		List<int[]> events = new ArrayList<int[]>();
+		List<int[]> checkpoints = new ArrayList<int[]>();
+		int[] current = this.counters.clone();
+		int[] position = { 0 };
+		int tick = 0;
+		while (true) {
+			tick += readVarint(this.stream, position);
+			int tag = readVarint(this.stream, position);
+			int kind = tag & 3;
+			if (kind == END)
+				break;
+			if (kind == COUNTERS) {
+				int[] checkpoint = new int[1 + current.length];
+				checkpoint[0] = tick;
+				for (int i = 0; i < current.length; i++) {
+					int zigzag = readVarint(this.stream, position);
+					current[i] += (zigzag >>> 1) ^ -(zigzag & 1);
+					checkpoint[1 + i] = current[i];
+				}
+				checkpoints.add(checkpoint);
+			} else {
+				events.add(new int[] { tick, tag >> 2, kind == PRESS ? 1 : 0 });
+			}
+		}
+		return InputScript.replay(events, checkpoints);
+	}
+
+	/**
+	 * Puts the input manager in the state it was at the start.
+	 *
+	 * @param inputManager
+	 *            Input manager to set.
+	 */
+	public void restoreInput(final InputManager inputManager) {
+		inputManager.setKeys(this.keys);
+		inputManager.setCounters(this.counters);
+	}
+
+	/**
+	 * Puts back the skill mode, key settings and skins the level was
+	 * recorded with. Must be called before the game screen is created, as
+	 * the settings are read while it is built. Skins are only applied when
+	 * other than the default look, which playback starts with.
+	 */
+	public void restoreSettings() {
+		SelectScreen.skillModeOn = this.skillMode;
+		for (int i = 0; i < this.keySetting.length; i++)
+			Core.setKeySettingCode(i, this.keySetting[i]);
+		for (int i = 0; i < SKINNED.length; i++)
+			if (this.skins[i] != SpriteSheet.BASE)
+				DrawManager.getInstance().applySkin(SKINNED[i], this.skins[i]);
+	}
+
+	/**
+	 * Getter for the seed of the game random numbers.
+	 *
+	 * @return Seed to reset the random numbers with.
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * Getter for the logic updates per second recorded at.
+	 *
+	 * @return Updates per second.
+	 */
+	public int getFps() {
+		return this.fps;
+	}
+
+	/**
+	 * Getter for the game state at the start.
+	 *
+	 * @return Starting game state.
+	 */
+	public GameState getGameState() {
+		return this.gameState;
+	}
+
+	/**
+	 * Getter for the settings of the level.
+	 *
+	 * @return Level settings.
+	 */
+	public GameSettings getGameSettings() {
+		return this.gameSettings;
+	}
+
+	/**
+	 * Checks if the level started with an extra life.
+	 *
+	 * @return True if there was a bonus life.
+	 */
+	public boolean isBonusLife() {
+		return this.bonusLife;
+	}
+
+	/**
+	 * Getter for the shop items owned.
+	 *
+	 * @return Owned state of each shop item.
+	 */
+	public List<Boolean> getShopItems() {
+		return this.shopItems;
+	}
+
+	/**
+	 * Checks if skills were turned on.
+	 *
+	 * @return True if skill mode was on.
+	 */
+	public boolean isSkillMode() {
+		return this.skillMode;
+	}
+
+	/**
+	 * Getter for the key settings recorded with.
+	 *
+	 * @return Key code of every action.
+	 */
+	public int[] getKeySetting() {
+		return this.keySetting.clone();
+	}
+
+	/**
+	 * Getter for the skin a sprite was recorded with.
+	 *
+	 * @param spriteType
+	 *            Sprite to check.
+	 * @return Skin applied, SpriteSheet.BASE for the default look or a
+	 *         sprite that is not recorded.
+	 */
+	public int getSkin(final DrawManager.SpriteType spriteType) {
+		for (int i = 0; i < SKINNED.length; i++)
+			if (SKINNED[i] == spriteType)
+				return this.skins[i];
+		return SpriteSheet.BASE;
+	}
+
+	/**
+	 * Writes a non negative number in groups of 7 bits, lowest first.
+	 *
+	 * @param out
+	 *            Stream to write to.
+	 * @param value
+	 *            Number to write.
+	 */
+	private static void writeVarint(final ByteArrayOutputStream out,
+			final int value) {
+		int remaining = value;
+		while ((remaining & ~0x7F) != 0) {
+			out.write((remaining & 0x7F) | 0x80);
+			remaining >>>= 7;
+		}
+		out.write(remaining);
+	}
+
+	/**
+	 * Reads a number written by writeVarint.
+	 *
+	 * @param bytes
+	 *            Bytes to read from.
+	 * @param position
+	 *            Position to read at, moved past the number.
+	 * @return Number read.
+	 * @throws IOException
+	 *             In case the number runs past the end.
+	 */
+	private static int readVarint(final byte[] bytes, final int[] position)
+			throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+			if (position[0] >= bytes.length)
+				throw new IOException("Replay input ends early.");
+			int b = bytes[position[0]++];
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Malformed replay input.");
+	}
+}
@@ -1,172 +1,90 @@
 package engine;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.*;
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
-import javax.sound.sampled.LineEvent;
-import javax.sound.sampled.FloatControl;
-import javax.sound.sampled.FloatControl.Type;
 
 public class SoundManager {
-    private static HashMap<String, Clip> clips = new HashMap<>();
-    private static ArrayList<Clip> bgms = new ArrayList<>();
-    private static float masterVolume;
-
-    static {
-        try {
-            masterVolume = Core.getFileManager().loadSettings().get(0).getValue();
-        } catch (IOException e) {
-            Core.getLogger().warning("Couldn't load Settings!");
-        }
-    }
-
+    /** Handle of the last sound played under each clip name, in a reused holder. */
+    private static HashMap<String, int[]> clips = new HashMap<>();
+    private static HashSet<String> bgms = new HashSet<>();
+    /** Decoded sounds, by path under res/sound without extension. */
+    private static HashMap<String, AudioMixer.Sound> sounds = new HashMap<>();
+    /** Sounds that couldn't be loaded, not tried again. */
+    private static HashSet<String> missing = new HashSet<>();
+    /** If sounds are played at all, false when running without audio. */
+    private static boolean enabled = true;
+    /** Priority of music and looping sounds, never taken over by effects. */
+    private static final int MUSIC_PRIORITY = 2;
+    /** Priority of sound effects. */
+    private static final int EFFECT_PRIORITY = 1;
+
+    // Core.loadSettings has read the volume before the first sound plays.
+    private static float masterVolume = Core.soundVolume;
     private static final float minimum = -80;
     private static final float maximum = 6;
     private static final float one = ((Math.abs(minimum)+Math.abs(maximum))/100);
     private static float master = getValue(masterVolume);
 
+    private static AudioMixer.Sound getSound(String soundFilePathShort) {
+        AudioMixer.Sound sound = sounds.get(soundFilePathShort);
+        if (sound != null || missing.contains(soundFilePathShort)) return sound;
+        // Usually preloaded at startup, otherwise decoded now.
+        sound = AssetManager.getInstance().getSound(soundFilePathShort).join();
+        if (sound == null) missing.add(soundFilePathShort);
+        else sounds.put(soundFilePathShort, sound);
+        return sound;
+    }
+
+    private static AudioMixer mixer() {
+        return enabled ? AudioMixer.getInstance() : null;
+    }
+
+    private static int handleOf(String clipName) {
+        int[] handle = clips.get(clipName);
+        return handle == null ? -1 : handle[0];
+    }
+
+    private static int fadeMillis(float fadeSpeed) {
+        // Matches the old fades, stepping by speed percent every 50 ms.
+        return (int) (100 / fadeSpeed * 50);
+    }
+
+    private static int start(String soundFilePathShort, String clipName, boolean isLoop, boolean isBgm, float gain) {
+        AudioMixer mixer = mixer();
+        if (mixer == null) return -1;
+        if ((isLoop || isBgm) && mixer.isPlaying(handleOf(clipName))) return -1;
+        AudioMixer.Sound sound = getSound(soundFilePathShort);
+        if (sound == null) return -1;
+
+        int handle = mixer.play(sound, gain, isLoop,
+                isLoop || isBgm ? MUSIC_PRIORITY : EFFECT_PRIORITY);
+        if (handle < 0) return -1;
+        clips.computeIfAbsent(clipName, name -> new int[1])[0] = handle;
+        if (isBgm) bgms.add(clipName);
+        return handle;
+    }
+
     public static void playSound(String soundFilePathShort, String clipName, boolean isLoop, boolean isBgm) {
-        String soundFilePath = "res/sound/"+soundFilePathShort+".wav";
-        Clip clip = clips.get(clipName);
-        if (clip != null && clip.isActive()) {
-            return;
-        }
-        new Thread(new Runnable() {
-            public void run() {
-                try {
-                    File soundFile = new File(soundFilePath);
-                    AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundFile);
-                    Clip clip = AudioSystem.getClip();
-                    clip.open(audioIn);
-                    FloatControl floatControl = (FloatControl)clip.getControl(Type.MASTER_GAIN);
-                    floatControl.setValue(master);
-                    clips.put(clipName, clip);
-                    if(isBgm) {
-                        bgms.add(clip);
-                    } else {
-                        clip.addLineListener(event -> {
-                            if (event.getType() == LineEvent.Type.STOP) {
-                                clip.close();
-                            }
-                        });
-                    }
-                    if (isLoop) {
-                        clip.loop(-1);
-                    } else {
-                        clip.start();
-                    }
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }
-        }).start();
+        start(soundFilePathShort, clipName, isLoop, isBgm, isBgm && !Core.bgmOn ? 0 : toLinear(master));
     }
 
     public static void playSound(String soundFilePathShort, String clipName, boolean isLoop, boolean isBgm, float fadeInSpeed) {
-        String soundFilePath = "res/sound/"+soundFilePathShort+".wav";
-        Clip clip = clips.get(clipName);
-        if (clip != null && clip.isActive()) {
-            return;
-        }
-        new Thread(new Runnable() {
-            public void run() {
-                try {
-                    File soundFile = new File(soundFilePath);
-                    AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundFile);
-                    Clip clip = AudioSystem.getClip();
-                    clip.open(audioIn);
-                    FloatControl floatControl = (FloatControl) clip.getControl(Type.MASTER_GAIN);
-                    floatControl.setValue(minimum);
-                    clips.put(clipName, clip);
-                    if(isBgm) {
-                        bgms.add(clip);
-                    } else {
-                        clip.addLineListener(event -> {
-                            if (event.getType() == LineEvent.Type.STOP) {
-                                clip.close();
-                            }
-                        });
-                    }
-                    if (isLoop) {
-                        clip.loop(-1);
-                    } else {
-                        clip.start();
-                    }
-                    fadeIn(clip, fadeInSpeed);
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }
-        }).start();
+        int handle = start(soundFilePathShort, clipName, isLoop, isBgm, 0);
+        if (handle >= 0 && !(isBgm && !Core.bgmOn))
+            mixer().fadeTo(handle, toLinear(getValue(masterVolume)), fadeMillis(fadeInSpeed), false);
     }
 
     public static void stopSound(String clipName) {
-        Clip clip = clips.get(clipName);
-        if (clip != null && clip.isActive()) {
-            bgms.remove(clip);
-            clips.remove(clipName);
-            clip.close();
-        }
+        AudioMixer mixer = mixer();
+        if (mixer == null) return;
+        mixer.stop(handleOf(clipName));
+        bgms.remove(clipName);
     }
 
     public static void stopSound(String clipName, float fadeoutSpeed) {
-        Clip clip = clips.get(clipName);
-        if (clip != null && clip.isActive()) {
-            new Thread(new Runnable() {
-                public void run() {
-                    FloatControl floatControl = (FloatControl) clips.get(clipName).getControl(Type.MASTER_GAIN);
-                    float volume = masterVolume;
-                    float tmpOne = volume/100;
-                    float minimumValue = getValue(0);
-                    float value = getValue(volume);
-                    while(floatControl.getValue()>minimumValue){
-                        if(value<minimum){
-                            floatControl.setValue(minimum);
-                            break;
-                        }
-                        floatControl.setValue(value);
-                        volume-=(tmpOne*fadeoutSpeed);
-                        value = getValue(volume);
-                        try {
-                            Thread.sleep(50);
-                        } catch (InterruptedException e) {
-                            throw new RuntimeException(e);
-                        }
-                    }
-                    bgms.remove(clip);
-                    clips.remove(clipName);
-                    clip.close();
-                }
-            }).start();
-        }
-    }
-
-    private static void fadeIn(Clip clip, float fadeInSpeed) {
-        new Thread(new Runnable() {
-
-            public void run() {
-                FloatControl floatControl = (FloatControl) clip.getControl(Type.MASTER_GAIN);
-                floatControl.setValue(minimum);
-                float volume = 0;
-                float value = getValue(volume);
-                float tmpOne = masterVolume/100;
-                float maxValue = getValue(masterVolume);
-                while(value<maxValue){
-                    floatControl.setValue(value);
-                    volume+=(tmpOne*fadeInSpeed);
-                    value = getValue(volume);
-                    floatControl.setValue(value);
-                    try {
-                        Thread.sleep(50);
-                    } catch (InterruptedException e) {
-                        throw new RuntimeException(e);
-                    }
-                }
-            }
-        }).start();
+        AudioMixer mixer = mixer();
+        if (mixer == null) return;
+        mixer.fadeTo(handleOf(clipName), 0, fadeMillis(fadeoutSpeed), true);
+        bgms.remove(clipName);
     }
 
     public static void setMasterVolume(float volume) {
@@ -174,27 +92,19 @@ public class SoundManager {
         master = getValue(masterVolume);
         if(master > maximum) master = maximum;
         else if(master < minimum) master = minimum;
-        for (Clip clip : clips.values()) {
-            if (clip != null && clip.isActive()) {
-                FloatControl floatControl = (FloatControl) clip.getControl(Type.MASTER_GAIN);
-                floatControl.setValue(master);
-            }
+        AudioMixer mixer = mixer();
+        if (mixer == null) return;
+        for (Map.Entry<String, int[]> clip : clips.entrySet()) {
+            if (bgms.contains(clip.getKey()) && !Core.bgmOn) continue;
+            mixer.setGain(clip.getValue()[0], toLinear(master));
         }
     }
 
     public static void bgmSetting(boolean bgm){
-        if(bgm){
-            for(Clip clip : bgms){
-                FloatControl floatControl = (FloatControl)clip.getControl(Type.MASTER_GAIN);
-                floatControl.setValue(getValue(masterVolume));
-            }
-        }
-        else{
-            for(Clip clip : bgms){
-                FloatControl floatControl = (FloatControl)clip.getControl(Type.MASTER_GAIN);
-                floatControl.setValue(getValue(0));
-            }
-        }
+        AudioMixer mixer = mixer();
+        if (mixer == null) return;
+        for (String clipName : bgms)
+            mixer.setGain(handleOf(clipName), bgm ? toLinear(getValue(masterVolume)) : 0);
     }
 
     private static float getVolume(float res) {
@@ -209,17 +119,31 @@ public class SoundManager {
         else return res;
     }
 
+    private static float toLinear(float decibels) {
+        if (decibels <= minimum) return 0;
+        return (float) Math.pow(10, decibels / 20);
+    }
+
+    private static float toDecibels(float gain) {
+        if (gain <= 0) return minimum;
+        return Math.max(minimum, (float) (20 * Math.log10(gain)));
+    }
+
     public static boolean isPlaying(String clipName){
-        Clip clip = clips.get(clipName);
-        if(clip!=null && clip.isActive()) return true;
-        else return false;
+        AudioMixer mixer = mixer();
+        return mixer != null && mixer.isPlaying(handleOf(clipName));
     }
 
     public static void setVolume(String clipName, float percent){
-        Clip clip = clips.get(clipName);
-        FloatControl floatcontrol = (FloatControl)clip.getControl(Type.MASTER_GAIN);
-        float volume = getVolume(floatcontrol.getValue());
-        floatcontrol.setValue(getValue((percent/100)*volume));
+        AudioMixer mixer = mixer();
+        if (mixer == null) return;
+        int handle = handleOf(clipName);
+        float volume = getVolume(toDecibels(mixer.getGain(handle)));
+        mixer.setGain(handle, toLinear(getValue((percent/100)*volume)));
+    }
+
+    public static void setEnabled(boolean isEnabled) {
+        enabled = isEnabled;
     }
 
     public static void playBGM(int levelNum) {
@@ -239,4 +163,4 @@ public class SoundManager {
             stopSound(clipName);
         }
     }
-}
\ No newline at end of file
+}
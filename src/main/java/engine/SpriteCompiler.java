@@ -0,0 +1,193 @@
+package engine;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Compiles the text sprite sheets into the binary sprite sheet read by
+ * SpriteSheet. Run by the build after the classes are compiled, and by the
+ * game itself when no compiled sheet is found.
+ *
+ * The text sheets list pixels as '0' and '1', column by column, anything
+ * else being ignored. The graphics sheet holds the default look of every
+ * sprite in the order of DrawManager.newSpriteMap, and each skin sheet
+ * holds the skins of a few sprites of the same size, one after another.
+ */
+public final class SpriteCompiler {
+
+	/** Sheet with the default look of every sprite. */
+	private static final String BASE_SHEET = "graphics";
+	/** Skin sheets, with the sprites that share their skins. */
+	private static final Map<String, SpriteType[]> SKIN_SHEETS =
+			new LinkedHashMap<String, SpriteType[]>();
+
+	static {
+		SKIN_SHEETS.put("shipGraphics",
+				new SpriteType[] { SpriteType.Ship, SpriteType.Ship2 });
+		SKIN_SHEETS.put("bulletGraphics", new SpriteType[] {
+				SpriteType.Bullet, SpriteType.EnemyBullet });
+		SKIN_SHEETS.put("enemyshipGraphics", new SpriteType[] {
+				SpriteType.EnemyShipA1, SpriteType.EnemyShipA2,
+				SpriteType.EnemyShipB1, SpriteType.EnemyShipB2,
+				SpriteType.EnemyShipC1, SpriteType.EnemyShipC2 });
+		SKIN_SHEETS.put("specialenemyGraphics",
+				new SpriteType[] { SpriteType.EnemyShipSpecial });
+	}
+
+	/**
+	 * Constructor, not called.
+	 */
+	private SpriteCompiler() {
+
+	}
+
+	/**
+	 * Compiles the sprite sheets on the classpath into a file.
+	 *
+	 * @param args
+	 *            File to write, res/sprites.bin if not given.
+	 * @throws IOException
+	 *             In case the sheets can't be read or the file written.
+	 */
+	public static void main(final String[] args) throws IOException {
+		Path output = Paths.get(args.length > 0 ? args[0]
+				: "res/" + SpriteSheet.RESOURCE);
+		ByteBuffer sheet = compile();
+		Files.createDirectories(output.toAbsolutePath().getParent());
+		Files.write(output, sheet.array());
+		Core.getLogger().info("Compiled sprites into " + output + ", "
+				+ sheet.capacity() + " bytes.");
+	}
+
+	/**
+	 * Compiles the sprite sheets on the classpath.
+	 *
+	 * @return Binary sprite sheet, in the format SpriteSheet reads.
+	 * @throws IOException
+	 *             In case the sheets can't be read.
+	 */
+	public static ByteBuffer compile() throws IOException {
+		Map<SpriteType, PackedSprite> sizes = DrawManager.newSpriteMap();
+		List<int[]> index = new ArrayList<int[]>();
+		List<long[]> patterns = new ArrayList<long[]>();
+
+		try (InputStream inputStream = open(BASE_SHEET)) {
+			for (Map.Entry<SpriteType, PackedSprite> sprite : sizes
+					.entrySet()) {
+				int width = sprite.getValue().getWidth();
+				int height = sprite.getValue().getHeight();
+				long[] rows = readSprite(inputStream, width, height);
+				if (rows == null)
+					throw new IOException(BASE_SHEET + " ends before "
+							+ sprite.getKey() + ".");
+				index.add(new int[] { sprite.getKey().ordinal(),
+						SpriteSheet.BASE, width, height, patterns.size() });
+				patterns.add(rows);
+			}
+		}
+
+		for (Map.Entry<String, SpriteType[]> sheet : SKIN_SHEETS.entrySet()) {
+			PackedSprite size = sizes.get(sheet.getValue()[0]);
+			try (InputStream inputStream = open(sheet.getKey())) {
+				long[] rows;
+				for (int skin = 0; (rows = readSprite(inputStream,
+						size.getWidth(), size.getHeight())) != null; skin++) {
+					// Sprites sharing a sheet point at the same pattern.
+					for (SpriteType spriteType : sheet.getValue())
+						index.add(new int[] { spriteType.ordinal(), skin,
+								size.getWidth(), size.getHeight(),
+								patterns.size() });
+					patterns.add(rows);
+				}
+			}
+		}
+
+		int dataStart = SpriteSheet.HEADER_SIZE
+				+ index.size() * SpriteSheet.ENTRY_SIZE;
+		int[] offsets = new int[patterns.size()];
+		int dataSize = 0;
+		for (int i = 0; i < patterns.size(); i++) {
+			offsets[i] = dataStart + dataSize;
+			dataSize += patterns.get(i).length * Long.BYTES;
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(dataStart + dataSize);
+		buffer.putInt(SpriteSheet.MAGIC);
+		buffer.putInt(SpriteSheet.VERSION);
+		buffer.putInt(index.size());
+		for (int[] entry : index) {
+			buffer.putInt(entry[0]);
+			buffer.putInt(entry[1]);
+			buffer.putInt(entry[2]);
+			buffer.putInt(entry[3]);
+			buffer.putInt(offsets[entry[4]]);
+		}
+		for (long[] rows : patterns)
+			for (long row : rows)
+				buffer.putLong(row);
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Opens a text sprite sheet on the classpath.
+	 *
+	 * @param sheet
+	 *            Name of the sheet.
+	 * @return Buffered stream of the sheet.
+	 * @throws IOException
+	 *             In case the sheet is missing.
+	 */
+	private static InputStream open(final String sheet) throws IOException {
+		InputStream inputStream = SpriteCompiler.class.getClassLoader()
+				.getResourceAsStream(sheet);
+		if (inputStream == null)
+			throw new IOException("Sprite sheet " + sheet + " not found.");
+		return new BufferedInputStream(inputStream);
+	}
+
+	/**
+	 * Reads the next sprite of a text sheet.
+	 *
+	 * @param inputStream
+	 *            Sheet being read.
+	 * @param width
+	 *            Sprite width.
+	 * @param height
+	 *            Sprite height.
+	 * @return Lit pixels of each row, or null if the sheet has ended.
+	 * @throws IOException
+	 *             In case of reading problems.
+	 */
+	private static long[] readSprite(final InputStream inputStream,
+			final int width, final int height) throws IOException {
+		long[] rows = new long[height];
+		for (int i = 0; i < width; i++)
+			for (int j = 0; j < height; j++) {
+				int c;
+				do
+					c = inputStream.read();
+				while (c != '0' && c != '1' && c != -1);
+
+				if (c == -1) {
+					if (i == 0 && j == 0)
+						return null;
+					throw new IOException("Sprite sheet ends mid sprite.");
+				}
+				if (c == '1')
+					rows[j] |= 1L << i;
+			}
+		return rows;
+	}
+}
@@ -0,0 +1,180 @@
+package engine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Every sprite and skin of the game, read from the binary sheet made by
+ * SpriteCompiler. The sheet is mapped in memory when it is a plain file,
+ * and any skin is found in constant time through its index.
+ *
+ * The sheet starts with a header of magic number, version and number of
+ * entries, followed by one entry per sprite and skin: sprite type, skin,
+ * width, height and offset of its rows. Skin -1 is the default look. The
+ * rows follow, as one long per row.
+ */
+public final class SpriteSheet {
+
+	/** Name of the sheet on the classpath. */
+	public static final String RESOURCE = "sprites.bin";
+	/** Skin number of the default look of a sprite. */
+	public static final int BASE = -1;
+	/** Marks a file as a sprite sheet, "SPRT". */
+	static final int MAGIC = 0x53505254;
+	/** Version of the format. */
+	static final int VERSION = 1;
+	/** Bytes before the first entry. */
+	static final int HEADER_SIZE = 3 * Integer.BYTES;
+	/** Bytes of each entry. */
+	static final int ENTRY_SIZE = 5 * Integer.BYTES;
+
+	/** Whole sheet, only read with absolute gets. */
+	private final ByteBuffer data;
+	/** Offset of the rows, by sprite type and skin plus one. */
+	private final int[][] offsets;
+	/** Width of each sprite type. */
+	private final int[] widths;
+	/** Height of each sprite type. */
+	private final int[] heights;
+	/** Sprites already built for each skin, by sprite type and skin. */
+	private final PackedSprite[][] skins;
+
+	/**
+	 * Constructor, reads the index of a sheet.
+	 *
+	 * @param data
+	 *            Whole sheet.
+	 * @throws IOException
+	 *             In case the data is not a sprite sheet of this version.
+	 */
+	SpriteSheet(final ByteBuffer data) throws IOException {
+		this.data = data;
+		if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC
+				|| data.getInt(Integer.BYTES) != VERSION)
+			throw new IOException("Not a version " + VERSION
+					+ " sprite sheet.");
+
+		int types = SpriteType.values().length;
+		this.offsets = new int[types][0];
+		this.widths = new int[types];
+		this.heights = new int[types];
+		this.skins = new PackedSprite[types][];
+		int entries = data.getInt(2 * Integer.BYTES);
+		for (int i = 0; i < entries; i++) {
+			int entry = HEADER_SIZE + i * ENTRY_SIZE;
+			int type = data.getInt(entry);
+			int slot = data.getInt(entry + Integer.BYTES) - BASE;
+			if (slot >= this.offsets[type].length) {
+				int length = this.offsets[type].length;
+				this.offsets[type] = Arrays.copyOf(this.offsets[type],
+						slot + 1);
+				Arrays.fill(this.offsets[type], length, slot + 1, -1);
+			}
+			this.widths[type] = data.getInt(entry + 2 * Integer.BYTES);
+			this.heights[type] = data.getInt(entry + 3 * Integer.BYTES);
+			this.offsets[type][slot] = data.getInt(entry + 4 * Integer.BYTES);
+		}
+	}
+
+	/**
+	 * Loads the compiled sheet from the classpath, or compiles the text
+	 * sheets if there is none, as when running without the build.
+	 *
+	 * @return Sprite sheet.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
+	public static SpriteSheet load() throws IOException {
+		URL resource = SpriteSheet.class.getClassLoader().getResource(RESOURCE);
+		if (resource == null) {
+			Core.getLogger().info("No " + RESOURCE
+					+ " found, compiling the sprite sheets.");
+			return new SpriteSheet(SpriteCompiler.compile());
+		}
+		if ("file".equals(resource.getProtocol())) {
+			try (FileChannel channel = FileChannel.open(
+					Paths.get(resource.toURI()), StandardOpenOption.READ)) {
+				return new SpriteSheet(channel.map(
+						FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+			} catch (URISyntaxException e) {
+				throw new IOException(e);
+			}
+		}
+		try (InputStream inputStream = resource.openStream()) {
+			return new SpriteSheet(ByteBuffer.wrap(inputStream.readAllBytes()));
+		}
+	}
+
+	/**
+	 * Getter for the number of skins a sprite has, besides its default look.
+	 *
+	 * @param spriteType
+	 *            Sprite to check.
+	 * @return Number of skins.
+	 */
+	public int getSkinCount(final SpriteType spriteType) {
+		return Math.max(0, this.offsets[spriteType.ordinal()].length - 1);
+	}
+
+	/**
+	 * Copies the pixels of a sprite skin into a sprite.
+	 *
+	 * @param spriteType
+	 *            Sprite to copy.
+	 * @param skin
+	 *            Skin to copy, BASE for the default look.
+	 * @param sprite
+	 *            Sprite to copy into, of the same size.
+	 * @return False if the sheet has no such skin.
+	 */
+	public boolean copy(final SpriteType spriteType, final int skin,
+			final PackedSprite sprite) {
+		int type = spriteType.ordinal();
+		int slot = skin - BASE;
+		if (slot < 0 || slot >= this.offsets[type].length
+				|| this.offsets[type][slot] < 0
+				|| sprite.getWidth() != this.widths[type]
+				|| sprite.getHeight() != this.heights[type])
+			return false;
+		int offset = this.offsets[type][slot];
+		for (int y = 0; y < this.heights[type]; y++)
+			sprite.setRow(y, this.data.getLong(offset + y * Long.BYTES));
+		return true;
+	}
+
+	/**
+	 * Getter for a skin of a sprite, built the first time it is asked for
+	 * and shared afterwards, so it must not be modified.
+	 *
+	 * @param spriteType
+	 *            Sprite to get.
+	 * @param skin
+	 *            Skin to get.
+	 * @return Pixels of the skin, null if the sheet has no such skin.
+	 */
+	public synchronized PackedSprite getSkin(final SpriteType spriteType,
+			final int skin) {
+		int type = spriteType.ordinal();
+		if (skin < 0 || skin >= getSkinCount(spriteType))
+			return null;
+		if (this.skins[type] == null)
+			this.skins[type] = new PackedSprite[getSkinCount(spriteType)];
+		if (this.skins[type][skin] == null) {
+			PackedSprite sprite = new PackedSprite(this.widths[type],
+					this.heights[type]);
+			if (!copy(spriteType, skin, sprite))
+				return null;
+			this.skins[type][skin] = sprite;
+		}
+		return this.skins[type][skin];
+	}
+}
@@ -0,0 +1,284 @@
+package entity;
+
+import java.util.Arrays;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Keeps every bullet on screen as columns of primitive values, so moving,
+ * checking and drawing them are plain loops over arrays.
+ *
+ * Live bullets are packed at the start of the arrays and addressed by index
+ * from 0 to size() - 1. Removing one moves the last bullet into its place,
+ * and the free slots past the last live bullet are reused by the next
+ * bullets shot, so no objects are created once the arrays have grown to fit.
+ * Indexes therefore change when bullets are removed; removal during a loop
+ * goes through markRemoved() and sweep().
+ */
+public final class BulletStore {
+
+	/** Width of a bullet. */
+	public static final int WIDTH = 3 * 2;
+	/** Height of a bullet. */
+	public static final int HEIGHT = 5 * 2;
+
+	/** Sprite types, indexed by the values in the sprite column. */
+	private static final SpriteType[] SPRITE_TYPES = SpriteType.values();
+	/** Room for bullets when the store is created. */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/** Position of each bullet in the X axis. */
+	private int[] positionX;
+	/** Position of each bullet in the Y axis. */
+	private int[] positionY;
+	/** Position of each bullet in the Y axis at the start of the tick. */
+	private int[] previousPositionY;
+	/** Speed of each bullet, positive is down. */
+	private int[] speed;
+	/** Who shot each bullet, 0 for enemy, 1 or 2 for each player. */
+	private byte[] shooter;
+	/** Sprite type of each bullet, as its ordinal. */
+	private byte[] sprite;
+	/** Bullets marked for removal on the next sweep. */
+	private boolean[] removed;
+	/** Number of live bullets. */
+	private int size;
+	/** If any bullet is marked for removal. */
+	private boolean pendingRemoval;
+
+	/**
+	 * Constructor, creates an empty store.
+	 */
+	public BulletStore() {
+		this.positionX = new int[INITIAL_CAPACITY];
+		this.positionY = new int[INITIAL_CAPACITY];
+		this.previousPositionY = new int[INITIAL_CAPACITY];
+		this.speed = new int[INITIAL_CAPACITY];
+		this.shooter = new byte[INITIAL_CAPACITY];
+		this.sprite = new byte[INITIAL_CAPACITY];
+		this.removed = new boolean[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Adds a bullet.
+	 *
+	 * @param centerX
+	 *            Position of the center of the bullet in the X axis.
+	 * @param positionY
+	 *            Position of the bullet in the Y axis.
+	 * @param speed
+	 *            Speed of the bullet, positive or negative depending on
+	 *            direction - positive is down.
+	 * @param shooter
+	 *            Player who shot the bullet.
+	 *            0 for enemy, 1 for first player, 2 for second player.
+	 */
+	public void add(final int centerX, final int positionY, final int speed,
+			final int shooter) {
+		if (this.size == this.positionX.length)
+			grow();
+		int index = this.size++;
+		this.positionX[index] = centerX - WIDTH / 2;
+		this.positionY[index] = positionY;
+		this.previousPositionY[index] = positionY;
+		this.speed[index] = speed;
+		this.shooter[index] = (byte) shooter;
+		this.sprite[index] = (byte) (speed < 0 ? SpriteType.Bullet
+				: SpriteType.EnemyBullet).ordinal();
+		this.removed[index] = false;
+	}
+
+	/**
+	 * Doubles the room for bullets.
+	 */
+	private void grow() {
+		int capacity = this.positionX.length * 2;
+		this.positionX = Arrays.copyOf(this.positionX, capacity);
+		this.positionY = Arrays.copyOf(this.positionY, capacity);
+		this.previousPositionY = Arrays.copyOf(this.previousPositionY, capacity);
+		this.speed = Arrays.copyOf(this.speed, capacity);
+		this.shooter = Arrays.copyOf(this.shooter, capacity);
+		this.sprite = Arrays.copyOf(this.sprite, capacity);
+		this.removed = Arrays.copyOf(this.removed, capacity);
+	}
+
+	/**
+	 * Removes a bullet, moving the last bullet into its index.
+	 *
+	 * @param index
+	 *            Index of the bullet to remove.
+	 */
+	public void remove(final int index) {
+		int last = --this.size;
+		if (index != last) {
+			this.positionX[index] = this.positionX[last];
+			this.positionY[index] = this.positionY[last];
+			this.previousPositionY[index] = this.previousPositionY[last];
+			this.speed[index] = this.speed[last];
+			this.shooter[index] = this.shooter[last];
+			this.sprite[index] = this.sprite[last];
+			this.removed[index] = this.removed[last];
+		}
+	}
+
+	/**
+	 * Marks a bullet to be removed on the next sweep, keeping indexes valid
+	 * until then.
+	 *
+	 * @param index
+	 *            Index of the bullet to remove.
+	 */
+	public void markRemoved(final int index) {
+		this.removed[index] = true;
+		this.pendingRemoval = true;
+	}
+
+	/**
+	 * Checks if a bullet is marked for removal.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @return True if the bullet will be removed on the next sweep.
+	 */
+	public boolean isRemoved(final int index) {
+		return this.removed[index];
+	}
+
+	/**
+	 * Removes every bullet marked for removal.
+	 */
+	public void sweep() {
+		if (!this.pendingRemoval)
+			return;
+		// Going backwards, the bullet moved into a freed index is checked.
+		for (int i = this.size - 1; i >= 0; i--)
+			if (this.removed[i])
+				remove(i);
+		this.pendingRemoval = false;
+	}
+
+	/**
+	 * Removes every bullet.
+	 */
+	public void clear() {
+		this.size = 0;
+		this.pendingRemoval = false;
+	}
+
+	/**
+	 * Saves the position of every bullet before the next simulation tick.
+	 */
+	public void savePositions() {
+		System.arraycopy(this.positionY, 0, this.previousPositionY, 0,
+				this.size);
+	}
+
+	/**
+	 * Moves every bullet and marks the ones outside the given band for
+	 * removal.
+	 *
+	 * @param minY
+	 *            Lowest position in the Y axis a bullet can stay at.
+	 * @param maxY
+	 *            Highest position in the Y axis a bullet can stay at.
+	 */
+	public void update(final int minY, final int maxY) {
+		final int[] positionY = this.positionY;
+		final int[] speed = this.speed;
+		for (int i = 0; i < this.size; i++) {
+			int y = positionY[i] + speed[i];
+			positionY[i] = y;
+			if (y < minY || y > maxY)
+				markRemoved(i);
+		}
+	}
+
+	/**
+	 * Getter for the number of live bullets.
+	 *
+	 * @return Number of bullets.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Getter for the number of bullets the store has room for before growing.
+	 *
+	 * @return Capacity of the store.
+	 */
+	public int capacity() {
+		return this.positionX.length;
+	}
+
+	/**
+	 * Getter for the position of a bullet in the X axis.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @return Position of the bullet in the X axis.
+	 */
+	public int getPositionX(final int index) {
+		return this.positionX[index];
+	}
+
+	/**
+	 * Getter for the position of a bullet in the Y axis.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @return Position of the bullet in the Y axis.
+	 */
+	public int getPositionY(final int index) {
+		return this.positionY[index];
+	}
+
+	/**
+	 * Getter for the position in the Y axis a bullet is drawn at, between
+	 * the last two simulation ticks.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @param alpha
+	 *            Fraction of a tick elapsed since the last one, from 0 to 1.
+	 * @return Interpolated position of the bullet in the Y axis.
+	 */
+	public int getRenderPositionY(final int index, final double alpha) {
+		int previous = this.previousPositionY[index];
+		return (int) Math.round(previous
+				+ (this.positionY[index] - previous) * alpha);
+	}
+
+	/**
+	 * Getter for the speed of a bullet.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @return Speed of the bullet, positive is down.
+	 */
+	public int getSpeed(final int index) {
+		return this.speed[index];
+	}
+
+	/**
+	 * Getter for who shot a bullet.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @return 0 for enemy, 1 for first player, 2 for second player.
+	 */
+	public int getShooter(final int index) {
+		return this.shooter[index];
+	}
+
+	/**
+	 * Getter for the sprite a bullet is drawn as.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @return Sprite of the bullet.
+	 */
+	public SpriteType getSpriteType(final int index) {
+		return SPRITE_TYPES[this.sprite[index]];
+	}
+}
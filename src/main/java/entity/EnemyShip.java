@@ -1,12 +1,11 @@
 package entity;
 
 import java.awt.Color;
-import java.util.Random;
-import java.util.Set;
 
 import engine.Cooldown;
 import engine.Core;
 import engine.DrawManager.SpriteType;
+import engine.GameRandom;
 import engine.GameState;
 import engine.SoundManager;
 
@@ -39,6 +38,8 @@ public class EnemyShip extends Entity {
 
 	/** 적의 체력 */
 	protected int HP;
+	/** Index of the ship in its formation, -1 if it isn't in one. */
+	private int formationIndex = -1;
 
 	/** 총알 속도 */
 	protected static final int BULLET_SPEED = 4;
@@ -60,7 +61,8 @@ public class EnemyShip extends Entity {
 		this.spriteType = spriteType;
 		this.animationCooldown = Core.getCooldown(500);
 		this.isDestroyed = false;
-		this.itemRange =  new Random().nextInt(RANDOM_BOUND);
+		this.itemRange = GameRandom.get(GameRandom.Stream.ITEM_DROP)
+				.nextInt(RANDOM_BOUND);
 		this.hasItem = itemGenerator(itemRange);
 		this.HP = this.gameState.getLevel();
 	}
@@ -77,6 +79,25 @@ public class EnemyShip extends Entity {
 		this.pointValue = BONUS_TYPE_POINTS;
 	}
 
+	/**
+	 * Getter for the index of the ship in its formation.
+	 *
+	 * @return Index of the ship, -1 if it isn't in a formation.
+	 */
+	final int getFormationIndex() {
+		return this.formationIndex;
+	}
+
+	/**
+	 * Setter for the index of the ship in its formation.
+	 *
+	 * @param formationIndex
+	 *            Index of the ship.
+	 */
+	final void setFormationIndex(final int formationIndex) {
+		this.formationIndex = formationIndex;
+	}
+
 	/**
 	 * Getter for the score bonus if this ship is destroyed.
 	 * 
@@ -106,9 +127,9 @@ public class EnemyShip extends Entity {
 		return;
 	}
 
-	public void shoot(final Set<Bullet> bullets,Cooldown shootingCooldown) {
-		bullets.add(BulletPool.getBullet(positionX
-				+ width / 2, positionY, BULLET_SPEED, 0));
+	public void shoot(final BulletStore bullets,Cooldown shootingCooldown) {
+		bullets.add(positionX
+				+ width / 2, positionY, BULLET_SPEED, 0);
 		shootingCooldown.timedown(0);
 
 	}
@@ -4,8 +4,6 @@ import engine.Cooldown;
 import engine.DrawManager;
 import engine.GameState;
 
-import java.util.Set;
-
 public class EnemyShipC extends EnemyShip {
     /** HP의 배율 */
     private final double HPPOWER = .1;
@@ -31,9 +29,9 @@ public class EnemyShipC extends EnemyShip {
                 spriteType = DrawManager.SpriteType.EnemyShipC1;
         }
     }
-    public final void shoot(final Set<Bullet> bullets, Cooldown shootingCooldown) {
-        bullets.add(BulletPool.getBullet(positionX
-                + width / 2, positionY, (int)(super.BULLET_SPEED * BULLETSPEEDPOWER),0));
+    public final void shoot(final BulletStore bullets, Cooldown shootingCooldown) {
+        bullets.add(positionX
+                + width / 2, positionY, (int)(super.BULLET_SPEED * BULLETSPEEDPOWER), 0);
         shootingCooldown.timedown(BULLETCOOLDOWN);
     }
 }
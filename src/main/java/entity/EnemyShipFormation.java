@@ -39,6 +39,8 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	private static final int DESCENT_DISTANCE = 20;
 	/** Minimum speed allowed. */
 	private static final int MINIMUM_SPEED = 10;
+	/** Most rows a formation can have, one per bit of the row masks. */
+	private static final int MAX_ROWS = Long.SIZE;
 	/** DrawManager instance. */
 	private DrawManager drawManager;
 	/** Application logger. */
@@ -47,8 +49,15 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	private Screen screen;
 	/** current gamestate*/
 	private GameState gameState;
-	/** List of enemy ships forming the formation. */
-	private List<List<EnemyShip>> enemyShips;
+	/**
+	 * Enemy ships forming the formation, column after column, null once
+	 * removed.
+	 */
+	private EnemyShip[] enemyShips;
+	/** Per column, rows whose ship is in the formation, alive or exploding. */
+	private long[] presentRows;
+	/** Per column, rows whose ship has not been destroyed. */
+	private long[] aliveRows;
 	/** Minimum time between shots. */
 	private Cooldown shootingCooldown;
 	/** Number of ships in the formation - horizontally. */
@@ -81,8 +90,14 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	private int shipWidth;
 	/** Height of one ship. */
 	private int shipHeight;
-	/** List of ships that are able to shoot. */
-	private List<EnemyShip> shooters;
+	/** Columns with a ship able to shoot, the lowest one alive. */
+	private int[] shooterColumns;
+	/** Number of columns able to shoot. */
+	private int shooterCount;
+	/** Shooters already picked in the current volley. */
+	private boolean[] shot;
+	/** If ships moved or left since the size of the formation was measured. */
+	private boolean boundsChanged;
 	/** Number of not destroyed ships. */
 	private int shipCount;
 	/** check where the last ship is. */
@@ -122,7 +137,6 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 		this.gameState = gameState;
 		this.drawManager = Core.getDrawManager();
 		this.logger = Core.getLogger();
-		this.enemyShips = new ArrayList<List<EnemyShip>>();
 		this.currentDirection = Direction.RIGHT;
 		this.movementInterval = 0;
 		this.nShipsWide = gameSettings.getFormationWidth();
@@ -134,21 +148,26 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 		this.movementSpeed = this.baseSpeed;
 		this.positionX = INIT_POS_X;
 		this.positionY = INIT_POS_Y;
-		this.shooters = new ArrayList<EnemyShip>();
 		this.setXpos = INIT_POS_X;
 		SpriteType spriteType;
 
+		if (this.nShipsHigh > MAX_ROWS)
+			throw new IllegalArgumentException("Formation can't be more than "
+					+ MAX_ROWS + " ships high.");
+
 		this.logger.info("Initializing " + nShipsWide + "x" + nShipsHigh
 				+ " ship formation in (" + positionX + "," + positionY + ")");
 
-		// Each sub-list is a column on the formation.
-		for (int i = 0; i < this.nShipsWide; i++)
-			this.enemyShips.add(new ArrayList<EnemyShip>());
+		this.enemyShips = new EnemyShip[this.nShipsWide * this.nShipsHigh];
+		this.presentRows = new long[this.nShipsWide];
+		this.aliveRows = new long[this.nShipsWide];
+		this.shooterColumns = new int[this.nShipsWide];
+		this.shot = new boolean[this.nShipsWide];
 
 		if (nShipsWide > 7)
 			lastStage = true;
 
-		for (List<EnemyShip> column : this.enemyShips) {
+		for (int column = 0; column < this.nShipsWide; column++) {
 			int ship_index = 0;
 			for (int i = 0; i < this.nShipsHigh; i++) {
 				if (i / (float) this.nShipsHigh < PROPORTION_C)
@@ -174,45 +193,49 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 				{
 					case EnemyShipA1:
 						enemyShip = new EnemyShipA((SEPARATION_DISTANCE
-								* this.enemyShips.indexOf(column))
+								* column)
 								+ setXpos, (SEPARATION_DISTANCE * i)
 								+ positionY, spriteType,gameState);
 						break;
 					case EnemyShipB1:
 						enemyShip = new EnemyShipB((SEPARATION_DISTANCE
-								* this.enemyShips.indexOf(column))
+								* column)
 								+ setXpos, (SEPARATION_DISTANCE * i)
 								+ positionY, spriteType,gameState);
 						break;
 					case EnemyShipC1:
 						enemyShip = new EnemyShipC((SEPARATION_DISTANCE
-								* this.enemyShips.indexOf(column))
+								* column)
 								+ setXpos, (SEPARATION_DISTANCE * i)
 								+ positionY, spriteType,gameState);
 						break;
 					default:
 						enemyShip = new EnemyShip((SEPARATION_DISTANCE
-								* this.enemyShips.indexOf(column))
+								* column)
 								+ setXpos, (SEPARATION_DISTANCE * i)
 								+ positionY, spriteType,gameState);
 				}
-				column.add(enemyShip);
+				enemyShip.setFormationIndex(column * this.nShipsHigh + i);
+				this.enemyShips[column * this.nShipsHigh + i] = enemyShip;
+				this.presentRows[column] |= 1L << i;
+				this.aliveRows[column] |= 1L << i;
 				this.shipCount++;
 				ship_index++;
 			}
+			// Only the lowest ship of each column is able to shoot.
+			this.shooterColumns[column] = column;
 		}
+		this.shooterCount = this.nShipsWide;
+		this.boundsChanged = true;
 
-		this.shipWidth = this.enemyShips.get(0).get(0).getWidth();
-		this.shipHeight = this.enemyShips.get(0).get(0).getHeight();
+		this.shipWidth = this.enemyShips[0].getWidth();
+		this.shipHeight = this.enemyShips[0].getHeight();
 
 		this.width = (this.nShipsWide - 1) * SEPARATION_DISTANCE
 				+ this.shipWidth;
 		this.height = (this.nShipsHigh - 1) * SEPARATION_DISTANCE
 				+ this.shipHeight;
 
-		for (List<EnemyShip> column : this.enemyShips)
-			this.shooters.add(column.get(column.size() - 1));
-
 		if (nShipsHigh > 5)
 			moreDiff = true;
 
@@ -234,12 +257,52 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 
 	/**
 	 * Draws every individual component of the formation.
+	 *
+	 * @param alpha
+	 *            Fraction of a tick elapsed since the last one.
+	 */
+	public final void draw(final double alpha) {
+		for (int column = 0; column < this.nShipsWide; column++)
+			for (long rows = this.presentRows[column]; rows != 0; rows &= rows - 1) {
+				EnemyShip enemyShip = getShip(column, Long.numberOfTrailingZeros(rows));
+				drawManager.drawEntity(enemyShip,
+						enemyShip.getRenderPositionX(alpha),
+						enemyShip.getRenderPositionY(alpha));
+			}
+	}
+
+	/**
+	 * Adds every ship of the formation to a collision grid.
+	 *
+	 * @param grid
+	 *            Grid to add the ships to.
+	 */
+	public final void addTo(final SpatialGrid grid) {
+		for (int column = 0; column < this.nShipsWide; column++)
+			for (long rows = this.presentRows[column]; rows != 0; rows &= rows - 1)
+				grid.add(getShip(column, Long.numberOfTrailingZeros(rows)));
+	}
+
+	/**
+	 * Saves the position of every ship before the next simulation tick.
 	 */
-	public final void draw() {
-		for (List<EnemyShip> column : this.enemyShips)
-			for (EnemyShip enemyShip : column)
-				drawManager.drawEntity(enemyShip, enemyShip.getPositionX(),
-						enemyShip.getPositionY());
+	public final void savePositions() {
+		for (int column = 0; column < this.nShipsWide; column++)
+			for (long rows = this.presentRows[column]; rows != 0; rows &= rows - 1)
+				getShip(column, Long.numberOfTrailingZeros(rows)).savePosition();
+	}
+
+	/**
+	 * Getter for the ship at a given place of the formation.
+	 *
+	 * @param column
+	 *            Column of the ship.
+	 * @param row
+	 *            Row of the ship.
+	 * @return Ship at that place, null if it has been removed.
+	 */
+	private EnemyShip getShip(final int column, final int row) {
+		return this.enemyShips[column * this.nShipsHigh + row];
 	}
 
 	/**
@@ -288,10 +351,10 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 				if (isAtHorizontalAltitude) {
 					if (previousDirection == Direction.RIGHT) {
 						currentDirection = Direction.LEFT;
-						this.logger.info("Formation now moving left 1");
+						this.logger.fine("Formation now moving left 1");
 					} else {
 						currentDirection = Direction.RIGHT;
-						this.logger.info("Formation now moving right 2");
+						this.logger.fine("Formation now moving right 2");
 					}
 				}
 			} else if (currentDirection == Direction.LEFT) {
@@ -299,11 +362,11 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 					if (!isAtBottom) {
 						previousDirection = currentDirection;
 						currentDirection = Direction.DOWN;
-						this.logger.info("Formation now moving down 3");
+						this.logger.fine("Formation now moving down 3");
 						trackYpos++;
 					} else {
 						currentDirection = Direction.RIGHT;
-						this.logger.info("Formation now moving right 4");
+						this.logger.fine("Formation now moving right 4");
 					}
 					/** if ship remains one switch flag.
 					 * it works only on odd row
@@ -315,11 +378,11 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 					if (!isAtBottom) {
 						previousDirection = currentDirection;
 						currentDirection = Direction.DOWN;
-						this.logger.info("Formation now moving down 5");
+						this.logger.fine("Formation now moving down 5");
 						trackYpos++;
 					} else {
 						currentDirection = Direction.LEFT;
-						this.logger.info("Formation now moving left 6");
+						this.logger.fine("Formation now moving left 6");
 					}
 					/** if ship remains one switch flag.
 					 * it works only on odd row
@@ -339,24 +402,28 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 			positionY += movementY;
 
 			// Cleans explosions.
-			List<EnemyShip> destroyed;
-			for (List<EnemyShip> column : this.enemyShips) {
-				destroyed = new ArrayList<EnemyShip>();
-				for (EnemyShip ship : column) {
-					if (ship != null && ship.isDestroyed()) {
-						destroyed.add(ship);
-						this.logger.info("Removed enemy "
-								+ column.indexOf(ship) + " from column "
-								+ this.enemyShips.indexOf(column));
-					}
+			for (int column = 0; column < this.nShipsWide; column++) {
+				final int cleaned = column;
+				long destroyed = this.presentRows[column] & ~this.aliveRows[column];
+				if (destroyed == 0)
+					continue;
+				for (long rows = destroyed; rows != 0; rows &= rows - 1) {
+					int row = Long.numberOfTrailingZeros(rows);
+					this.enemyShips[column * this.nShipsHigh + row] = null;
+					this.logger.fine(() -> "Removed enemy " + row
+							+ " from column " + cleaned);
 				}
-				column.removeAll(destroyed);
+				this.presentRows[column] &= ~destroyed;
+				if (this.presentRows[column] == 0)
+					logger.fine(() -> "Removed column " + cleaned);
 			}
+			this.boundsChanged = true;
 
 			// From level 4, the ships moves more complicatedly.
 			if (moreDiff) {
-				for (List<EnemyShip> column : this.enemyShips) {
-					for (EnemyShip enemyShip : column) {
+				for (int column = 0; column < this.nShipsWide; column++) {
+					for (long rows = this.presentRows[column]; rows != 0; rows &= rows - 1) {
+						EnemyShip enemyShip = getShip(column, Long.numberOfTrailingZeros(rows));
 						if ((int)((enemyShip.getpositionY()-100)/40)%2!=0) {
 							enemyShip.move(complexSpeed, 0);
 						} else
@@ -373,8 +440,9 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 				}
 			}
 
-			for (List<EnemyShip> column : this.enemyShips)
-				for (EnemyShip enemyShip : column) {
+			for (int column = 0; column < this.nShipsWide; column++)
+				for (long rows = this.presentRows[column]; rows != 0; rows &= rows - 1) {
+					EnemyShip enemyShip = getShip(column, Long.numberOfTrailingZeros(rows));
 					// In the last stage, the enemy's ships started out in different positions,
 					// so their coordinates changed accordingly.
 					if (lastStage) {
@@ -392,43 +460,37 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	}
 
 	/**
-	 * Cleans empty columns, adjusts the width and height of the formation.
+	 * Adjusts the width and height of the formation, if ships have moved or
+	 * left since it was last done.
 	 */
 	private void cleanUp() {
-		Set<Integer> emptyColumns = new HashSet<Integer>();
-		int maxColumn = 0;
-		int minPositionY = Integer.MAX_VALUE;
-		for (List<EnemyShip> column : this.enemyShips) {
-			if (!column.isEmpty()) {
-				// Height of this column
-				int columnSize = column.get(column.size() - 1).positionY
-						- this.positionY + this.shipHeight;
-				maxColumn = Math.max(maxColumn, columnSize);
-				minPositionY = Math.min(minPositionY, column.get(0)
-						.getPositionY());
-			} else {
-				// Empty column, we remove it.
-				emptyColumns.add(this.enemyShips.indexOf(column));
-			}
-		}
-		for (int index : emptyColumns) {
-			this.enemyShips.remove(index);
-			logger.info("Removed column " + index);
-		}
+		if (!this.boundsChanged)
+			return;
+		this.boundsChanged = false;
 
+		int minPositionY = Integer.MAX_VALUE;
+		int maxPositionY = Integer.MIN_VALUE;
 		int leftMostPoint = 0;
 		int rightMostPoint = 0;
-
-		for (List<EnemyShip> column : this.enemyShips) {
-			if (!column.isEmpty()) {
-				if (leftMostPoint == 0)
-					leftMostPoint = column.get(0).getPositionX();
-				rightMostPoint = column.get(0).getPositionX();
-			}
+		boolean first = true;
+
+		for (int column = 0; column < this.nShipsWide; column++) {
+			long rows = this.presentRows[column];
+			if (rows == 0)
+				continue;
+			EnemyShip top = getShip(column, Long.numberOfTrailingZeros(rows));
+			EnemyShip bottom = getShip(column,
+					MAX_ROWS - 1 - Long.numberOfLeadingZeros(rows));
+			minPositionY = Math.min(minPositionY, top.getPositionY());
+			maxPositionY = Math.max(maxPositionY, bottom.getPositionY());
+			if (first)
+				leftMostPoint = top.getPositionX();
+			rightMostPoint = top.getPositionX();
+			first = false;
 		}
 
 		this.width = rightMostPoint - leftMostPoint + this.shipWidth;
-		this.height = maxColumn;
+		this.height = first ? 0 : maxPositionY - minPositionY + this.shipHeight;
 
 		this.positionX = leftMostPoint;
 		this.positionY = minPositionY;
@@ -438,9 +500,9 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	 * Shoots a bullet downwards.
 	 *
 	 * @param bullets
-	 *            Bullets set to add the bullet being shot.
+	 *            Bullets to add the bullet being shot to.
 	 */
-	public final void shoot(final Set<Bullet> bullets) {
+	public final void shoot(final BulletStore bullets) {
 		// For now, only ships in the bottom row are able to shoot.
 
 		if (this.shootingCooldown.checkFinished()) {
@@ -454,13 +516,15 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 					bulletSpeed = 4;
 				}
 			}
-			ArrayList<Boolean> shot = new ArrayList<>();// 적이 한번만 발사
-			for (int i=0;i<this.shooters.size();i++) shot.add(false);
+			if (this.shooterCount == 0)
+				return;
+			Arrays.fill(this.shot, false);// 적이 한번만 발사
 			for (int i = 0; i < gameState.getLevel(); i++) {
-				int index = (int) (Math.random() * (this.shooters.size()-1));
-				if (shot.get(index))continue;
-				shot.set(index, true);
-				EnemyShip shooter = this.shooters.get(index);
+				int index = (int) (GameRandom.get(GameRandom.Stream.FORMATION)
+						.nextDouble() * (this.shooterCount-1));
+				if (this.shot[index])continue;
+				this.shot[index] = true;
+				EnemyShip shooter = getShooter(index);
 				shooter.shoot(bullets, shootingCooldown);
 				SoundManager.playSound("SFX/S_Enemy_Shoot", "EnemyShoot", false, false);
 			}
@@ -474,39 +538,18 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	 *            Ship to be destroyed.
 	 */
 	public final void destroy(final EnemyShip destroyedShip) {
-		for (List<EnemyShip> column : this.enemyShips)
-			for (int i = 0; i < column.size(); i++)
-				if (column.get(i).equals(destroyedShip)) {
-					column.get(i).destroy();
-					int row = this.enemyShips.indexOf(column);
-					this.logger.info("Destroyed ship in ("
-							+ row + "," + i + ")");
-				}
-
-		if (this.shooters.contains(destroyedShip)) {
-			int destroyedShipIndex = this.shooters.indexOf(destroyedShip);
-			int destroyedShipColumnIndex = -1;
-
-			for (List<EnemyShip> column : this.enemyShips)
-				if (column.contains(destroyedShip)) {
-					destroyedShipColumnIndex = this.enemyShips.indexOf(column);
-					break;
-				}
+		int index = destroyedShip.getFormationIndex();
+		int column = index / this.nShipsHigh;
+		int row = index % this.nShipsHigh;
 
-			EnemyShip nextShooter = getNextShooter(this.enemyShips
-					.get(destroyedShipColumnIndex));
+		destroyedShip.destroy();
+		this.logger.fine(() -> "Destroyed ship in ("
+				+ column + "," + row + ")");
 
-			if (nextShooter != null)
-				this.shooters.set(destroyedShipIndex, nextShooter);
-			else {
-				this.shooters.remove(destroyedShipIndex);
-				this.logger.info("Shooters list reduced to "
-						+ this.shooters.size() + " members.");
-				if (this.shooters.isEmpty())
-					SoundManager.playSound("SFX/S_LevelClear", "level_start_count", false, false);
-			}
+		if (destroyedShip.isDestroyed()) {
+			markDestroyed(column, row);
+			this.shipCount--;
 		}
-		if (destroyedShip.isDestroyed()) this.shipCount--;
 	}
 
 	/**
@@ -525,59 +568,35 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 		int[] dx = {0, 0, 1, 1, 1, -1, -1, -1};
 		int[] dy = {-1, 1, -1, 0, 1, -1, 0, 1};
 
-		for (int i = 0; i < this.enemyShips.size(); i++){
-			for (int j = 0; j < this.enemyShips.get(i).size(); j++) {
-				if (this.enemyShips.get(i).get(j) == destroyedShip) {
-					destroyedByBombEnemyShips.add(this.enemyShips.get(i).get(j));
-					this.enemyShips.get(i).get(j).destroyByBomb();
-					this.logger.info("Destroyed ship in ("
-							+ i + "," + j + ")");
-					howManyEnemyIsDead++;
-
-					int xPos = destroyedShip.positionX;
-					int yPos = destroyedShip.positionY;
-
-					for(int n = 0; n < 8; n++){
-						int nx = i + dx[n]; int ny = j + dy[n];
-						if(!(nx >= 0 && nx <= this.enemyShips.size() - 1 && ny >= 0 && ny <= this.enemyShips.get(nx).size() - 1)) continue;
-						EnemyShip enemyShip = this.enemyShips.get(nx).get(ny);
-						if(enemyShip.positionX - xPos > 40 || enemyShip.positionX - xPos < -40) continue;
-						if(enemyShip.positionY - yPos > 40 || enemyShip.positionY - yPos < -40) continue;
-						if(enemyShip.isDestroyed()) continue;
-
-						destroyedByBombEnemyShips.add(enemyShip);
-						enemyShip.destroyByBomb();
-						this.logger.info("Destroyed ship in ("
-								+ nx + "," + ny + ")");
-						howManyEnemyIsDead++;
-					}
-				}
-			}
+		int index = destroyedShip.getFormationIndex();
+		int i = index / this.nShipsHigh;
+		int j = index % this.nShipsHigh;
+
+		destroyedByBombEnemyShips.add(destroyedShip);
+		destroyedShip.destroyByBomb();
+		markDestroyed(i, j);
+		this.logger.fine(() -> "Destroyed ship in ("
+				+ i + "," + j + ")");
+		howManyEnemyIsDead++;
+
+		int xPos = destroyedShip.positionX;
+		int yPos = destroyedShip.positionY;
+
+		for(int n = 0; n < 8; n++){
+			int nx = i + dx[n]; int ny = j + dy[n];
+			if(!(nx >= 0 && nx < this.nShipsWide && ny >= 0 && ny < this.nShipsHigh)) continue;
+			if((this.aliveRows[nx] & (1L << ny)) == 0) continue;
+			EnemyShip enemyShip = getShip(nx, ny);
+			if(enemyShip.positionX - xPos > 40 || enemyShip.positionX - xPos < -40) continue;
+			if(enemyShip.positionY - yPos > 40 || enemyShip.positionY - yPos < -40) continue;
+
+			destroyedByBombEnemyShips.add(enemyShip);
+			enemyShip.destroyByBomb();
+			markDestroyed(nx, ny);
+			this.logger.fine(() -> "Destroyed ship in ("
+					+ nx + "," + ny + ")");
+			howManyEnemyIsDead++;
 		}
-		for(EnemyShip enemyShip : destroyedByBombEnemyShips)
-			if (this.shooters.contains(enemyShip)) {
-				int destroyedShipIndex = this.shooters.indexOf(enemyShip);
-				int destroyedShipColumnIndex = -1;
-
-				for (List<EnemyShip> column : this.enemyShips)
-					if (column.contains(enemyShip)) {
-						destroyedShipColumnIndex = this.enemyShips.indexOf(column);
-						break;
-					}
-
-				EnemyShip nextShooter = getNextShooter(this.enemyShips
-						.get(destroyedShipColumnIndex));
-
-				if (nextShooter != null)
-					this.shooters.set(destroyedShipIndex, nextShooter);
-				else {
-					this.shooters.remove(destroyedShipIndex);
-					this.logger.info("Shooters list reduced to "
-							+ this.shooters.size() + " members.");
-					if (this.shooters.isEmpty())
-						SoundManager.playSound("SFX/S_LevelClear", "level_start_count", false, false);
-				}
-			}
 
 		this.shipCount -= howManyEnemyIsDead;
 		return destroyedByBombEnemyShips;
@@ -585,22 +604,44 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	}
 
 	/**
-	 * Gets the ship on a given column that will be in charge of shooting.
-	 * 
+	 * Marks a ship as destroyed, handing its column's shooting over to the
+	 * next ship alive above it, if any.
+	 *
 	 * @param column
-	 *            Column to search.
-	 * @return New shooter ship.
+	 *            Column of the destroyed ship.
+	 * @param row
+	 *            Row of the destroyed ship.
 	 */
-	public final EnemyShip getNextShooter(final List<EnemyShip> column) {
-		Iterator<EnemyShip> iterator = column.iterator();
-		EnemyShip nextShooter = null;
-		while (iterator.hasNext()) {
-			EnemyShip checkShip = iterator.next();
-			if (checkShip != null && !checkShip.isDestroyed())
-				nextShooter = checkShip;
-		}
+	private void markDestroyed(final int column, final int row) {
+		this.aliveRows[column] &= ~(1L << row);
+		if (this.aliveRows[column] != 0)
+			return;
+
+		for (int i = 0; i < this.shooterCount; i++)
+			if (this.shooterColumns[i] == column) {
+				System.arraycopy(this.shooterColumns, i + 1,
+						this.shooterColumns, i, this.shooterCount - i - 1);
+				this.shooterCount--;
+				this.logger.fine(() -> "Shooters list reduced to "
+						+ this.shooterCount + " members.");
+				if (this.shooterCount == 0)
+					SoundManager.playSound("SFX/S_LevelClear", "level_start_count", false, false);
+				break;
+			}
+	}
 
-		return nextShooter;
+	/**
+	 * Gets the ship in charge of shooting for one of the shooting columns,
+	 * the lowest one alive.
+	 * 
+	 * @param index
+	 *            Index of the column among the shooting ones.
+	 * @return Shooter ship.
+	 */
+	private EnemyShip getShooter(final int index) {
+		int column = this.shooterColumns[index];
+		return getShip(column,
+				MAX_ROWS - 1 - Long.numberOfLeadingZeros(this.aliveRows[column]));
 	}
 
 	/**
@@ -610,13 +651,37 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	 */
 	@Override
 	public final Iterator<EnemyShip> iterator() {
-		Set<EnemyShip> enemyShipsList = new HashSet<EnemyShip>();
+		return new Iterator<EnemyShip>() {
+			/** Column being visited. */
+			private int column = -1;
+			/** Rows left to visit in the column. */
+			private long rows = 0;
+
+			@Override
+			public boolean hasNext() {
+				while (this.rows == 0 && this.column < nShipsWide - 1)
+					this.rows = presentRows[++this.column];
+				return this.rows != 0;
+			}
 
-		for (List<EnemyShip> column : this.enemyShips)
-			for (EnemyShip enemyShip : column)
-				enemyShipsList.add(enemyShip);
+			@Override
+			public EnemyShip next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				int row = Long.numberOfTrailingZeros(this.rows);
+				this.rows &= this.rows - 1;
+				return getShip(this.column, row);
+			}
+		};
+	}
 
-		return enemyShipsList.iterator();
+	/**
+	 * Getter for the number of ships not destroyed.
+	 *
+	 * @return Ships remaining.
+	 */
+	public final int getShipCount() {
+		return this.shipCount;
 	}
 
 	/**
@@ -16,6 +16,10 @@ public class Entity {
 	protected int positionX;
 	/** Position in the y-axis of the upper left corner of the entity. */
 	protected int positionY;
+	/** Position in the x-axis at the start of the last simulation tick. */
+	private int previousPositionX;
+	/** Position in the y-axis at the start of the last simulation tick. */
+	private int previousPositionY;
 	/** Width of the entity. */
 	protected int width;
 	/** Height of the entity. */
@@ -45,6 +49,8 @@ public class Entity {
 			final int height, final Color color) {
 		this.positionX = positionX;
 		this.positionY = positionY;
+		this.previousPositionX = positionX;
+		this.previousPositionY = positionY;
 		this.width = width;
 		this.height = height;
 		this.origin_color = color;
@@ -112,6 +118,41 @@ public class Entity {
 		this.positionY = positionY;
 	}
 
+	/**
+	 * Remembers the current position as the one the entity had at the start
+	 * of the simulation tick, to interpolate from when drawing.
+	 */
+	public final void savePosition() {
+		this.previousPositionX = this.positionX;
+		this.previousPositionY = this.positionY;
+	}
+
+	/**
+	 * Getter for the X axis position the entity is drawn at, between the
+	 * last two simulation ticks.
+	 *
+	 * @param alpha
+	 *            Fraction of a tick elapsed since the last one, from 0 to 1.
+	 * @return Interpolated position of the entity in the X axis.
+	 */
+	public final int getRenderPositionX(final double alpha) {
+		return (int) Math.round(this.previousPositionX
+				+ (this.positionX - this.previousPositionX) * alpha);
+	}
+
+	/**
+	 * Getter for the Y axis position the entity is drawn at, between the
+	 * last two simulation ticks.
+	 *
+	 * @param alpha
+	 *            Fraction of a tick elapsed since the last one, from 0 to 1.
+	 * @return Interpolated position of the entity in the Y axis.
+	 */
+	public final int getRenderPositionY(final double alpha) {
+		return (int) Math.round(this.previousPositionY
+				+ (this.positionY - this.previousPositionY) * alpha);
+	}
+
 	/**
 	 * Getter for the sprite that the entity will be drawn as.
 	 * 
@@ -26,6 +26,7 @@ public final class ItemPool {
             item = new Item(positionX, positionY, itemRange, itemSpeed);
             item.setPositionX(positionX - item.getWidth() / 2);
         }
+        item.savePosition();
         return item;
     }
 
@@ -1,13 +1,13 @@
 package entity;
 
 import java.awt.Color;
-import java.util.Set;
 import java.util.*;
 
 import engine.Cooldown;
 import engine.Core;
 import engine.DrawManager;
 import engine.DrawManager.SpriteType;
+import engine.EffectScheduler;
 
 /**
  * Implements a ship, to be controlled by the player.
@@ -75,11 +75,18 @@ public class Ship extends Entity {
 
     private int impactInterval = 10000;
 
-    private Cooldown speedupCooldown;
-
-    private Cooldown invincibleCooldown;
-
-    private Cooldown auxiliaryCooldown;
+    /**
+     * Pending end of the speed item, null if none.
+     */
+    private EffectScheduler.Timer speedupEffect;
+    /**
+     * Pending end of the invincible item, null if none.
+     */
+    private EffectScheduler.Timer invincibleEffect;
+    /**
+     * Pending end of the auxiliary ships item, null if none.
+     */
+    private EffectScheduler.Timer auxiliaryEffect;
     private boolean hasPurchasedSpeedItem = false;
 
     /**
@@ -99,10 +106,6 @@ public class Ship extends Entity {
         this.destructionCooldown = Core.getCooldown(1000);
         this.skillCooldown = Core.getCooldown(1000);
 
-        this.speedupCooldown = Core.getCooldown(impactInterval);
-        this.invincibleCooldown = Core.getCooldown(impactInterval);
-        this.auxiliaryCooldown = Core.getCooldown(impactInterval);
-
         this.speed = originalSpeed;
         this.BULLET_SPEED = ORIGINAL_BULLET_SPEED;
         this.itemQueue = new ItemQueue();
@@ -133,14 +136,14 @@ public class Ship extends Entity {
     /**
      * Shoots a bullet upwards.
      *
-     * @param bullets List of bullets on screen, to add the new bullet.
+     * @param bullets Bullets on screen, to add the new bullet to.
      * @return Checks if the bullet was shot correctly.
      */
-    public final boolean shoot(final Set<Bullet> bullets, final int shooter) {
+    public final boolean shoot(final BulletStore bullets, final int shooter) {
         if (this.shootingCooldown.checkFinished()) {
             this.shootingCooldown.reset();
-            bullets.add(BulletPool.getBullet(positionX + this.width / 2,
-                    positionY, BULLET_SPEED, shooter));
+            bullets.add(positionX + this.width / 2,
+                    positionY, BULLET_SPEED, shooter);
             return true;
         }
         return false;
@@ -235,34 +238,28 @@ public class Ship extends Entity {
         this.shootingCooldown = Core.getCooldown(shootingInterval);
     }
 
-    public final boolean getItemImpact() {
-        return (this.speed == this.originalSpeed + this.ITEM_SPEED_UP_VALUE || this.Invincible || this.existAuxiliaryShips);
-    }
-
-    public final void itemImpactUpdate() {
-        if (this.speed == this.originalSpeed + this.ITEM_SPEED_UP_VALUE) {
-            if (this.speedupCooldown.checkFinished()) resetSpeed();
-        } else if (this.Invincible) {
-            if (this.invincibleCooldown.checkFinished()) {
-                Color c = this.getColor();
-                if (c == Color.BLUE) {
-                    Invincible = false;
-                    changeColor(Color.GREEN);
-                } else if (c == Color.magenta) {
-                    Invincible = false;
-                    changeColor(Color.RED);
-                }
-            }
-        } else if (this.existAuxiliaryShips) {
-            if (this.auxiliaryCooldown.checkFinished()) setExistAuxiliaryShips(false);
-        }
+    /**
+     * Cancels a pending item effect and schedules it again from now.
+     *
+     * @param effect  Pending effect, null if none.
+     * @param effects Scheduler of the game screen.
+     * @param end     Action ending the item effect.
+     * @return Handle of the new effect.
+     */
+    private EffectScheduler.Timer restartEffect(final EffectScheduler.Timer effect,
+                                                final EffectScheduler effects, final Runnable end) {
+        if (effect != null)
+            effect.cancel();
+        return effects.schedule(this.impactInterval, end);
     }
 
     /**
      * Set item_speed for 10sec when ship get speed item
+     *
+     * @param effects Scheduler ending the item.
      **/
-    public void setItemSpeed() {
-        this.speedupCooldown.reset();
+    public void setItemSpeed(final EffectScheduler effects) {
+        this.speedupEffect = restartEffect(this.speedupEffect, effects, this::resetSpeed);
         this.speed = this.originalSpeed + this.ITEM_SPEED_UP_VALUE;
     }
 
@@ -278,20 +275,39 @@ public class Ship extends Entity {
         return this.Invincible;
     }
 
-    public final void runInvincible() {
+    /**
+     * Makes the ship invincible for 10sec.
+     *
+     * @param effects Scheduler ending the item.
+     */
+    public final void runInvincible(final EffectScheduler effects) {
         Color c = this.getColor();
 
         if (c == Color.GREEN || c == Color.BLUE) {
-            this.invincibleCooldown.reset();
+            this.invincibleEffect = restartEffect(this.invincibleEffect, effects, this::endInvincible);
             this.Invincible = true;
             this.changeColor(Color.BLUE);
         } else if (c == Color.RED || c == Color.magenta) {
-            this.invincibleCooldown.reset();
+            this.invincibleEffect = restartEffect(this.invincibleEffect, effects, this::endInvincible);
             this.Invincible = true;
             this.changeColor(Color.magenta);
         }
     }
 
+    /**
+     * Ends the invincible item and restores the ship's color.
+     */
+    private void endInvincible() {
+        Color c = this.getColor();
+        if (c == Color.BLUE) {
+            Invincible = false;
+            changeColor(Color.GREEN);
+        } else if (c == Color.magenta) {
+            Invincible = false;
+            changeColor(Color.RED);
+        }
+    }
+
     public final ItemQueue getItemQueue() {
         return this.itemQueue;
     }
@@ -304,8 +320,14 @@ public class Ship extends Entity {
         return existAuxiliaryShips;
     }
 
-    public void setAuxiliaryShipsMode() {
-        this.auxiliaryCooldown.reset();
+    /**
+     * Brings out the auxiliary ships for 10sec.
+     *
+     * @param effects Scheduler ending the item.
+     */
+    public void setAuxiliaryShipsMode(final EffectScheduler effects) {
+        this.auxiliaryEffect = restartEffect(this.auxiliaryEffect, effects,
+                () -> setExistAuxiliaryShips(false));
         setExistAuxiliaryShips(true);
     }
 
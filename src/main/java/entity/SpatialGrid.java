@@ -0,0 +1,212 @@
+package entity;
+
+import java.util.Arrays;
+
+/**
+ * Buckets entities into a uniform grid over the screen, so collisions are
+ * only checked against entities in the same cells.
+ *
+ * The grid is meant to be rebuilt every tick: entities are added, then
+ * build() sorts them into their cells, and query() can be called as many
+ * times as needed until the next clear(). No objects are created once the
+ * internal arrays have grown to fit.
+ */
+public class SpatialGrid {
+
+	/** Side of each cell, in pixels. */
+	private final int cellSize;
+	/** Number of cell columns. */
+	private final int columns;
+	/** Number of cell rows. */
+	private final int rows;
+
+	/** Entities added since the last clear. */
+	private Entity[] entities;
+	/** Number of entities added. */
+	private int size;
+	/** Index in entries where each cell starts, plus one past the end. */
+	private final int[] cellStart;
+	/** Entity indexes, sorted by cell. */
+	private int[] entries;
+	/** Query each entity was last returned by, to avoid duplicates. */
+	private int[] stamps;
+	/** Number of the current query. */
+	private int stamp;
+	/** Entities found by the last query. */
+	private Entity[] results;
+	/** Number of entities found by the last query. */
+	private int resultCount;
+
+	/**
+	 * Constructor, covers the given area with cells.
+	 *
+	 * @param width
+	 *            Width of the area, in pixels.
+	 * @param height
+	 *            Height of the area, in pixels.
+	 * @param cellSize
+	 *            Side of each cell, in pixels.
+	 */
+	public SpatialGrid(final int width, final int height, final int cellSize) {
+		this.cellSize = cellSize;
+		this.columns = Math.max(1, (width + cellSize - 1) / cellSize);
+		this.rows = Math.max(1, (height + cellSize - 1) / cellSize);
+		this.cellStart = new int[this.columns * this.rows + 1];
+		this.entities = new Entity[64];
+		this.entries = new int[128];
+		this.stamps = new int[64];
+		this.results = new Entity[64];
+	}
+
+	/**
+	 * Removes every entity from the grid.
+	 */
+	public final void clear() {
+		Arrays.fill(this.entities, 0, this.size, null);
+		this.size = 0;
+	}
+
+	/**
+	 * Adds an entity, to be sorted into cells on the next build().
+	 *
+	 * @param entity
+	 *            Entity to add.
+	 */
+	public final void add(final Entity entity) {
+		if (this.size == this.entities.length) {
+			this.entities = Arrays.copyOf(this.entities, this.size * 2);
+			this.stamps = Arrays.copyOf(this.stamps, this.size * 2);
+		}
+		this.entities[this.size++] = entity;
+	}
+
+	/**
+	 * Sorts the added entities into the cells they overlap.
+	 */
+	public final void build() {
+		Arrays.fill(this.cellStart, 0);
+
+		// Count the entries of each cell, shifted by one.
+		int total = 0;
+		for (int i = 0; i < this.size; i++) {
+			Entity entity = this.entities[i];
+			int minColumn = column(entity.getPositionX());
+			int maxColumn = column(entity.getPositionX() + entity.getWidth() - 1);
+			int minRow = row(entity.getPositionY());
+			int maxRow = row(entity.getPositionY() + entity.getHeight() - 1);
+			for (int y = minRow; y <= maxRow; y++)
+				for (int x = minColumn; x <= maxColumn; x++) {
+					this.cellStart[y * this.columns + x + 1]++;
+					total++;
+				}
+		}
+		for (int cell = 1; cell < this.cellStart.length; cell++)
+			this.cellStart[cell] += this.cellStart[cell - 1];
+		if (this.entries.length < total)
+			this.entries = new int[Math.max(total, this.entries.length * 2)];
+
+		// Fill every cell, using its start as cursor.
+		for (int i = 0; i < this.size; i++) {
+			Entity entity = this.entities[i];
+			int minColumn = column(entity.getPositionX());
+			int maxColumn = column(entity.getPositionX() + entity.getWidth() - 1);
+			int minRow = row(entity.getPositionY());
+			int maxRow = row(entity.getPositionY() + entity.getHeight() - 1);
+			for (int y = minRow; y <= maxRow; y++)
+				for (int x = minColumn; x <= maxColumn; x++)
+					this.entries[this.cellStart[y * this.columns + x]++] = i;
+		}
+		// Cursors ended at the start of the next cell, shift them back.
+		for (int cell = this.cellStart.length - 1; cell > 0; cell--)
+			this.cellStart[cell] = this.cellStart[cell - 1];
+		this.cellStart[0] = 0;
+	}
+
+	/**
+	 * Finds the entities sharing a cell with the given area. Results are
+	 * kept until the next query.
+	 *
+	 * @param positionX
+	 *            Position of the area in the X axis.
+	 * @param positionY
+	 *            Position of the area in the Y axis.
+	 * @param width
+	 *            Width of the area.
+	 * @param height
+	 *            Height of the area.
+	 * @return Number of entities found.
+	 */
+	public final int query(final int positionX, final int positionY,
+			final int width, final int height) {
+		if (++this.stamp == 0) {
+			Arrays.fill(this.stamps, 0);
+			this.stamp = 1;
+		}
+		this.resultCount = 0;
+
+		int minColumn = column(positionX);
+		int maxColumn = column(positionX + width - 1);
+		int minRow = row(positionY);
+		int maxRow = row(positionY + height - 1);
+		for (int y = minRow; y <= maxRow; y++)
+			for (int x = minColumn; x <= maxColumn; x++) {
+				int cell = y * this.columns + x;
+				for (int i = this.cellStart[cell]; i < this.cellStart[cell + 1]; i++) {
+					int index = this.entries[i];
+					if (this.stamps[index] == this.stamp)
+						continue;
+					this.stamps[index] = this.stamp;
+					if (this.resultCount == this.results.length)
+						this.results = Arrays.copyOf(this.results,
+								this.resultCount * 2);
+					this.results[this.resultCount++] = this.entities[index];
+				}
+			}
+		return this.resultCount;
+	}
+
+	/**
+	 * Finds the entities sharing a cell with the given one.
+	 *
+	 * @param entity
+	 *            Entity to look around.
+	 * @return Number of entities found.
+	 */
+	public final int query(final Entity entity) {
+		return query(entity.getPositionX(), entity.getPositionY(),
+				entity.getWidth(), entity.getHeight());
+	}
+
+	/**
+	 * Getter for an entity found by the last query.
+	 *
+	 * @param index
+	 *            Index of the result, below the number returned by query().
+	 * @return Found entity.
+	 */
+	public final Entity getResult(final int index) {
+		return this.results[index];
+	}
+
+	/**
+	 * Cell column of a position, clamped to the grid.
+	 *
+	 * @param positionX
+	 *            Position in the X axis.
+	 * @return Column index.
+	 */
+	private int column(final int positionX) {
+		return Math.min(this.columns - 1, Math.max(0, positionX / this.cellSize));
+	}
+
+	/**
+	 * Cell row of a position, clamped to the grid.
+	 *
+	 * @param positionY
+	 *            Position in the Y axis.
+	 * @return Row index.
+	 */
+	private int row(final int positionY) {
+		return Math.min(this.rows - 1, Math.max(0, positionY / this.cellSize));
+	}
+}
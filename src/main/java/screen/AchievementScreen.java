@@ -22,6 +22,7 @@ public class AchievementScreen extends Screen {
 	 */
 	public AchievementScreen(final int width, final int height, final int fps) {
 		super(width, height, fps);
+		this.retained = true;
 
 		this.returnCode = 1;
 		this.achievements = AchievementManager.getInstance().getAchievements();
@@ -34,7 +35,8 @@ public class AchievementScreen extends Screen {
 
 	protected final void update() {
 		super.update();
-		draw();
+		if (isDirty())
+			draw();
 		if ((inputManager.isKeyDown(KeyEvent.VK_ESCAPE) || inputManager.isKeyDown(KeyEvent.VK_SPACE)) && this.inputDelay.checkFinished()){
 			SoundManager.playSound("SFX/S_MenuClick", "menu_select", false, false);
 			this.isRunning = false;
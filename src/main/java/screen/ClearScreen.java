@@ -39,6 +39,7 @@ public class ClearScreen extends Screen {
     public ClearScreen(final int width, final int height, final int fps,
                        final GameState gameState) {
         super(width, height, fps);
+        this.retained = true;
 
         this.gameState = gameState;
         this.level = gameState.getLevel()-1;
@@ -79,7 +80,8 @@ public class ClearScreen extends Screen {
     protected final void update() {
         super.update();
 
-        draw();
+        if (isDirty())
+            draw();
         if (inputManager.isKeyDown(KeyEvent.VK_UP)
                 || inputManager.isKeyDown(KeyEvent.VK_W)
                 || inputManager.isKeyDown(KeyEvent.VK_DOWN)
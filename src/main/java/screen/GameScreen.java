@@ -1,16 +1,14 @@
 package screen;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.awt.event.KeyEvent;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import java.awt.*;
 import java.io.IOException;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import engine.*;
 import entity.*;
@@ -35,8 +33,12 @@ public class GameScreen extends Screen {
 	private static final int BONUS_SHIP_EXPLOSION = 500;
 	/** Time from finishing the level to screen change. */
 	private static final int SCREEN_CHANGE_INTERVAL = 1500;
+	/** Time the speed up skill lasts. */
+	private static final int SKILL_SPEED_UP_DURATION = 1000;
 	/** Height of the interface separation line. */
 	private static final int SEPARATION_LINE_HEIGHT = 40;
+	/** Side of the collision grid cells, about the size of an enemy ship. */
+	private static final int COLLISION_CELL_SIZE = 40;
 
 	/** Current game state. */
 	private GameState gameState;
@@ -48,6 +50,8 @@ public class GameScreen extends Screen {
 	private int level;
 	/** Formation of enemy ships. */
 	private EnemyShipFormation enemyShipFormation;
+	/** Grid the enemy ships are bucketed in to find bullet collisions. */
+	private SpatialGrid collisionGrid;
 
 	/** First Player's ship. */
 	private Ship ship;
@@ -64,9 +68,11 @@ public class GameScreen extends Screen {
 	private Cooldown enemyShipSpecialExplosionCooldown;
 	/** Time from finishing the level to screen change. */
 	private Cooldown screenFinishedCooldown;
+	/** Timed effects of items and skills, paused with the game. */
+	private EffectScheduler effects;
 
-	/** Set of all bullets fired by on screen ships. */
-	private Set<Bullet> bullets;
+	/** All bullets fired by on screen ships. */
+	private BulletStore bullets;
 
 	private Set<Item> items;
 	/** Current score. */
@@ -92,7 +98,7 @@ public class GameScreen extends Screen {
 	/** Total ships destroyed by the player. */
 	private int shipsDestroyed;
 	private int shipsDestroyed2;
-	/** Moment the game starts. */
+	/** Moment the game starts, in clock nanoseconds. */
 	private long gameStartTime;
 	/** Checks if the level is finished. */
 	private boolean levelFinished;
@@ -118,6 +124,10 @@ public class GameScreen extends Screen {
 
 	/** Checks life increase item is used. **/
 	private boolean haslifeItemUsed = false;
+	/** Values shown in the top HUD, filled in every frame. */
+	private final int[] topHudState = new int[5];
+	/** Values shown in the bottom HUD, filled in every frame. */
+	private final int[] bottomHudState = new int[14];
 
 
 
@@ -192,17 +202,41 @@ public class GameScreen extends Screen {
 	 */
 	public final void initialize() {
 		super.initialize();
+		this.renderFps = drawManager.getRefreshRate(this.fps);
+
+		// Every random number of the level follows from the seed.
+		Replay replay = Core.getReplay();
+		long seed = replay != null ? replay.getSeed()
+				: GameRandom.nextLevelSeed();
+		GameRandom.reseed(seed);
+		if (replay != null)
+			replay.restoreInput(this.inputManager);
 
 		enemyShipFormation = new EnemyShipFormation(this.gameSettings, this.gameState);
 		enemyShipFormation.attach(this);
+		this.collisionGrid = new SpatialGrid(this.width, this.height,
+				COLLISION_CELL_SIZE);
 		Player player;
 		List<Boolean> existShopItems;
-		try {
-			player = Core.getFileManager().getCurrentPlayer();
-			existShopItems= player.getItem();
-		} catch (IOException e) {
-			throw new RuntimeException(e);
+		if (replay != null) {
+			existShopItems = replay.getShopItems();
+		} else if (Core.isHeadless()) {
+			// No account to take shop items from.
+			existShopItems = Arrays.asList(false, false, false);
+		} else {
+			try {
+				player = Core.getFileManager().getCurrentPlayer();
+				existShopItems= player.getItem();
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
 		}
+		if (Core.getReplayDirectory() != null)
+			this.recorder = new Replay.Recorder(Core.getReplayDirectory()
+					.resolve("level" + this.level + "_" + System.currentTimeMillis()
+							+ ".replay"), seed, this.fps, this.gameState,
+					this.gameSettings, this.bonusLife, existShopItems,
+					this.inputManager);
 		// 게임 모드 별 함선 생성 제어
 		if (gameState.getMode() == 1){
 			this.ship = new Ship(this.width / 2, this.height - 30, Color.GREEN, DrawManager.SpriteType.Ship, false);
@@ -240,11 +274,12 @@ public class GameScreen extends Screen {
 		this.enemyShipSpecialExplosionCooldown = Core
 				.getCooldown(BONUS_SHIP_EXPLOSION);
 		this.screenFinishedCooldown = Core.getCooldown(SCREEN_CHANGE_INTERVAL);
-		this.bullets = new HashSet<Bullet>();
-		this.items = new HashSet<Item>();
+		this.effects = new EffectScheduler(this.fps);
+		this.bullets = new BulletStore();
+		this.items = new LinkedHashSet<Item>();
 
 		// Special input delay / countdown.
-		this.gameStartTime = System.currentTimeMillis();
+		this.gameStartTime = GameClock.getCurrent().nanos();
 		this.inputDelay = Core.getCooldown(INPUT_DELAY);
 		this.inputDelay.reset();
 
@@ -310,11 +345,23 @@ public class GameScreen extends Screen {
 		return this.returnCode;
 	}
 
+	/**
+	 * Checks if the pause menu is open or the game is on hold, which stops
+	 * game time.
+	 *
+	 * @return True if the game is paused.
+	 */
+	@Override
+	protected final boolean isPaused() {
+		return isPause || manual;
+	}
+
 	/**
 	 * Updates the elements on screen and checks for events.
 	 */
 	protected final void update() {
 		super.update();
+		savePositions();
 
 		if (this.inputDelay.checkFinished() && inputManager.isKeyDown(KeyEvent.VK_CONTROL)){
 			isPause = true;
@@ -331,6 +378,7 @@ public class GameScreen extends Screen {
         }
 
 		if (!isPause && !manual) {
+			this.effects.advance();
 
             if (this.inputDelay.checkFinished() && !this.levelFinished) {
 
@@ -349,9 +397,6 @@ public class GameScreen extends Screen {
                     if (moveLeft && !isLeftBorder) {
                         this.ship.moveLeft();
                     }
-					if (this.ship.getItemImpact()) {
-						this.ship.itemImpactUpdate();
-					}
 
                     if (replayability.getReplay() == 0 && inputManager.isKeyDown(Core.getKeySettingCode(2))) {
                         if (this.ship.shoot(this.bullets, 1))
@@ -362,9 +407,6 @@ public class GameScreen extends Screen {
 									this.bulletsShot1++;
 							}
 						}
-						if (this.ship.getItemImpact()) {
-							this.ship.itemImpactUpdate();
-						}
 
                     }
                     if (replayability.getReplay() == 1) {
@@ -383,9 +425,6 @@ public class GameScreen extends Screen {
                                 }
                             }
                         }
-						if (this.ship.getItemImpact()) {
-							this.ship.itemImpactUpdate();
-						}
                         if (inputManager.speed == 3) {
                             per = 1;
                         } else if (inputManager.countH_u >= 7 && inputManager.countH_d >= 7 && bullet_count <= 7) {
@@ -406,9 +445,6 @@ public class GameScreen extends Screen {
 
                     if (!this.ship.isDestroyed()) {
                         List<Ship> auxiliaryShips = this.ship.getAuxiliaryShips();
-						if (this.ship.getItemImpact()) {
-							this.ship.itemImpactUpdate();
-						}
                         if (this.ship.isExistAuxiliaryShips()) {
                             auxiliaryShips.get(0).setPositionX(ship.getPositionX() - 25);
                             auxiliaryShips.get(0).setPositionY(ship.getPositionY());
@@ -453,10 +489,6 @@ public class GameScreen extends Screen {
                     if (moveLeft2p && !isLeftBorder2p && (this.lives2 > 0)) {
                         this.ship2.moveLeft();
                     }
-					if (this.ship.getItemImpact() || this.ship2.getItemImpact()) {
-						this.ship.itemImpactUpdate();
-						this.ship2.itemImpactUpdate();
-					}
 
                     if (replayability.getReplay() == 0) {
                         if (inputManager.isKeyDown(Core.getKeySettingCode(2)) && (this.lives > 0)) {
@@ -470,10 +502,6 @@ public class GameScreen extends Screen {
                                         this.bulletsShot1++;
                                     }
                             }
-							if (this.ship.getItemImpact() || this.ship2.getItemImpact()) {
-								this.ship.itemImpactUpdate();
-								this.ship2.itemImpactUpdate();
-							}
                         }
                         if (inputManager.isKeyDown(Core.getKeySettingCode(10)) && (this.lives2 > 0)) {
                             if (this.ship2.shoot(this.bullets, 2)) {
@@ -486,10 +514,6 @@ public class GameScreen extends Screen {
                                         this.bulletsShot2++;
                                     }
                             }
-							if (this.ship.getItemImpact() || this.ship2.getItemImpact()) {
-								this.ship.itemImpactUpdate();
-								this.ship2.itemImpactUpdate();
-							}
                         }
                     } else if (replayability.getReplay() == 1) {
                         //player1
@@ -506,10 +530,6 @@ public class GameScreen extends Screen {
                                         SoundManager.playSound("SFX/S_Ally_Shoot_b", "AllyShootb", false, false);
                                     }
                             }
-							if (this.ship.getItemImpact() || this.ship2.getItemImpact()) {
-								this.ship.itemImpactUpdate();
-								this.ship2.itemImpactUpdate();
-							}
 
                         }
                         if (inputManager.speed1 == 3)
@@ -530,9 +550,6 @@ public class GameScreen extends Screen {
 
                         if (!this.ship.isDestroyed()) {
                             List<Ship> auxiliaryShips = this.ship.getAuxiliaryShips();
-							if (this.ship.getItemImpact()) {
-								this.ship.itemImpactUpdate();
-							}
                             if (this.ship.isExistAuxiliaryShips()) {
                                 auxiliaryShips.get(0).setPositionX(ship.getPositionX() - 30);
                                 auxiliaryShips.get(0).setPositionY(ship.getPositionY());
@@ -554,9 +571,6 @@ public class GameScreen extends Screen {
 								this.bullet_count2++;
 								SoundManager.playSound("SFX/S_Ally_Shoot_c", "AllyShootc", false, false);
 							}
-							if (this.ship2.getItemImpact()) {
-								this.ship2.itemImpactUpdate();
-							}
 							if (this.ship2.isExistAuxiliaryShips()) {
 								for (Ship auxiliaryShip : this.ship2.getAuxiliaryShips())
 									if (auxiliaryShip.shoot(this.bullets, 2)) {
@@ -584,9 +598,6 @@ public class GameScreen extends Screen {
 						// item
 						if (!this.ship2.isDestroyed()) {
 							List<Ship> auxiliaryShips = this.ship2.getAuxiliaryShips();
-							if (this.ship2.getItemImpact()) {
-								this.ship2.itemImpactUpdate();
-							}
 							if (this.ship2.isExistAuxiliaryShips()) {
 								auxiliaryShips.get(0).setPositionX(ship2.getPositionX() - 30);
 								auxiliaryShips.get(0).setPositionY(ship2.getPositionY());
@@ -659,25 +670,30 @@ public class GameScreen extends Screen {
 					this.ship2.update();
 				}
 
+				long formationStart = FrameProfiler.start();
 				this.enemyShipFormation.update();
+				FrameProfiler.end(FrameProfiler.Phase.FORMATION, formationStart);
 				this.enemyShipFormation.shoot(this.bullets);
 			}
 
 			useSkill();
+			long phaseStart = FrameProfiler.start();
 			manageCollisions();
+			FrameProfiler.end(FrameProfiler.Phase.COLLISIONS, phaseStart);
+			phaseStart = FrameProfiler.start();
 			cleanBullets();
+			FrameProfiler.end(FrameProfiler.Phase.BULLETS, phaseStart);
+			phaseStart = FrameProfiler.start();
 			updateItems();
+			FrameProfiler.end(FrameProfiler.Phase.ITEMS, phaseStart);
 			//draw();
 
 			if ((this.enemyShipFormation.isEmpty() || (this.gameState.getMode() == 1 && this.lives == 0) || (this.gameState.getMode() == 2 && this.lives == 0 && this.lives2 == 0))
 					&& !this.levelFinished) {
 				this.levelFinished = true;
-				this.screenFinishedCooldown.reset();
+				this.screenFinishedCooldown.reset(() -> this.isRunning = false);
 			}
 
-			if (this.levelFinished && this.screenFinishedCooldown.checkFinished())
-				this.isRunning = false;
-
 		} else {
 			if (inputManager.isKeyDown(KeyEvent.VK_CONTROL)) {
 				pauseCnt++;
@@ -698,40 +714,59 @@ public class GameScreen extends Screen {
 
 		//AchievementManager.getInstance().checkLuckySeven(this.score);
 
-		draw();
+		FrameProfiler.count(FrameProfiler.Counter.BULLETS, this.bullets.size());
+		FrameProfiler.count(FrameProfiler.Counter.BULLET_CAPACITY, this.bullets.capacity());
+		FrameProfiler.count(FrameProfiler.Counter.ENEMIES, this.enemyShipFormation.getShipCount());
+		FrameProfiler.count(FrameProfiler.Counter.ITEMS, this.items.size());
+	}
+
+	/**
+	 * Saves the position of every entity before it is updated, so they can
+	 * be drawn in between ticks.
+	 */
+	private void savePositions() {
+		this.ship.savePosition();
+		if (this.gameState.getMode() == 2)
+			this.ship2.savePosition();
+		if (this.enemyShipSpecial != null)
+			this.enemyShipSpecial.savePosition();
+		this.enemyShipFormation.savePositions();
+		this.bullets.savePositions();
+		for (Item item : this.items)
+			item.savePosition();
+		for (Ship auxiliaryShip : this.ship.getAuxiliaryShips())
+			auxiliaryShip.savePosition();
+		if (this.gameState.getMode() == 2)
+			for (Ship auxiliaryShip : this.ship2.getAuxiliaryShips())
+				auxiliaryShip.savePosition();
 	}
 
 	/**
 	 * Draws the elements associated with the screen.
+	 *
+	 * @param alpha
+	 *            Fraction of a tick elapsed since the last update.
 	 */
-	private void draw() {
+	@Override
+	protected final void render(final double alpha) {
 		drawManager.initDrawing(this);
 
-		if (SelectScreen.skillModeOn) {
-			drawManager.drawAmmo(this, this.magazine, this.bullet_count);
-
-			if (this.gameState.getMode() == 2) {
-				drawManager.drawAmmo2(this, this.magazine2, this.bullet_count2);
-			}
-		}
-
-
 		if (this.gameState.getMode() == 1) {
 			if (this.lives > 0) {
-				drawManager.drawEntity(this.ship, this.ship.getPositionX(),
-						this.ship.getPositionY());
+				drawManager.drawEntity(this.ship, this.ship.getRenderPositionX(alpha),
+					this.ship.getRenderPositionY(alpha));
 			}
 			if (this.lives < 1) {
 				drawManager.clearEntity(this.ship, this.ship.getPositionX(), this.ship.getPositionY());
 			}
 		} else {
 			if (this.lives > 0) {
-				drawManager.drawEntity(this.ship, this.ship.getPositionX(),
-						this.ship.getPositionY());
+				drawManager.drawEntity(this.ship, this.ship.getRenderPositionX(alpha),
+					this.ship.getRenderPositionY(alpha));
 			}
 			if (this.lives2 > 0) {
-				drawManager.drawEntity(this.ship2, this.ship2.getPositionX(),
-						this.ship2.getPositionY());
+				drawManager.drawEntity(this.ship2, this.ship2.getRenderPositionX(alpha),
+					this.ship2.getRenderPositionY(alpha));
 			}
 			if (this.lives < 1) {
 				drawManager.clearEntity(this.ship, this.ship.getPositionX(), this.ship.getPositionY());
@@ -742,47 +777,60 @@ public class GameScreen extends Screen {
 		}
 
 		if (this.enemyShipSpecial != null)
-			drawManager.drawEntity(this.enemyShipSpecial,
-					this.enemyShipSpecial.getPositionX(),
-					this.enemyShipSpecial.getPositionY());
+			drawManager.drawEntity(this.enemyShipSpecial, this.enemyShipSpecial.getRenderPositionX(alpha),
+					this.enemyShipSpecial.getRenderPositionY(alpha));
 
-		enemyShipFormation.draw();
+		enemyShipFormation.draw(alpha);
 
-		for (Bullet bullet : this.bullets)
-			drawManager.drawEntity(bullet, bullet.getPositionX(),
-					bullet.getPositionY());
+		for (int i = 0; i < this.bullets.size(); i++)
+			drawManager.drawSprite(this.bullets.getSpriteType(i), Color.WHITE,
+					this.bullets.getPositionX(i),
+					this.bullets.getRenderPositionY(i, alpha));
 
 		for (Item item : this.items)
-			drawManager.drawEntity(item, item.getPositionX(),
-					item.getPositionY());
+			drawManager.drawEntity(item, item.getRenderPositionX(alpha),
+					item.getRenderPositionY(alpha));
 		if (this.ship.isExistAuxiliaryShips()) {
 			for (Ship auxiliaryShip : this.ship.getAuxiliaryShips()) {
-				drawManager.drawEntity(auxiliaryShip, auxiliaryShip.getPositionX(), auxiliaryShip.getPositionY());
+				drawManager.drawEntity(auxiliaryShip, auxiliaryShip.getRenderPositionX(alpha),
+					auxiliaryShip.getRenderPositionY(alpha));
 			}
 		}
 		if (gameState.getMode() == 2 && this.ship2.isExistAuxiliaryShips()) {
 			for (Ship auxiliaryShip : this.ship2.getAuxiliaryShips()) {
-				drawManager.drawEntity(auxiliaryShip, auxiliaryShip.getPositionX(), auxiliaryShip.getPositionY());
+				drawManager.drawEntity(auxiliaryShip, auxiliaryShip.getRenderPositionX(alpha),
+					auxiliaryShip.getRenderPositionY(alpha));
 			}
 		}
 
-		drawManager.drawScore(this, this.score);
-		drawManager.drawLives(this, this.lives);
-		drawManager.drawItems(this, this.ship.getItemQueue().getItemQue(), this.ship.getItemQueue().getSize());
-		if (this.gameState.getMode() == 2) {
-			drawManager.drawLives2(this, this.lives2);
-			drawManager.drawItems2(this, this.ship2.getItemQueue().getItemQue(), this.ship2.getItemQueue().getSize());
+		if (drawManager.beginTopHud(this, getTopHudState())) {
+			drawManager.drawScore(this, this.score);
+			drawManager.drawLives(this, this.lives);
+			if (this.gameState.getMode() == 2)
+				drawManager.drawLives2(this, this.lives2);
+			drawManager.drawHighScore(this, this.highScore);
+			drawManager.endHud();
+		}
+		if (drawManager.beginBottomHud(this, getBottomHudState())) {
+			if (SelectScreen.skillModeOn) {
+				drawManager.drawAmmo(this, this.magazine, this.bullet_count);
+				if (this.gameState.getMode() == 2)
+					drawManager.drawAmmo2(this, this.magazine2, this.bullet_count2);
+			}
+			drawManager.drawItems(this, this.ship.getItemQueue().getItemQue(), this.ship.getItemQueue().getSize());
+			if (this.gameState.getMode() == 2)
+				drawManager.drawItems2(this, this.ship2.getItemQueue().getItemQue(), this.ship2.getItemQueue().getSize());
+			drawManager.endHud();
 		}
-		drawManager.drawHighScore(this, this.highScore);
 		drawManager.drawHorizontalLine(this, SEPARATION_LINE_HEIGHT - 1, Color.GREEN);
 		drawManager.drawHorizontalLine(this, this.height - 1, Color.GREEN); //separation line for bottom hud
 
 		// Countdown to game start.
 		if (!this.inputDelay.checkFinished()) {
-			int countdown = (int) ((INPUT_DELAY
-					- (System.currentTimeMillis()
-					- this.gameStartTime)) / 1000);
-			long beep = ((INPUT_DELAY - (System.currentTimeMillis() - this.gameStartTime)));
+			long elapsed = TimeUnit.NANOSECONDS.toMillis(
+					GameClock.getCurrent().nanos() - this.gameStartTime);
+			int countdown = (int) ((INPUT_DELAY - elapsed) / 1000);
+			long beep = INPUT_DELAY - elapsed;
 
 			if ((beep<3995 && beep>3975) || (beep<2995 && beep>2975) || (beep<1995 && beep>1975))
 				SoundManager.playSound("SFX/S_LevelStart_b", "level_start_beep", false, false);
@@ -815,26 +863,76 @@ public class GameScreen extends Screen {
 		drawManager.completeDrawing(this);
 	}
 
+	/**
+	 * Fills in the values shown in the top HUD, so it is only drawn again
+	 * when one of them changes.
+	 *
+	 * @return Scores and lives of both players.
+	 */
+	private int[] getTopHudState() {
+		int[] state = this.topHudState;
+		state[0] = this.gameState.getMode();
+		state[1] = this.score;
+		state[2] = this.highScore;
+		state[3] = this.lives;
+		state[4] = this.lives2;
+		return state;
+	}
+
+	/**
+	 * Fills in the values shown in the bottom HUD, so it is only drawn again
+	 * when one of them changes.
+	 *
+	 * @return Ammo of both players and the items in their inventories.
+	 */
+	private int[] getBottomHudState() {
+		int[] state = this.bottomHudState;
+		state[0] = SelectScreen.skillModeOn ? 1 : 0;
+		state[1] = this.gameState.getMode();
+		state[2] = this.magazine;
+		state[3] = this.bullet_count;
+		state[4] = this.magazine2;
+		state[5] = this.bullet_count2;
+		fillInventoryState(state, 6, this.ship.getItemQueue());
+		if (this.gameState.getMode() == 2)
+			fillInventoryState(state, 10, this.ship2.getItemQueue());
+		else
+			Arrays.fill(state, 10, 14, -1);
+		return state;
+	}
+
+	/**
+	 * Fills in the size of an inventory and the kind of each item in it.
+	 *
+	 * @param state
+	 *            Values shown in the bottom HUD.
+	 * @param start
+	 *            First value to fill in.
+	 * @param itemQueue
+	 *            Inventory to read.
+	 */
+	private static void fillInventoryState(final int[] state, final int start,
+			final ItemQueue itemQueue) {
+		Item[] itemQue = itemQueue.getItemQue();
+		state[start] = itemQueue.getSize();
+		for (int i = 0; i < itemQue.length; i++)
+			state[start + 1 + i] = i < itemQueue.getSize()
+					? itemQue[i].getItemType().ordinal() : -1;
+	}
+
 	/**
 	 * Cleans bullets that go off screen.
 	 */
 	private void cleanBullets() {
-		Set<Bullet> recyclable = new HashSet<Bullet>();
-		for (Bullet bullet : this.bullets) {
-			bullet.update();
-			if (bullet.getPositionY() < SEPARATION_LINE_HEIGHT
-					|| bullet.getPositionY() > this.height)
-				recyclable.add(bullet);
-		}
-		this.bullets.removeAll(recyclable);
-		BulletPool.recycle(recyclable);
+		this.bullets.update(SEPARATION_LINE_HEIGHT, this.height);
+		this.bullets.sweep();
 	}
 
 	/**
 	 * 아이템이 화면 아래나 Ship 닿을 시 아이템 청소
 	 * */
 	private void updateItems() {
-		Set<Item> recyclableItem = new HashSet<Item>();
+		Set<Item> recyclableItem = new LinkedHashSet<Item>();
 		for (Item item : this.items) {
 			item.update();
 			if (item.getPositionY() < SEPARATION_LINE_HEIGHT
@@ -849,12 +947,15 @@ public class GameScreen extends Screen {
 	 * Manages collisions between bullets and ships.
 	 */
 	private void manageCollisions() {
-		Set<Bullet> recyclable = new HashSet<Bullet>();
+		this.collisionGrid.clear();
+		this.enemyShipFormation.addTo(this.collisionGrid);
+		this.collisionGrid.build();
+
 		if (gameState.getMode() == 1) {
-            for (Bullet bullet : this.bullets) {
-                if (bullet.getSpeed() > 0) {
-                    if (checkCollision(bullet, this.ship) && !this.levelFinished && !this.ship.isInvincible()) {
-                        recyclable.add(bullet);
+            for (int bullet = 0; bullet < this.bullets.size(); bullet++) {
+                if (this.bullets.getSpeed(bullet) > 0) {
+                    if (checkBulletCollision(bullet, this.ship) && !this.levelFinished && !this.ship.isInvincible()) {
+                        this.bullets.markRemoved(bullet);
                         if (!this.ship.isDestroyed()) {
                             this.ship.destroy();
                             if (this.lives > 0) {
@@ -868,8 +969,12 @@ public class GameScreen extends Screen {
                         }
                     }
                 } else {
-                    for (EnemyShip enemyShip : this.enemyShipFormation) {
-                        if (!enemyShip.isDestroyed() && checkCollision(bullet, enemyShip)) {
+                    int candidates = this.collisionGrid.query(
+                            this.bullets.getPositionX(bullet), this.bullets.getPositionY(bullet),
+                            BulletStore.WIDTH, BulletStore.HEIGHT);
+                    for (int i = 0; i < candidates; i++) {
+                        EnemyShip enemyShip = (EnemyShip) this.collisionGrid.getResult(i);
+                        if (!enemyShip.isDestroyed() && checkBulletCollision(bullet, enemyShip)) {
                             if (this.isBomb) {
                                 List<EnemyShip> enemyShips = this.enemyShipFormation.destroyByBomb(enemyShip);
 								SoundManager.playSound("SFX/S_Item_Bomb", "Bomb", false, false);
@@ -890,27 +995,27 @@ public class GameScreen extends Screen {
 
                             setBomb(false);
 
-                            recyclable.add(bullet);
+                            this.bullets.markRemoved(bullet);
                         }
                     }
 
-                    if (this.enemyShipSpecial != null && bullet.getShooter() == 1 && !this.enemyShipSpecial.isDestroyed()
-                            && checkCollision(bullet, this.enemyShipSpecial)) {
+                    if (this.enemyShipSpecial != null && this.bullets.getShooter(bullet) == 1 && !this.enemyShipSpecial.isDestroyed()
+                            && checkBulletCollision(bullet, this.enemyShipSpecial)) {
                         shipsDestroyed++;
                         this.score += this.enemyShipSpecial.getPointValue();
                         this.enemyShipSpecial.destroy();
                         this.enemyShipSpecialExplosionCooldown.reset();
-                        recyclable.add(bullet);
+                        this.bullets.markRemoved(bullet);
                     }
                 }
             }
         }
 
 		if (gameState.getMode() == 2) {
-			for (Bullet bullet : this.bullets) {
-				if (bullet.getSpeed() > 0) {
-					if (checkCollision(bullet, this.ship) && !this.levelFinished && !this.ship.isInvincible()) {
-						recyclable.add(bullet);
+			for (int bullet = 0; bullet < this.bullets.size(); bullet++) {
+				if (this.bullets.getSpeed(bullet) > 0) {
+					if (checkBulletCollision(bullet, this.ship) && !this.levelFinished && !this.ship.isInvincible()) {
+						this.bullets.markRemoved(bullet);
 						if (!this.ship.isDestroyed()) {
 							this.ship.destroy();
 							if (this.lives > 0) {
@@ -923,8 +1028,8 @@ public class GameScreen extends Screen {
 							this.logger.info("Hit on player1 ship, " + this.lives + " lives remaining.");
 						}
 					}
-					if (checkCollision(bullet, this.ship2) && !this.levelFinished && !this.ship2.isInvincible()) {
-						recyclable.add(bullet);
+					if (checkBulletCollision(bullet, this.ship2) && !this.levelFinished && !this.ship2.isInvincible()) {
+						this.bullets.markRemoved(bullet);
 						if (!this.ship2.isDestroyed()) {
 							this.ship2.destroy();
 							if (this.lives2 > 0) {
@@ -938,8 +1043,12 @@ public class GameScreen extends Screen {
 						}
 					}
 				} else {
-					for (EnemyShip enemyShip : this.enemyShipFormation) {
-						if (bullet.getShooter() == 1 && !enemyShip.isDestroyed() && checkCollision(bullet, enemyShip)) {
+					int candidates = this.collisionGrid.query(
+							this.bullets.getPositionX(bullet), this.bullets.getPositionY(bullet),
+							BulletStore.WIDTH, BulletStore.HEIGHT);
+					for (int i = 0; i < candidates; i++) {
+						EnemyShip enemyShip = (EnemyShip) this.collisionGrid.getResult(i);
+						if (this.bullets.getShooter(bullet) == 1 && !enemyShip.isDestroyed() && checkBulletCollision(bullet, enemyShip)) {
 
                             if (this.isBomb){
                                 List<EnemyShip> enemyShips = this.enemyShipFormation.destroyByBomb(enemyShip);
@@ -960,8 +1069,8 @@ public class GameScreen extends Screen {
 							}
 
                             setBomb(false);
-							recyclable.add(bullet);
-						} else if(!enemyShip.isDestroyed() && checkCollision(bullet, enemyShip)) {
+							this.bullets.markRemoved(bullet);
+						} else if(!enemyShip.isDestroyed() && checkBulletCollision(bullet, enemyShip)) {
 
                             if (this.isBomb){
                                 List<EnemyShip> enemyShips = this.enemyShipFormation.destroyByBomb(enemyShip);
@@ -982,32 +1091,32 @@ public class GameScreen extends Screen {
 							}
 
                             setBomb(false);
-							recyclable.add(bullet);
+							this.bullets.markRemoved(bullet);
 						}
 					}
 
-                    if (this.enemyShipSpecial != null && bullet.getShooter() == 1 && !this.enemyShipSpecial.isDestroyed()
-                            && checkCollision(bullet, this.enemyShipSpecial)) {
+                    if (this.enemyShipSpecial != null && this.bullets.getShooter(bullet) == 1 && !this.enemyShipSpecial.isDestroyed()
+                            && checkBulletCollision(bullet, this.enemyShipSpecial)) {
                         shipsDestroyed++;
                         this.score += this.enemyShipSpecial.getPointValue();
                         this.enemyShipSpecial.destroy();
                         this.enemyShipSpecialExplosionCooldown.reset();
-                        recyclable.add(bullet);
+                        this.bullets.markRemoved(bullet);
                     }
 
-                    if (this.enemyShipSpecial != null && bullet.getShooter() == 2 && !this.enemyShipSpecial.isDestroyed()
-                            && checkCollision(bullet, this.enemyShipSpecial)) {
+                    if (this.enemyShipSpecial != null && this.bullets.getShooter(bullet) == 2 && !this.enemyShipSpecial.isDestroyed()
+                            && checkBulletCollision(bullet, this.enemyShipSpecial)) {
                         shipsDestroyed2++;
                         this.score += this.enemyShipSpecial.getPointValue();
                         this.enemyShipSpecial.destroy();
                         this.enemyShipSpecialExplosionCooldown.reset();
-                        recyclable.add(bullet);
+                        this.bullets.markRemoved(bullet);
                     }
                 }
             }
         }
 
-		Set<Item> recyclableItem = new HashSet<Item>();
+		Set<Item> recyclableItem = new LinkedHashSet<Item>();
 
 		if (gameState.getMode() == 1) {
 			for (Item item : this.items) {
@@ -1024,7 +1133,7 @@ public class GameScreen extends Screen {
 					recyclableItem.add(item);
 					SoundManager.playSound("SFX/S_Item_Get", "ItemGet", false, false);
 					if(this.ship.getItemQueue().getSize() == this.ship2.getItemQueue().getSize()){
-						if(new Random().nextInt(100) > 50) this.ship.getItemQueue().enque(item);
+						if(GameRandom.get(GameRandom.Stream.ITEM_SPLIT).nextInt(100) > 50) this.ship.getItemQueue().enque(item);
 						else this.ship2.getItemQueue().enque(item);
 					}
 					else if(this.ship.getItemQueue().getSize() > this.ship2.getItemQueue().getSize()) this.ship2.getItemQueue().enque(item);
@@ -1045,9 +1154,8 @@ public class GameScreen extends Screen {
 			}
 		}
 
-		this.bullets.removeAll(recyclable);
+		this.bullets.sweep();
 		this.items.removeAll(recyclableItem);
-		BulletPool.recycle(recyclable);
 		ItemPool.recycle(recyclableItem);
 	}
 
@@ -1060,44 +1168,42 @@ public class GameScreen extends Screen {
 				ship.setSpeed(originalSpeed + 2);
 				this.logger.info("SpeedUp");
 
-				ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
-				executor.schedule(() -> {
-					ship.resetSpeed();
+				Ship boosted = ship;
+				this.effects.schedule(SKILL_SPEED_UP_DURATION, () -> {
+					boosted.resetSpeed();
 					speedBoosted = false;
-					executor.shutdown();
-				}, 1, TimeUnit.SECONDS);
+				});
 
 				speedBoosted = true;
 			}else if (per == 2) { //위아래화살표 연타 -> 총 세발
-				bullets.add(BulletPool.getBullet(ship.getPositionX(),
-						ship.getPositionY(), ship.getBULLET_SPEED(), 1));
-				bullets.add(BulletPool.getBullet(ship.getPositionX() + shipWidth/2,
-						ship.getPositionY(), ship.getBULLET_SPEED(), 1));
-				bullets.add(BulletPool.getBullet(ship.getPositionX() + shipWidth,
-						ship.getPositionY(), ship.getBULLET_SPEED(), 1));
+				bullets.add(ship.getPositionX(),
+						ship.getPositionY(), ship.getBULLET_SPEED(), 1);
+				bullets.add(ship.getPositionX() + shipWidth/2,
+						ship.getPositionY(), ship.getBULLET_SPEED(), 1);
+				bullets.add(ship.getPositionX() + shipWidth,
+						ship.getPositionY(), ship.getBULLET_SPEED(), 1);
 				this.logger.info("Three bullets");
 				this.bulletsShot1+=3;
 				this.bullet_count+=3;
 			}else if (per == 3 && !speedBoosted) { // s 연타 -> 1초간 속도 빨라지기
-				originalSpeed =  ship2.getOriginalSpeed();
+				originalSpeed = ship2.getOriginalSpeed();
 				ship2.setSpeed(originalSpeed + 2);
 				this.logger.info("SpeedUp");
 
-				ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
-				executor.schedule(() -> {
-					ship2.resetSpeed();
+				Ship boosted = ship2;
+				this.effects.schedule(SKILL_SPEED_UP_DURATION, () -> {
+					boosted.resetSpeed();
 					speedBoosted = false;
-					executor.shutdown();
-				}, 1, TimeUnit.SECONDS);
+				});
 
 				speedBoosted = true;
 			}else if (per == 4) { //위아래화살표 연타 -> 총 세발
-				bullets.add(BulletPool.getBullet(ship2.getPositionX(),
-						ship2.getPositionY(), ship2.getBULLET_SPEED(), 2));
-				bullets.add(BulletPool.getBullet(ship2.getPositionX() + shipWidth/2,
-						ship2.getPositionY(), ship2.getBULLET_SPEED(), 2));
-				bullets.add(BulletPool.getBullet(ship2.getPositionX() + shipWidth,
-						ship2.getPositionY(), ship2.getBULLET_SPEED(), 2));
+				bullets.add(ship2.getPositionX(),
+						ship2.getPositionY(), ship2.getBULLET_SPEED(), 2);
+				bullets.add(ship2.getPositionX() + shipWidth/2,
+						ship2.getPositionY(), ship2.getBULLET_SPEED(), 2);
+				bullets.add(ship2.getPositionX() + shipWidth,
+						ship2.getPositionY(), ship2.getBULLET_SPEED(), 2);
 				this.logger.info("Three bullets");
 				this.bulletsShot2+=3;
 				this.bullet_count2+=3;
@@ -1119,20 +1225,64 @@ public class GameScreen extends Screen {
 	 * Checks if two entities are colliding.
 	 *
 	 * @param a
-	 *            First entity, the bullet.
+	 *            First entity.
 	 * @param b
-	 *            Second entity, the ship.
+	 *            Second entity.
 	 * @return Result of the collision test.
 	 */
 	private boolean checkCollision(final Entity a, final Entity b) {
+		return checkCollision(a.getPositionX(), a.getPositionY(),
+				a.getWidth(), a.getHeight(), b);
+	}
+
+	/**
+	 * Checks if a bullet and an entity are colliding. Once their boxes
+	 * overlap, the lit pixels of both sprites are compared, so bullets
+	 * going through the empty corners of a sprite don't hit it.
+	 *
+	 * @param bullet
+	 *            Index of the bullet in the bullet store.
+	 * @param entity
+	 *            Entity to check.
+	 * @return Result of the collision test.
+	 */
+	private boolean checkBulletCollision(final int bullet, final Entity entity) {
+		int positionX = this.bullets.getPositionX(bullet);
+		int positionY = this.bullets.getPositionY(bullet);
+		return checkCollision(positionX, positionY, BulletStore.WIDTH,
+				BulletStore.HEIGHT, entity)
+				&& PackedSprite.overlaps(
+						drawManager.getSprite(this.bullets.getSpriteType(bullet)),
+						positionX, positionY,
+						drawManager.getSprite(entity.getSpriteType()),
+						entity.getPositionX(), entity.getPositionY());
+	}
+
+	/**
+	 * Checks if an area and an entity are colliding.
+	 *
+	 * @param positionX
+	 *            Position of the area in the X axis.
+	 * @param positionY
+	 *            Position of the area in the Y axis.
+	 * @param width
+	 *            Width of the area.
+	 * @param height
+	 *            Height of the area.
+	 * @param b
+	 *            Entity to check.
+	 * @return Result of the collision test.
+	 */
+	private boolean checkCollision(final int positionX, final int positionY,
+			final int width, final int height, final Entity b) {
 		// Calculate center point of the entities in both axis.
-		int centerAX = a.getPositionX() + a.getWidth() / 2;
-		int centerAY = a.getPositionY() + a.getHeight() / 2;
+		int centerAX = positionX + width / 2;
+		int centerAY = positionY + height / 2;
 		int centerBX = b.getPositionX() + b.getWidth() / 2;
 		int centerBY = b.getPositionY() + b.getHeight() / 2;
 		// Calculate maximum distance without collision.
-		int maxDistanceX = a.getWidth() / 2 + b.getWidth() / 2;
-		int maxDistanceY = a.getHeight() / 2 + b.getHeight() / 2;
+		int maxDistanceX = width / 2 + b.getWidth() / 2;
+		int maxDistanceY = height / 2 + b.getHeight() / 2;
 		// Calculates distance.
 		int distanceX = Math.abs(centerAX - centerBX);
 		int distanceY = Math.abs(centerAY - centerBY);
@@ -1167,21 +1317,21 @@ public class GameScreen extends Screen {
 		else{
 			if (!item.getIsGet() &&
 					item.getItemType() == Item.ItemType.SubPlaneItem) {
-				ship.setAuxiliaryShipsMode();
+				ship.setAuxiliaryShipsMode(this.effects);
 				this.logger.info("SubPlane Item 사용");
 				SoundManager.playSound("SFX/S_Item_SubShip", "SubPlaneItem", false, true); // 보조비행기 아이템 bgm
 
 			}
 			else if (!item.getIsGet() &&
 					item.getItemType() == Item.ItemType.SpeedUpItem) {
-				ship.setItemSpeed();
+				ship.setItemSpeed(this.effects);
 				SoundManager.playSound("SFX/S_Item_SpeedUp", "SpeedUpItem", false, true); // 속도 증가 아이템 bgm
 
 
 			}
 			else if (!item.getIsGet() &&
 					item.getItemType() == Item.ItemType.InvincibleItem) {
-				ship.runInvincible();
+				ship.runInvincible(this.effects);
 				this.logger.info("Invincible Item 사용");
 				SoundManager.playSound("SFX/S_Item_Invicible", "InvincibleItem", false, true);  // 무적 상태 아이템 bgm
 
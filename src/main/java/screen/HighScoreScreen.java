@@ -33,6 +33,7 @@ public class HighScoreScreen extends Screen {
 	 */
 	public HighScoreScreen(final int width, final int height, final int fps) {
 		super(width, height, fps);
+		this.retained = true;
 
 		this.returnCode = 1;
 
@@ -61,7 +62,8 @@ public class HighScoreScreen extends Screen {
 	protected final void update() {
 		super.update();
 
-		draw();
+		if (isDirty())
+			draw();
 		if ((inputManager.isKeyDown(KeyEvent.VK_SPACE) || inputManager.isKeyDown(KeyEvent.VK_ESCAPE))
 				&& this.inputDelay.checkFinished()) {
 			SoundManager.playSound("SFX/S_MenuClick", "menu_select", false, false);
@@ -19,6 +19,7 @@ public class ItemShopScreen extends Screen {
 
     public ItemShopScreen(final int width, final int height, final int fps) {
         super(width, height, fps);
+        this.retained = true;
         //defaults to center
         this.returnCode = 71;
         this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
@@ -44,7 +45,8 @@ public class ItemShopScreen extends Screen {
     protected final void update() {
         super.update();
 
-        draw();
+        if (isDirty())
+            draw();
         if (this.selectionCooldown.checkFinished() && this.inputDelay.checkFinished()) {
             if (inputManager.isKeyDown(KeyEvent.VK_LEFT) || inputManager.isKeyDown(KeyEvent.VK_A)) {
                 previousMenuItem();
@@ -22,6 +22,7 @@ public class LevelSelectionScreen extends Screen{
 
     public LevelSelectionScreen(final int width, final int height, final int fps, List<GameSettings> levelList) {
         super(width, height, fps);
+        this.retained = true;
 
         // Defaults to play.
         this.returnCode = 7;
@@ -46,7 +47,8 @@ public class LevelSelectionScreen extends Screen{
      */
     protected final void update() {
         super.update();
-        draw();
+        if (isDirty())
+            draw();
         if (this.selectionCooldown.checkFinished() && this.inputDelay.checkFinished()) {
             if ((inputManager.isKeyDown(KeyEvent.VK_UP) || inputManager.isKeyDown(KeyEvent.VK_W)) && (levelCode > 0)) {
                 levelCode--;
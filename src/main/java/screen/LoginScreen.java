@@ -44,6 +44,7 @@ public class LoginScreen extends Screen {
 	 */
 	public LoginScreen(final int width, final int height, final int fps) {
 		super(width, height, fps);
+		this.retained = true;
 
 		// Defaults to play.
 		this.returnCode = 2;
@@ -70,7 +71,8 @@ public class LoginScreen extends Screen {
 	protected final void update() {
 		super.update();
 
-		draw();
+		if (isDirty())
+			draw();
 		if (this.selectionCooldown.checkFinished()
 				&& this.inputDelay.checkFinished()) {
 				if (inputManager.isKeyDown(KeyEvent.VK_RIGHT)) {
@@ -89,6 +89,9 @@ public class ScoreScreen extends Screen {
     public ScoreScreen(final int width, final int height, final int fps,
                        final GameState gameState) {
         super(width, height, fps);
+        this.retained = true;
+        // The prompt changes color when input opens, redraw it then.
+        this.inputDelay.reset(this::markDirty);
 
         this.gameMode = gameState.getMode();
         this.score = gameState.getScore();
@@ -147,10 +150,12 @@ public class ScoreScreen extends Screen {
     protected final void update() {
         super.update();
 
-        if (gameMode == 1) {
-            draw();
-        } else {
-            draw2();
+        if (isDirty()) {
+            if (gameMode == 1) {
+                draw();
+            } else {
+                draw2();
+            }
         }
 
         if (this.inputDelay.checkFinished()) {
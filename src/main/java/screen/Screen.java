@@ -1,13 +1,19 @@
 package screen;
 
 import java.awt.Insets;
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import engine.Cooldown;
 import engine.Core;
 import engine.DrawManager;
+import engine.FrameProfiler;
+import engine.FrameProfiler.Phase;
+import engine.GameClock;
 import engine.InputManager;
+import engine.InputScript;
+import engine.Replay;
 
 /**
  * Implements a generic screen.
@@ -19,6 +25,21 @@ public class Screen {
 	
 	/** Milliseconds until the screen accepts user input. */
 	private static final int INPUT_DELAY = 1000;
+	/** Maximum updates run in a row to catch up before drawing a frame. */
+	private static final int MAX_CATCH_UP_TICKS = 5;
+	/** Nanoseconds before a deadline the loop stops sleeping. */
+	private static final long SLEEP_MARGIN = 2000000L;
+	/** Nanoseconds before a deadline the loop stops yielding and spins. */
+	private static final long YIELD_MARGIN = 200000L;
+	/** Simulated minutes a headless screen runs before giving up. */
+	private static final int HEADLESS_TIME_LIMIT = 30;
+	/** Longest a retained screen sleeps waiting for input, in nanoseconds. */
+	private static final long IDLE_WAIT = TimeUnit.MILLISECONDS.toNanos(250);
+	/**
+	 * Ticks a retained screen redraws for after a change. Menus draw before
+	 * reading the input, so a key press shows up on the second tick.
+	 */
+	private static final int DIRTY_TICKS = 2;
 
 	/** Draw Manager instance. */
 	protected DrawManager drawManager;
@@ -31,8 +52,10 @@ public class Screen {
 	protected int width;
 	/** Screen height. */
 	protected int height;
-	/** Frames per second shown on the screen. */
+	/** Updates per second the screen logic runs at. */
 	protected int fps;
+	/** Frames per second the screen is rendered at. */
+	protected int renderFps;
 	/** Screen insets. */
 	protected Insets insets;
 	/** Time until the screen accepts user input. */
@@ -42,6 +65,15 @@ public class Screen {
 	protected boolean isRunning;
 	/** What kind of screen goes next. */
 	protected int returnCode;
+	/** Records the input of every tick, if the screen is recorded. */
+	protected Replay.Recorder recorder;
+	/**
+	 * If the screen only redraws when something changed, sleeping until the
+	 * next key event otherwise.
+	 */
+	protected boolean retained;
+	/** Ticks left for a retained screen to redraw. */
+	private int dirtyTicks = DIRTY_TICKS;
 	
 	protected boolean soundSelect;
 
@@ -60,6 +92,7 @@ public class Screen {
 		this.width = width;
 		this.height = height;
 		this.fps = fps;
+		this.renderFps = fps;
 
 		this.drawManager = Core.getDrawManager();
 		this.inputManager = Core.getInputManager();
@@ -78,38 +111,256 @@ public class Screen {
 	}
 
 	/**
-	 * Activates the screen.
+	 * Activates the screen. The logic is updated at a fixed rate of fps
+	 * ticks per second, while frames are rendered at renderFps in between.
 	 * 
 	 * @return Next screen code.
 	 */
 	public int run() {
+		int code;
+		if (Core.isHeadless())
+			code = runHeadless();
+		else if (this.retained)
+			code = runRetained();
+		else
+			code = runRealTime();
+		if (this.recorder != null) {
+			try {
+				this.recorder.save();
+			} catch (IOException e) {
+				this.logger.warning("Couldn't save replay: " + e.getMessage());
+			}
+			this.recorder = null;
+		}
+		return code;
+	}
+
+	/**
+	 * Runs the screen against the system clock, drawing between updates.
+	 *
+	 * @return Next screen code.
+	 */
+	private int runRealTime() {
 		this.isRunning = true;
+		InputScript inputScript = Core.getInputScript();
+
+		long tickNanos = TimeUnit.SECONDS.toNanos(1) / this.fps;
+		long frameNanos = TimeUnit.SECONDS.toNanos(1)
+				/ Math.max(1, this.renderFps);
+		long previous = System.nanoTime();
+		long lag = tickNanos;
+		long nextFrame = previous;
 
 		while (this.isRunning) {
-			long time = System.currentTimeMillis();
+			long now = System.nanoTime();
+			lag += now - previous;
+			previous = now;
+
+			int ticks = 0;
+			while (lag >= tickNanos && ticks < MAX_CATCH_UP_TICKS
+					&& this.isRunning) {
+				tick(inputScript, tickNanos);
+				lag -= tickNanos;
+				ticks++;
+			}
+			if (!this.isRunning)
+				break;
+			// Drop whatever could not be caught up with.
+			if (lag >= tickNanos)
+				lag %= tickNanos;
+
+			render((double) lag / tickNanos);
+
+			nextFrame += frameNanos;
+			if (nextFrame < now)
+				nextFrame = now;
+			long sleepStart = FrameProfiler.start();
+			if (!waitUntil(nextFrame))
+				return 0;
+			FrameProfiler.end(Phase.SLEEP, sleepStart);
+		}
+
+		return 0;
+	}
 
-			update();
+	/**
+	 * Runs a screen that only changes on input. It ticks at the normal rate
+	 * while it has something to redraw or a key is held, and otherwise
+	 * sleeps until a key event arrives, showing the last frame again now
+	 * and then. Game time slept through is skipped over in one step so
+	 * cooldowns still run out.
+	 *
+	 * @return Next screen code.
+	 */
+	private int runRetained() {
+		this.isRunning = true;
+		InputScript inputScript = Core.getInputScript();
+
+		long tickNanos = TimeUnit.SECONDS.toNanos(1) / this.fps;
+		long previous = System.nanoTime();
+		long lag = tickNanos;
+
+		while (this.isRunning) {
+			long now = System.nanoTime();
+			lag += now - previous;
+			previous = now;
 
+			if (lag >= MAX_CATCH_UP_TICKS * tickNanos) {
+				GameClock.getCurrent().skip(lag - lag % tickNanos - tickNanos);
+				lag = lag % tickNanos + tickNanos;
+			}
+			while (lag >= tickNanos && this.isRunning) {
+				tick(inputScript, tickNanos);
+				lag -= tickNanos;
+			}
+			if (!this.isRunning)
+				break;
 
-			time = (1000 / this.fps) - (System.currentTimeMillis() - time);
-			if (time > 0) {
+			long sleepStart = FrameProfiler.start();
+			if (isDirty() || this.inputManager.isAnyKeyDown()) {
+				if (!waitUntil(now + tickNanos - lag))
+					return 0;
+			} else {
 				try {
-					TimeUnit.MILLISECONDS.sleep(time);
+					if (!this.inputManager.awaitEvent(IDLE_WAIT))
+						this.drawManager.presentLastFrame();
 				} catch (InterruptedException e) {
 					return 0;
 				}
 			}
+			FrameProfiler.end(Phase.SLEEP, sleepStart);
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Activates the screen without drawing it or waiting between updates,
+	 * advancing the game clock one tick per update instead.
+	 *
+	 * @return Next screen code.
+	 */
+	private int runHeadless() {
+		this.isRunning = true;
+
+		long tickNanos = TimeUnit.SECONDS.toNanos(1) / this.fps;
+		long maxTicks = TimeUnit.MINUTES.toSeconds(HEADLESS_TIME_LIMIT)
+				* this.fps;
+		InputScript inputScript = Core.getInputScript();
+
+		for (long tick = 0; this.isRunning; tick++) {
+			if (tick == maxTicks) {
+				this.logger.warning("Screen still running after "
+						+ HEADLESS_TIME_LIMIT + " simulated minutes, stopping.");
+				this.isRunning = false;
+				break;
+			}
+			tick(inputScript, tickNanos);
 		}
 
 		return 0;
 	}
 
+	/**
+	 * Runs one simulation tick: applies the input for it, records it if
+	 * needed, updates the screen and moves the game clock unless the screen
+	 * is paused.
+	 *
+	 * @param inputScript
+	 *            Script feeding input in place of the keyboard, or null.
+	 * @param tickNanos
+	 *            Duration of a tick, in nanoseconds.
+	 */
+	private void tick(final InputScript inputScript, final long tickNanos) {
+		this.inputManager.beginTick(inputScript == null);
+		if (inputScript != null)
+			inputScript.apply(this.inputManager);
+		if (this.recorder != null)
+			this.recorder.record(this.inputManager);
+		if (this.retained && (this.inputManager.getTickEventCount() > 0
+				|| this.inputManager.isAnyKeyDown()))
+			markDirty();
+
+		long updateStart = FrameProfiler.start();
+		update();
+		FrameProfiler.end(Phase.UPDATE, updateStart);
+		GameClock.getCurrent().advance(isPaused() ? 0 : tickNanos);
+		if (this.dirtyTicks > 0)
+			this.dirtyTicks--;
+	}
+
+	/**
+	 * Asks a retained screen to redraw over the next ticks, for changes
+	 * that don't come from a key event.
+	 */
+	protected final void markDirty() {
+		this.dirtyTicks = DIRTY_TICKS;
+	}
+
+	/**
+	 * Checks if the screen should draw this tick. Screens that aren't
+	 * retained, and any screen while the profiler overlay is shown, always
+	 * do.
+	 *
+	 * @return True if the screen should draw.
+	 */
+	protected final boolean isDirty() {
+		return !this.retained || this.dirtyTicks > 0
+				|| FrameProfiler.isOverlayVisible();
+	}
+
+	/**
+	 * Checks if the screen is paused, in which case game time stands still.
+	 *
+	 * @return True if the game clock should not move this tick.
+	 */
+	protected boolean isPaused() {
+		return false;
+	}
+
+	/**
+	 * Waits until the given time, sleeping while it is far enough and
+	 * yielding or spinning on the last stretch for precision.
+	 *
+	 * @param deadline
+	 *            Time to wait until, as given by System.nanoTime.
+	 * @return False if the thread was interrupted while waiting.
+	 */
+	private static boolean waitUntil(final long deadline) {
+		long remaining = deadline - System.nanoTime();
+		while (remaining > 0) {
+			if (remaining > SLEEP_MARGIN) {
+				try {
+					TimeUnit.NANOSECONDS.sleep(remaining - SLEEP_MARGIN);
+				} catch (InterruptedException e) {
+					return false;
+				}
+			} else if (remaining > YIELD_MARGIN) {
+				Thread.yield();
+			} else {
+				Thread.onSpinWait();
+			}
+			remaining = deadline - System.nanoTime();
+		}
+		return true;
+	}
+
 	/**
 	 * Updates the elements on screen and checks for events.
 	 */
 	protected void update() {
 	}
 
+	/**
+	 * Draws the screen between updates.
+	 *
+	 * @param alpha
+	 *            Fraction of a tick elapsed since the last update, from 0 to
+	 *            1, to interpolate positions with.
+	 */
+	protected void render(final double alpha) {
+	}
+
 	/**
 	 * Getter for screen width.
 	 * 
@@ -29,6 +29,7 @@ public class SelectScreen extends Screen{
      */
     public SelectScreen(int width, int height, int fps){
         super(width, height, fps);
+        this.retained = true;
         this.returnCode = 8;
         this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
         this.selectionCooldown.reset();
@@ -51,7 +52,8 @@ public class SelectScreen extends Screen{
     protected final void update() {
         super.update();
 
-        draw();
+        if (isDirty())
+            draw();
         if (this.selectionCooldown.checkFinished()
                 && this.inputDelay.checkFinished()) {
             if(!canEscape){
@@ -33,6 +33,7 @@ public class SettingScreen extends Screen {
      */
     public SettingScreen(final int width, final int height, final int fps) {
         super(width, height, fps);
+        this.retained = true;
         this.returnCode = 1;
         this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
         this.selectionCooldown.reset();
@@ -55,7 +56,8 @@ public class SettingScreen extends Screen {
     protected final void update() {
         super.update();
 
-        draw();
+        if (isDirty())
+            draw();
         if (this.selectionCooldown.checkFinished()
                 && this.inputDelay.checkFinished()) {
             /** Move up and down when not selected */
@@ -6,6 +6,7 @@ import engine.SoundManager;
 
 import engine.DrawManager;
 import engine.FileManager;
+import engine.PackedSprite;
 
 import java.awt.event.KeyEvent;
 import java.util.Map;
@@ -17,16 +18,19 @@ public class SkinSelectionScreen extends Screen{
     private int skincode_2p=0;
     private FileManager fileManager;
 
-    private static Map<DrawManager.SpriteType, boolean[][]> spriteMap;
+    private static Map<DrawManager.SpriteType, PackedSprite> spriteMap;
 
     public SkinSelectionScreen(final int width, final int height, final int fps) {
 
         super(width, height, fps);
+        this.retained = true;
 
         this.returnCode = 9;
         this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
         this.selectionCooldown.reset();
 
+        drawManager.resetSkinSelectionMenu();
+        applySkins();
     }
     public final int run() {
         super.run();
@@ -34,23 +38,28 @@ public class SkinSelectionScreen extends Screen{
     }
     protected final void update() {
         super.update();
-        draw();
+        if (isDirty())
+            draw();
         if (this.selectionCooldown.checkFinished() && this.inputDelay.checkFinished()) {
             if(inputManager.isKeyDown(KeyEvent.VK_ESCAPE)){this.returnCode = 2; isRunning = false;}
             if (inputManager.isKeyDown(KeyEvent.VK_UP) && skincode_1p> 0) {
                 skincode_1p--;
+                applySkins();
                 this.selectionCooldown.reset();
             }
             if (inputManager.isKeyDown(KeyEvent.VK_DOWN) && skincode_1p < 5) {
                 skincode_1p++;
+                applySkins();
                 this.selectionCooldown.reset();
             }
             if (inputManager.isKeyDown(KeyEvent.VK_W) && skincode_2p > 0) {
                 skincode_2p--;
+                applySkins();
                 this.selectionCooldown.reset();
             }
             if (inputManager.isKeyDown(KeyEvent.VK_S) && skincode_2p < 5) {
                 skincode_2p++;
+                applySkins();
                 this.selectionCooldown.reset();
             }
             if (inputManager.isKeyDown(KeyEvent.VK_SPACE)) {
@@ -60,6 +69,15 @@ public class SkinSelectionScreen extends Screen{
         }
     }
 
+    /**
+     * Puts the selected skins on the player ships.
+     */
+    private void applySkins() {
+        drawManager.applySkin(DrawManager.SpriteType.Ship, skincode_1p);
+        if (SelectScreen.gameMode == 2)
+            drawManager.applySkin(DrawManager.SpriteType.Ship2, skincode_2p);
+    }
+
     public void draw(){
         drawManager.initDrawing(this);
         drawManager.drawSkinSelectionMenu(this, skincode_1p,skincode_2p);
@@ -34,6 +34,7 @@ public class TitleScreen extends Screen {
 	 */
 	public TitleScreen(final int width, final int height, final int fps) {
 		super(width, height, fps);
+		this.retained = true;
 
 		// Defaults to play.
 		this.returnCode = 2;
@@ -58,7 +59,8 @@ public class TitleScreen extends Screen {
 	protected final void update() {
 		super.update();
 
-		draw();
+		if (isDirty())
+			draw();
 		if (this.selectionCooldown.checkFinished()
 				&& this.inputDelay.checkFinished()) {
 			if (inputManager.isKeyDown(KeyEvent.VK_UP)
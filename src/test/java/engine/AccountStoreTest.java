@@ -0,0 +1,119 @@
+package engine;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccountStoreTest {
+    private static final String LOGIN_TIME = "2023-01-01 12:34:56";
+
+    @TempDir
+    Path directory;
+
+    private static String textAccount(String name, int currency) {
+        return name + "\n" + currency + "\n" + LOGIN_TIME + "\ntrue, false, true\n";
+    }
+
+    @Test
+    public void testPutAndFind() throws IOException {
+        try (AccountStore store = new AccountStore(directory)) {
+            store.put(new Player("ABC", 100, LOGIN_TIME, Arrays.asList(true, false, true)));
+            store.put(new Player("DEF", 200, LOGIN_TIME, Arrays.asList(false, false, false)));
+
+            Player player = store.find("ABC");
+            assertEquals("ABC", player.getName());
+            assertEquals(100, player.getCurrency());
+            assertEquals(LOGIN_TIME, player.getLoginTime());
+            assertEquals(Arrays.asList(true, false, true), player.getItem());
+            assertNull(store.find("GHI"));
+
+            // Same name updates the record in place
+            store.put(new Player("ABC", 150, LOGIN_TIME, Arrays.asList(true, false, true)));
+            assertEquals(2, store.size());
+            assertEquals(150, store.find("ABC").getCurrency());
+        }
+    }
+
+    @Test
+    public void testReopenWithAndWithoutIndex() throws IOException {
+        try (AccountStore store = new AccountStore(directory)) {
+            // More than half the slots of a new index, so it is grown once
+            for (int i = 0; i < 600; i++)
+                store.put(new Player("P" + i, i, LOGIN_TIME, Arrays.asList(false)));
+        }
+        try (AccountStore store = new AccountStore(directory)) {
+            assertEquals(600, store.size());
+            assertEquals(599, store.find("P599").getCurrency());
+        }
+
+        Files.delete(directory.resolve(AccountStore.INDEX_FILE));
+        try (AccountStore store = new AccountStore(directory)) {
+            assertEquals(600, store.size());
+            for (int i = 0; i < 600; i += 37)
+                assertEquals(i, store.find("P" + i).getCurrency());
+        }
+    }
+
+    @Test
+    public void testMigrateTextAccounts() throws IOException {
+        Files.write(directory.resolve(AccountStore.TEXT_FILE),
+                (textAccount("ABC", 100) + textAccount("DEF", 200)).getBytes(StandardCharsets.UTF_8));
+
+        try (AccountStore store = new AccountStore(directory)) {
+            assertEquals(2, store.size());
+            assertEquals(100, store.find("ABC").getCurrency());
+            assertEquals(200, store.find("DEF").getCurrency());
+            assertEquals(Arrays.asList(true, false, true), store.find("DEF").getItem());
+        }
+        assertFalse(Files.exists(directory.resolve(AccountStore.TEXT_FILE)));
+        assertTrue(Files.exists(directory.resolve(AccountStore.BACKUP_FILE)));
+
+        // Nothing left to migrate on the next start
+        try (AccountStore store = new AccountStore(directory)) {
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    public void testFailedMigrationIsFinishedOnNextStart() throws IOException {
+        Path textPath = directory.resolve(AccountStore.TEXT_FILE);
+        StringBuilder accounts = new StringBuilder();
+        // More than the reader decodes at once, so some are migrated first
+        for (int i = 0; i < 300; i++)
+            accounts.append(textAccount("P" + i, i));
+        // Then a byte that is not UTF-8 to fail the read
+        try (OutputStream out = Files.newOutputStream(textPath)) {
+            out.write(accounts.toString().getBytes(StandardCharsets.UTF_8));
+            out.write(0xFF);
+            out.write(textAccount("LAST", 300).getBytes(StandardCharsets.UTF_8));
+        }
+        assertThrows(IOException.class, () -> new AccountStore(directory));
+        assertTrue(Files.exists(textPath));
+        // Record count in the header of the records file
+        try (DataInputStream in = new DataInputStream(
+                Files.newInputStream(directory.resolve(AccountStore.RECORDS_FILE)))) {
+            in.skipBytes(8);
+            int migrated = in.readInt();
+            assertTrue(migrated > 0 && migrated < 300, "migrated " + migrated);
+        }
+
+        accounts.append(textAccount("LAST", 300));
+        Files.write(textPath, accounts.toString().getBytes(StandardCharsets.UTF_8));
+        try (AccountStore store = new AccountStore(directory)) {
+            assertEquals(301, store.size());
+            assertEquals(0, store.find("P0").getCurrency());
+            assertEquals(299, store.find("P299").getCurrency());
+            assertEquals(300, store.find("LAST").getCurrency());
+        }
+        assertFalse(Files.exists(textPath));
+    }
+}
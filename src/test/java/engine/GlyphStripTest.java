@@ -0,0 +1,99 @@
+package engine;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlyphStripTest {
+    private static Font font;
+    private static GlyphStrip glyphs;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        font = Core.getFileManager().loadFont(14f);
+        glyphs = new GlyphStrip(font, Color.WHITE, "0123456789/-", "BUL: ");
+    }
+
+    private static BufferedImage newImage() {
+        return new BufferedImage(200, 40, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static BufferedImage drawString(String text) {
+        BufferedImage image = newImage();
+        Graphics graphics = image.getGraphics();
+        graphics.setFont(font);
+        graphics.setColor(Color.WHITE);
+        graphics.drawString(text, 10, 25);
+        graphics.dispose();
+        return image;
+    }
+
+    static void assertSamePixels(BufferedImage expected, BufferedImage actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for (int y = 0; y < expected.getHeight(); y++)
+            for (int x = 0; x < expected.getWidth(); x++)
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y),
+                        "pixel " + x + "," + y);
+    }
+
+    private static void assertNumber(int number, int minDigits) {
+        BufferedImage image = newImage();
+        Graphics graphics = image.getGraphics();
+        String expected = String.format("%0" + minDigits + "d", number);
+        assertEquals(10 + graphics.getFontMetrics(font).stringWidth(expected),
+                glyphs.drawNumber(graphics, number, minDigits, 10, 25));
+        graphics.dispose();
+
+        assertSamePixels(drawString(expected), image);
+    }
+
+    @Test
+    void drawNumber() {
+        assertNumber(0, 1);
+        assertNumber(1234567890, 1);
+        assertNumber(10, 1);
+    }
+
+    @Test
+    void drawNumberPadsWithZeros() {
+        assertNumber(7, 4);
+        assertNumber(120, 4);
+        assertNumber(56789, 4);
+        assertNumber(0, 4);
+    }
+
+    @Test
+    void drawNegativeNumber() {
+        assertNumber(-5, 4);
+        assertNumber(-12345, 1);
+        assertNumber(Integer.MIN_VALUE, 4);
+    }
+
+    @Test
+    void drawLabelAndCharacter() {
+        BufferedImage image = newImage();
+        Graphics graphics = image.getGraphics();
+        int x = glyphs.drawLabel(graphics, 0, 10, 25);
+        x = glyphs.drawNumber(graphics, 10, 1, x, 25);
+        x = glyphs.drawCharacter(graphics, '/', x, 25);
+        glyphs.drawNumber(graphics, 5, 1, x, 25);
+        graphics.dispose();
+
+        assertSamePixels(drawString("BUL: 10/5"), image);
+    }
+
+    @Test
+    void drawCharacterNotInStrip() {
+        BufferedImage image = newImage();
+        Graphics graphics = image.getGraphics();
+        assertEquals(10, glyphs.drawCharacter(graphics, 'X', 10, 25));
+        graphics.dispose();
+
+        assertSamePixels(newImage(), image);
+    }
+}
@@ -0,0 +1,123 @@
+package engine;
+
+import entity.Item;
+import entity.ItemQueue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import screen.Screen;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static engine.GlyphStripTest.assertSamePixels;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Draws the HUD through its cached layers, where text is composed from the
+ * glyph strip, and checks it against drawing it straight with drawString.
+ */
+class HudLayerTest {
+    private static Screen mockScreen;
+    private static DrawManager drawManager;
+    private static ItemQueue itemQueue;
+
+    @BeforeAll
+    static void setUp() {
+        mockScreen = mock(Screen.class);
+        Frame mockFrame = mock(Frame.class);
+        when(mockScreen.getWidth()).thenReturn(448);
+        when(mockScreen.getHeight()).thenReturn(520);
+        when(mockFrame.getBottomHudHeight()).thenReturn(40);
+
+        drawManager = DrawManager.getInstance();
+        drawManager.setFrame(mockFrame);
+
+        // SpeedUp, SubPlane, SpeedUp
+        itemQueue = new ItemQueue();
+        itemQueue.enque(new Item(0, 0, 1, 1));
+        itemQueue.enque(new Item(0, 0, 999999, 1));
+        itemQueue.enque(new Item(0, 0, 1, 1));
+    }
+
+    private static BufferedImage newBackBuffer() {
+        BufferedImage image = new BufferedImage(448, 560, BufferedImage.TYPE_INT_RGB);
+        drawManager.setBackBuffer(image);
+        return image;
+    }
+
+    private static void drawTopHud(int score, int highScore, int lives, int lives2) {
+        drawManager.drawScore(mockScreen, score);
+        drawManager.drawHighScore(mockScreen, highScore);
+        drawManager.drawLives(mockScreen, lives);
+        drawManager.drawLives2(mockScreen, lives2);
+    }
+
+    private static void drawBottomHud(int magazine, int bulletCount, int inventory) {
+        drawManager.drawAmmo(mockScreen, magazine, bulletCount);
+        drawManager.drawAmmo2(mockScreen, magazine, bulletCount);
+        drawManager.drawItems(mockScreen, itemQueue.getItemQue(), inventory);
+        drawManager.drawItems2(mockScreen, itemQueue.getItemQue(), inventory);
+    }
+
+    private static void assertTopHud(int score, int highScore, int lives, int lives2) {
+        BufferedImage expected = newBackBuffer();
+        drawTopHud(score, highScore, lives, lives2);
+
+        int[] state = {score, highScore, lives, lives2};
+        BufferedImage layered = newBackBuffer();
+        assertTrue(drawManager.beginTopHud(mockScreen, state));
+        drawTopHud(score, highScore, lives, lives2);
+        drawManager.endHud();
+        assertSamePixels(expected, layered);
+
+        // Same values, the layer is drawn as it was
+        BufferedImage cached = newBackBuffer();
+        assertFalse(drawManager.beginTopHud(mockScreen, state));
+        assertSamePixels(expected, cached);
+    }
+
+    private static void assertBottomHud(int magazine, int bulletCount, int inventory) {
+        BufferedImage expected = newBackBuffer();
+        drawBottomHud(magazine, bulletCount, inventory);
+
+        int[] state = {magazine, bulletCount, inventory};
+        BufferedImage layered = newBackBuffer();
+        assertTrue(drawManager.beginBottomHud(mockScreen, state));
+        drawBottomHud(magazine, bulletCount, inventory);
+        drawManager.endHud();
+        assertSamePixels(expected, layered);
+
+        BufferedImage cached = newBackBuffer();
+        assertFalse(drawManager.beginBottomHud(mockScreen, state));
+        assertSamePixels(expected, cached);
+    }
+
+    @Test
+    void topHud() {
+        // Scores padded to four digits, and wider than that
+        assertTopHud(7, 56789, 3, 0);
+        assertTopHud(1234, 0, 12, 2);
+    }
+
+    @Test
+    void bottomHud() {
+        assertBottomHud(5, 0, 3);
+        assertBottomHud(108, 9, 1);
+        assertBottomHud(0, 10, 0);
+    }
+
+    @Test
+    void hudTextOutsideLayers() {
+        // Straight on the back buffer, the text is not taken from the strip
+        Graphics mockGraphics = mock(Graphics.class);
+        BufferedImage mockBackBuffer = mock(BufferedImage.class);
+        when(mockBackBuffer.getGraphics()).thenReturn(mockGraphics);
+        drawManager.setBackBuffer(mockBackBuffer);
+
+        drawManager.drawScore(mockScreen, 7);
+        verify(mockGraphics).drawString("0007", 388, 25);
+        verify(mockGraphics, never()).drawImage(any(Image.class), anyInt(), anyInt(),
+                anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), any());
+    }
+}
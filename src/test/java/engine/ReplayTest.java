@@ -0,0 +1,131 @@
+package engine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import screen.SelectScreen;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplayTest {
+    private static final int HELD_KEY = 65;
+    private static final int PRESSED_KEY = 70;
+
+    @TempDir
+    Path directory;
+
+    private InputManager inputManager;
+    private boolean skillModeOn;
+    private int[] keySetting;
+
+    @BeforeEach
+    public void setUp() {
+        skillModeOn = SelectScreen.skillModeOn;
+        keySetting = Core.getKeySettingCodeArray().clone();
+        inputManager = InputManager.getInstance();
+        inputManager.setKeys(new boolean[256]);
+        inputManager.setCounters(new int[InputManager.NUM_COUNTERS]);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SelectScreen.skillModeOn = skillModeOn;
+        for (int i = 0; i < keySetting.length; i++)
+            Core.setKeySettingCode(i, keySetting[i]);
+    }
+
+    private static void setKeySetting(int first) {
+        for (int i = 0; i < 16; i++)
+            Core.setKeySettingCode(i, first + i);
+    }
+
+    private Path record() throws IOException {
+        SelectScreen.skillModeOn = false;
+        setKeySetting(100);
+        DrawManager.getInstance().applySkin(DrawManager.SpriteType.Ship, 2);
+        inputManager.pressKey(HELD_KEY);
+
+        Path path = directory.resolve("level1.replay");
+        Replay.Recorder recorder = new Replay.Recorder(path, 1234L, 60,
+                new GameState(1, 100, 3, 5, 2), new GameSettings(5, 4, 60, 2000, 1.5, "1"),
+                true, Arrays.asList(true, false, true), inputManager);
+        inputManager.beginTick(false);
+        recorder.record(inputManager);
+        // Burst 1 key, counted on release
+        inputManager.beginTick(false);
+        inputManager.releaseKey(Core.getKeySettingCode(3));
+        recorder.record(inputManager);
+        inputManager.beginTick(false);
+        inputManager.pressKey(PRESSED_KEY);
+        recorder.record(inputManager);
+        recorder.save();
+        return path;
+    }
+
+    @Test
+    public void testStartingConditions() throws IOException {
+        Replay replay = Replay.load(record());
+
+        assertEquals(1234L, replay.getSeed());
+        assertEquals(60, replay.getFps());
+        assertEquals(1, replay.getGameState().getLevel());
+        assertEquals(100, replay.getGameState().getScore());
+        assertEquals("1", replay.getGameSettings().getLevelName());
+        assertEquals(1.5, replay.getGameSettings().getItemSpeed());
+        assertTrue(replay.isBonusLife());
+        assertEquals(Arrays.asList(true, false, true), replay.getShopItems());
+        assertFalse(replay.isSkillMode());
+        assertEquals(100, replay.getKeySetting()[0]);
+        assertEquals(115, replay.getKeySetting()[15]);
+        assertEquals(2, replay.getSkin(DrawManager.SpriteType.Ship));
+        assertEquals(SpriteSheet.BASE, replay.getSkin(DrawManager.SpriteType.Ship2));
+    }
+
+    @Test
+    public void testRestoreSettings() throws IOException {
+        Replay replay = Replay.load(record());
+        SelectScreen.skillModeOn = true;
+        setKeySetting(200);
+        DrawManager drawManager = DrawManager.getInstance();
+        drawManager.applySkin(DrawManager.SpriteType.Ship, 4);
+
+        replay.restoreSettings();
+        assertFalse(SelectScreen.skillModeOn);
+        for (int i = 0; i < 16; i++)
+            assertEquals(100 + i, Core.getKeySettingCode(i));
+        assertEquals(2, drawManager.getAppliedSkin(DrawManager.SpriteType.Ship));
+        assertSame(Core.getFileManager().getSkin(DrawManager.SpriteType.Ship, 2),
+                drawManager.getSprite(DrawManager.SpriteType.Ship));
+    }
+
+    @Test
+    public void testPlayBackInput() throws IOException {
+        Replay replay = Replay.load(record());
+        inputManager.setKeys(new boolean[256]);
+        inputManager.setCounters(new int[InputManager.NUM_COUNTERS]);
+        setKeySetting(200);
+
+        replay.restoreSettings();
+        replay.restoreInput(inputManager);
+        assertTrue(inputManager.isKeyDown(HELD_KEY));
+
+        InputScript script = replay.toInputScript();
+        int[] counters = new int[InputManager.NUM_COUNTERS];
+        script.apply(inputManager);
+        inputManager.getCounters(counters);
+        assertEquals(0, counters[0]);
+        script.apply(inputManager);
+        inputManager.getCounters(counters);
+        assertEquals(1, counters[0]);
+        assertFalse(inputManager.isKeyDown(PRESSED_KEY));
+        script.apply(inputManager);
+        assertTrue(inputManager.isKeyDown(PRESSED_KEY));
+        script.apply(inputManager);
+        assertFalse(script.isDesynced());
+    }
+}
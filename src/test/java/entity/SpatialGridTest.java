@@ -0,0 +1,73 @@
+package entity;
+
+import java.awt.Color;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpatialGridTest {
+    private SpatialGrid grid;
+    private Entity topLeft;
+    private Entity bottomRight;
+    private Entity straddling;
+
+    @BeforeEach
+    public void setUp() {
+        // 120x120 area, 3x3 cells of 40 px
+        grid = new SpatialGrid(120, 120, 40);
+        topLeft = new Entity(5, 5, 10, 10, Color.WHITE);
+        bottomRight = new Entity(100, 100, 10, 10, Color.WHITE);
+        // Covers the four middle cells (1,1), (2,1), (1,2) and (2,2)
+        straddling = new Entity(70, 70, 20, 20, Color.WHITE);
+        grid.add(topLeft);
+        grid.add(bottomRight);
+        grid.add(straddling);
+        grid.build();
+    }
+
+    @Test
+    public void testQueryFindsEntityInItsCell() {
+        assertEquals(1, grid.query(0, 0, 1, 1));
+        assertSame(topLeft, grid.getResult(0));
+    }
+
+    @Test
+    public void testQueryEmptyCell() {
+        assertEquals(0, grid.query(80, 0, 1, 1));
+        assertEquals(0, grid.query(0, 80, 1, 1));
+    }
+
+    @Test
+    public void testQueryFindsEntityOverlappingSeveralCells() {
+        assertEquals(1, grid.query(45, 45, 1, 1));
+        assertSame(straddling, grid.getResult(0));
+        assertEquals(1, grid.query(45, 85, 1, 1));
+        assertSame(straddling, grid.getResult(0));
+    }
+
+    @Test
+    public void testQuerySharedCellFindsEachEntityOnce() {
+        // Cell (2,2) holds both bottomRight and straddling
+        assertEquals(2, grid.query(bottomRight));
+        assertTrue(grid.getResult(0) != grid.getResult(1));
+        assertTrue(grid.getResult(0) == bottomRight || grid.getResult(1) == bottomRight);
+        assertTrue(grid.getResult(0) == straddling || grid.getResult(1) == straddling);
+
+        // Whole area, every entity once even if it is in several cells
+        assertEquals(3, grid.query(0, 0, 120, 120));
+    }
+
+    @Test
+    public void testClearAndRebuild() {
+        grid.clear();
+        grid.build();
+        assertEquals(0, grid.query(0, 0, 120, 120));
+
+        grid.add(bottomRight);
+        grid.build();
+        assertEquals(1, grid.query(100, 100, 1, 1));
+        assertSame(bottomRight, grid.getResult(0));
+    }
+}